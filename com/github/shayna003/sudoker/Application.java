@@ -1,10 +1,12 @@
 package com.github.shayna003.sudoker;
 
 import com.github.shayna003.sudoker.generator.Generator;
+import com.github.shayna003.sudoker.generator.PuzzlePool;
 import com.github.shayna003.sudoker.prefs.*;
 import com.github.shayna003.sudoker.prefs.theme.*;
 import com.github.shayna003.sudoker.prefs.keys.*;
 import com.github.shayna003.sudoker.solver.AllSolutionsFrame;
+import com.github.shayna003.sudoker.solver.SolutionCache;
 import com.github.shayna003.sudoker.swingComponents.*;
 import com.github.shayna003.sudoker.history.*;
 import com.github.shayna003.sudoker.widgets.*;
@@ -741,6 +743,9 @@ public class Application
 		{
 			generator.saveSettings(generator.settingsFile, true);
 		}
+
+		SolutionCache.saveShared();
+		PuzzlePool.saveShared();
 	}
 
 	static void saveAllTabData()
@@ -1,5 +1,6 @@
 package com.github.shayna003.sudoker;
 
+import com.github.shayna003.sudoker.generator.PuzzlePool;
 import com.github.shayna003.sudoker.prefs.PreferenceFrame;
 import com.github.shayna003.sudoker.swingComponents.SwingUtil;
 import com.github.shayna003.sudoker.util.IO;
@@ -163,6 +164,7 @@ public class ApplicationLauncher
 				}
 			}
 			frame.setVisible(true);
+			PuzzlePool.getShared(); // starts generating puzzles in the background for the generator settings used last time
 			Application.loadTimeLogger.log(Level.CONFIG, "time to make an ApplicationFrame: " + (System.currentTimeMillis() - start));
 		});
 	}
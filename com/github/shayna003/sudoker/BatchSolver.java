@@ -0,0 +1,284 @@
+package com.github.shayna003.sudoker;
+
+import com.github.shayna003.sudoker.solver.*;
+import com.github.shayna003.sudoker.util.Canonicalizer;
+import com.github.shayna003.sudoker.util.IO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.*;
+
+/**
+ * A command line entry point that solves files of puzzles without starting the GUI.
+ * Reads one 81 character puzzle per line (1 ~ 9 for givens, 0 or . for empty cells),
+ * solves them on a pool of worker threads, and writes one result line per puzzle in input order:
+ * the puzzle, a tab, and the solution, solution count or uniqueness of the puzzle,
+ * or its canonical form and fingerprint, which are the same for all equivalent puzzles,
+ * or its difficulty score and the hardest solving technique it needs.
+ * Empty lines and lines starting with # are skipped.
+ *
+ * Usage: java com.github.shayna003.sudoker.BatchSolver [options] input_file|-
+ *  -mode solve|count|unique|canonical|rate   what to write for each puzzle, default solve
+ *  -max n                     stop counting solutions after more than n, default 1000
+ *  -threads n                 number of worker threads, default number of processors
+ *  -engine name|auto          solver engine to use, see SolverEngines, auto times them first, default Trail Backtracking
+ *  -o output_file             default standard output
+ *  -stats                     print solver statistics to standard error at the end
+ *
+ * The input is read and processed in chunks, so memory use does not depend on the size of the file.
+ * Progress and the final puzzles/second are printed to standard error.
+ * @since 10-17-2026
+ */
+public class BatchSolver
+{
+	static final int CHUNK_SIZE = 2048; // puzzles per task
+	static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+	static final String SOLVE = "solve";
+	static final String COUNT = "count";
+	static final String UNIQUE = "unique";
+	static final String CANONICAL = "canonical";
+	static final String RATE = "rate";
+
+	String mode = SOLVE;
+	int maxSolutions = 1000;
+	int threads = Runtime.getRuntime().availableProcessors();
+	SolverEngine engine = SolverEngines.getEngine(SolverEngines.DEFAULT_ENGINE); // null if the engines should be timed first
+	String inputFile;
+	String outputFile;
+	boolean printStats = false;
+
+	final SolveStatsCollector stats = new SolveStatsCollector();
+
+	public static void main(String[] args)
+	{
+		System.setProperty("java.awt.headless", "true"); // no window is shown, but rating loads AWT and Swing classes, e.g. the colors of Difficulty and the tree nodes of SolvingTechnique
+		BatchSolver batchSolver = new BatchSolver();
+		String error = batchSolver.parseArguments(args);
+		if (error != null)
+		{
+			System.err.println(error);
+			printUsage();
+			System.exit(1);
+		}
+
+		try
+		{
+			batchSolver.run();
+		}
+		catch (IOException | InterruptedException | ExecutionException e)
+		{
+			System.err.println("Batch solving failed: " + e);
+			System.exit(2);
+		}
+	}
+
+	static void printUsage()
+	{
+		System.err.println("Usage: java " + BatchSolver.class.getName() + " [-mode solve|count|unique|canonical|rate] [-max n] [-threads n] [-engine name|auto] [-o output_file] [-stats] input_file|-");
+	}
+
+	/**
+	 * @return an error message, or null if the arguments are valid
+	 */
+	String parseArguments(String[] args)
+	{
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				switch (args[i])
+				{
+					case "-mode":
+						mode = args[++i];
+						if (!mode.equals(SOLVE) && !mode.equals(COUNT) && !mode.equals(UNIQUE) && !mode.equals(CANONICAL) && !mode.equals(RATE)) return "Unknown mode: " + mode;
+						break;
+					case "-max":
+						maxSolutions = Integer.parseInt(args[++i]);
+						if (maxSolutions < 1) return "-max must be at least 1";
+						break;
+					case "-threads":
+						threads = Integer.parseInt(args[++i]);
+						if (threads < 1) return "-threads must be at least 1";
+						break;
+					case "-engine":
+						String engineName = args[++i];
+						engine = engineName.equalsIgnoreCase(SolverEngines.AUTO) ? null : SolverEngines.getEngine(engineName);
+						if (engine == null && !engineName.equalsIgnoreCase(SolverEngines.AUTO)) return "Unknown solver engine: " + engineName;
+						break;
+					case "-o":
+						outputFile = args[++i];
+						break;
+					case "-stats":
+						printStats = true;
+						break;
+					default:
+						if (inputFile != null) return "Unexpected argument: " + args[i];
+						inputFile = args[i];
+				}
+			}
+		}
+		catch (ArrayIndexOutOfBoundsException e)
+		{
+			return "Missing value for " + args[args.length - 1];
+		}
+		catch (NumberFormatException e)
+		{
+			return "Not a number: " + e.getMessage();
+		}
+		return inputFile == null ? "No input file" : null;
+	}
+
+	void run() throws IOException, InterruptedException, ExecutionException
+	{
+		if (engine == null)
+		{
+			engine = SolverEngines.startAutoSelection().get();
+			System.err.println("Solver engine timings in ns per puzzle: " + SolverEngines.getTimings() + ", using " + engine.getName());
+		}
+
+		InputStream inputStream = inputFile.equals("-") ? System.in : new FileInputStream(inputFile);
+		OutputStream outputStream = outputFile == null ? System.out : new FileOutputStream(outputFile);
+		ExecutorService workers = Executors.newFixedThreadPool(threads);
+
+		long startTime = System.nanoTime();
+		long lastProgressTime = startTime;
+		long puzzleCount = 0;
+
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 1 << 16);
+		     Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16))
+		{
+			// chunks are solved in parallel but written in the order they were read.
+			// at most 2 chunks per thread are in flight, which keeps the workers busy and bounds memory use
+			ArrayDeque<Future<String>> pending = new ArrayDeque<>();
+			ArrayList<String> chunk = new ArrayList<>(CHUNK_SIZE);
+			String line;
+			while ((line = in.readLine()) != null)
+			{
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) continue;
+
+				chunk.add(line);
+				if (chunk.size() == CHUNK_SIZE)
+				{
+					puzzleCount += chunk.size();
+					ArrayList<String> lines = chunk;
+					pending.add(workers.submit(() -> solveChunk(lines)));
+					chunk = new ArrayList<>(CHUNK_SIZE);
+
+					if (pending.size() >= threads * 2)
+					{
+						out.write(pending.remove().get());
+					}
+
+					long now = System.nanoTime();
+					if (now - lastProgressTime >= PROGRESS_INTERVAL)
+					{
+						lastProgressTime = now;
+						System.err.println(getRateString(puzzleCount, now - startTime));
+					}
+				}
+			}
+			if (!chunk.isEmpty())
+			{
+				puzzleCount += chunk.size();
+				ArrayList<String> lines = chunk;
+				pending.add(workers.submit(() -> solveChunk(lines)));
+			}
+			while (!pending.isEmpty())
+			{
+				out.write(pending.remove().get());
+			}
+		}
+		finally
+		{
+			workers.shutdownNow();
+		}
+
+		System.err.println("Done: " + getRateString(puzzleCount, System.nanoTime() - startTime));
+		if (printStats) System.err.print(stats);
+	}
+
+	static String getRateString(long puzzleCount, long elapsedNanos)
+	{
+		double seconds = elapsedNanos / 1e9;
+		return String.format("%,d puzzles in %.2f s, %,.0f puzzles/s", puzzleCount, seconds, seconds > 0 ? puzzleCount / seconds : 0.0);
+	}
+
+	/**
+	 * Runs on a worker thread
+	 * @return the result lines of the chunk
+	 */
+	String solveChunk(ArrayList<String> lines)
+	{
+		SolverEngine solver = engine;
+		SolveStatsCollector chunkStats = new SolveStatsCollector();
+		ArrayList<int[][]> solutions = new ArrayList<>(1);
+		StringBuilder b = new StringBuilder(lines.size() * 170);
+
+		for (String line : lines)
+		{
+			CompactSudoku puzzle = IO.readCompact81String(line);
+			if (puzzle == null)
+			{
+				b.append(line).append("\tinvalid input").append(System.lineSeparator());
+				continue;
+			}
+
+			b.append(line, 0, 81).append('\t');
+
+			if (mode.equals(CANONICAL))
+			{
+				byte[] canonicalForm = Canonicalizer.forCurrentThread().canonicalForm(puzzle);
+				for (byte value : canonicalForm) b.append(value);
+				b.append('\t').append(String.format("%016x", Canonicalizer.fingerprintOfCanonicalForm(canonicalForm))).append(System.lineSeparator());
+				continue;
+			}
+
+			if (mode.equals(RATE))
+			{
+				DifficultyRater.Rating rating = DifficultyRater.forCurrentThread().rate(puzzle);
+				// the techniques also get stuck on puzzles without a solution, only guessing can tell those apart
+				if (!rating.solved && solver.solve(puzzle, null, new SolveRequest(Solver.FIND_ONE_SOLUTION, 1)) <= 0)
+				{
+					b.append("invalid");
+				}
+				else
+				{
+					b.append(rating.getScore()).append('\t');
+					b.append(!rating.solved ? "needs guessing" : rating.hardestTechnique == null ? "none" : rating.hardestTechnique.name);
+				}
+				b.append(System.lineSeparator());
+				continue;
+			}
+
+			SolveRequest request;
+			int found;
+			switch (mode)
+			{
+				case COUNT:
+					request = new SolveRequest(Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED, maxSolutions);
+					found = solver.solve(puzzle, null, request);
+					if (found > maxSolutions) b.append("more than ").append(maxSolutions);
+					else b.append(Math.max(found, 0));
+					break;
+				case UNIQUE:
+					request = new SolveRequest(Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1);
+					found = solver.solve(puzzle, null, request);
+					b.append(found <= 0 ? "no solution" : found == 1 ? "unique" : "multiple solutions");
+					break;
+				default:
+					request = new SolveRequest(Solver.FIND_ONE_SOLUTION, 1);
+					solutions.clear();
+					found = solver.solve(puzzle, solutions, request);
+					b.append(found <= 0 ? "no solution" : IO.getCompact81String(solutions.get(0)));
+			}
+			b.append(System.lineSeparator());
+			chunkStats.add(request.getStats());
+		}
+		stats.add(chunkStats);
+		return b.toString();
+	}
+}
@@ -6,6 +6,7 @@ import com.github.shayna003.sudoker.prefs.theme.*;
 import com.github.shayna003.sudoker.prefs.components.*;
 import com.github.shayna003.sudoker.history.*;
 import com.github.shayna003.sudoker.solver.SolverPanel;
+import com.github.shayna003.sudoker.solver.TechniqueOptions;
 import com.github.shayna003.sudoker.util.*;
 import com.github.shayna003.sudoker.swingComponents.*;
 
@@ -417,6 +418,15 @@ public class Board extends JPanel implements Printable
 		counter.calculateCounts();
 		repaint();
 	}
+
+	/**
+	 * Used by the solving technique tree to run techniques on this Board's sudoku
+	 * @return options from SolverSettingsPanel that record findings and highlight on this Board
+	 */
+	public TechniqueOptions getTechniqueOptions()
+	{
+		return new TechniqueOptions().setReturnFirst(Application.solverSettingsPanel.returnFirstMatch.isSelected()).setRecordFindings(true).setSolverHighlights(solverHighlights);
+	}
 	
 	/*
 	 * Used by imports and session restores
@@ -0,0 +1,291 @@
+package com.github.shayna003.sudoker;
+
+import com.github.shayna003.sudoker.util.*;
+
+import java.util.Arrays;
+
+/**
+ * A flat, bitmask based version of Sudoku used by the solving algorithms.
+ * Each cell's candidates are stored as one 9-bit mask: bit n - 1 is set if candidate n is possible.
+ * Cells are indexed 0 ~ 80 in row major order, i.e. index = r * 9 + c.
+ * Cloning one only copies 2 small arrays instead of the 90 arrays of a Sudoku.
+ * @since 10-17-2026
+ */
+@SuppressWarnings("CanBeFinal")
+public class CompactSudoku implements Cloneable
+{
+	public static final int ALL_CANDIDATES = 0x1FF;
+
+	public short[] candidates; // 81 candidate masks
+	public byte[] values; // 81 solved values: the only candidate of a cell if it has exactly one, else 0
+
+	/**
+	 * Constructs an empty sudoku with all cells set to 123456789
+	 */
+	public CompactSudoku()
+	{
+		candidates = new short[81];
+		values = new byte[81];
+		Arrays.fill(candidates, (short) ALL_CANDIDATES);
+	}
+
+	/**
+	 * Bridge from the grid/status representation
+	 */
+	public CompactSudoku(Sudoku sudoku)
+	{
+		candidates = new short[81];
+		values = new byte[81];
+		for (int r = 0; r < 9; r++)
+		{
+			for (int c = 0; c < 9; c++)
+			{
+				setCandidates(index(r, c), GridUtil.getMaskForCell(sudoku.grid[r][c]));
+			}
+		}
+	}
+
+	/**
+	 * Constructs a new sudoku with solved status array
+	 */
+	public CompactSudoku(int[][] status)
+	{
+		candidates = new short[81];
+		values = new byte[81];
+		for (int r = 0; r < 9; r++)
+		{
+			for (int c = 0; c < 9; c++)
+			{
+				setValueAt(index(r, c), status[r][c]);
+			}
+		}
+	}
+
+	private CompactSudoku(short[] candidates, byte[] values)
+	{
+		this.candidates = candidates;
+		this.values = values;
+	}
+
+	@Override
+	public CompactSudoku clone()
+	{
+		return new CompactSudoku(candidates.clone(), values.clone());
+	}
+
+	/**
+	 * Copies the state of another CompactSudoku into this one without allocating
+	 */
+	public void copyFrom(CompactSudoku other)
+	{
+		System.arraycopy(other.candidates, 0, candidates, 0, 81);
+		System.arraycopy(other.values, 0, values, 0, 81);
+	}
+
+	@Override
+	public String toString()
+	{
+		return toSudoku().toString();
+	}
+
+	/**
+	 * Bridge back to the grid/status representation
+	 */
+	public Sudoku toSudoku()
+	{
+		Sudoku sudoku = new Sudoku(new int[9][9][9], new int[9][9]);
+		copyTo(sudoku);
+		return sudoku;
+	}
+
+	/**
+	 * Writes the state of this sudoku into the grid and status arrays of an existing Sudoku
+	 */
+	public void copyTo(Sudoku sudoku)
+	{
+		for (int i = 0; i < 81; i++)
+		{
+			GridUtil.setCellFromMask(sudoku.grid[i / 9][i % 9], candidates[i]);
+			sudoku.status[i / 9][i % 9] = getStatus(i);
+		}
+	}
+
+	/**
+	 * @return a 9 * 9 status array, only meaningful for solved sudokus
+	 */
+	public int[][] getStatus()
+	{
+		int[][] status = new int[9][9];
+		for (int i = 0; i < 81; i++)
+		{
+			status[i / 9][i % 9] = getStatus(i);
+		}
+		return status;
+	}
+
+	/**
+	 * @return the same number as Sudoku.status for this cell: more than one candidate: -number of candidates, no candidates: 0, one candidate: value of the candidate
+	 */
+	public int getStatus(int i)
+	{
+		return values[i] > 0 ? values[i] : -Integer.bitCount(candidates[i]);
+	}
+
+	public void setValueAt(int i, int value)
+	{
+		candidates[i] = (short) bit(value);
+		values[i] = (byte) value;
+	}
+
+	public void setCandidates(int i, int mask)
+	{
+		candidates[i] = (short) mask;
+		values[i] = (byte) (Integer.bitCount(mask) == 1 ? lowestDigit(mask) : 0);
+	}
+
+	/**
+	 * Sets the cell to all possibilities.
+	 */
+	public void clearCell(int i)
+	{
+		candidates[i] = ALL_CANDIDATES;
+		values[i] = 0;
+	}
+
+	/**
+	 * Turns off candidate n of cell i
+	 * @return true if the candidate was on before this call
+	 */
+	public boolean removeCandidate(int i, int n)
+	{
+		int mask = candidates[i];
+		if ((mask & bit(n)) == 0) return false;
+		setCandidates(i, mask & ~bit(n));
+		return true;
+	}
+
+	public boolean hasCandidate(int i, int n)
+	{
+		return (candidates[i] & bit(n)) != 0;
+	}
+
+	/**
+	 * @return number of solved cells
+	 */
+	public int solvedCellCount()
+	{
+		int solved = 0;
+		for (int i = 0; i < 81; i++)
+		{
+			if (values[i] > 0) solved++;
+		}
+		return solved;
+	}
+
+	/**
+	 * @return a mask of the solved values in row r
+	 */
+	public int solvedMaskInRow(int r)
+	{
+		int mask = 0;
+		for (int i = r * 9; i < r * 9 + 9; i++)
+		{
+			if (values[i] > 0) mask |= bit(values[i]);
+		}
+		return mask;
+	}
+
+	/**
+	 * @return a mask of the solved values in column c
+	 */
+	public int solvedMaskInCol(int c)
+	{
+		int mask = 0;
+		for (int i = c; i < 81; i += 9)
+		{
+			if (values[i] > 0) mask |= bit(values[i]);
+		}
+		return mask;
+	}
+
+	/**
+	 * @return a mask of the solved values in the box of cell i
+	 */
+	public int solvedMaskInBox(int i)
+	{
+		int mask = 0;
+		for (int k = Topology.CELL_UNITS[i * 3 + 2] * 9, end = k + 9; k < end; k++)
+		{
+			int cell = Topology.UNIT_CELLS[k];
+			if (values[cell] > 0) mask |= bit(values[cell]);
+		}
+		return mask;
+	}
+
+	/**
+	 * @return the union of the candidates of the given cells
+	 */
+	public int unionOf(int[] cells)
+	{
+		int mask = 0;
+		for (int cell : cells)
+		{
+			mask |= candidates[cell];
+		}
+		return mask;
+	}
+
+	public static int index(int r, int c)
+	{
+		return r * 9 + c;
+	}
+
+	public static int boxTopLeft(int i)
+	{
+		return Topology.BOX_TOP_LEFT[i];
+	}
+
+	/**
+	 * @return the mask with only candidate n set
+	 */
+	public static int bit(int n)
+	{
+		return 1 << (n - 1);
+	}
+
+	/**
+	 * @return the smallest candidate of a mask, 0 if mask is empty
+	 */
+	public static int lowestDigit(int mask)
+	{
+		return mask == 0 ? 0 : Integer.numberOfTrailingZeros(mask) + 1;
+	}
+
+	/**
+	 * @return the candidates of a mask in ascending order
+	 */
+	public static int[] digits(int mask)
+	{
+		int[] digits = new int[Integer.bitCount(mask)];
+		int index = 0;
+		while (mask != 0)
+		{
+			digits[index++] = Integer.numberOfTrailingZeros(mask) + 1;
+			mask &= mask - 1;
+		}
+		return digits;
+	}
+
+	/**
+	 * @return the mask of an array of candidates
+	 */
+	public static int maskOf(int[] digits)
+	{
+		int mask = 0;
+		for (int n : digits)
+		{
+			mask |= bit(n);
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,333 @@
+package com.github.shayna003.sudoker.benchmark;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.prefs.DigitsAndIndexesPanel;
+import com.github.shayna003.sudoker.solver.*;
+import com.github.shayna003.sudoker.util.Canonicalizer;
+import com.github.shayna003.sudoker.util.IO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Micro benchmarks for the solver, the solving techniques and the I/O hot paths,
+ * run against the bundled corpora of easy, hard and minimal (17 clue) puzzles in resources/benchmark.
+ * Each benchmark is warmed up first, then measured over several fixed-time iterations,
+ * cycling through the puzzles of the corpus, and reported as nanoseconds per operation.
+ *
+ * Usage: java com.github.shayna003.sudoker.benchmark.SolverBenchmark [options]
+ *  -include text      only run benchmarks whose name contains text
+ *  -corpus name       only use the easy, hard or minimal corpus
+ *  -warmup ms         warmup time per benchmark, default 1000
+ *  -time ms           time per measured iteration, default 1000
+ *  -iterations n      measured iterations per benchmark, default 5
+ *  -csv file          also write the results as csv
+ *  -baseline file     compare with the csv of an earlier run, e.g. of the previous release
+ * @since 10-17-2026
+ */
+public class SolverBenchmark
+{
+    static final String[] CORPUS_NAMES = { "easy", "hard", "minimal" };
+
+    /**
+     * One operation of a benchmark on puzzle i of the corpus
+     * @return something computed from the result, so that the operation cannot be optimized away
+     */
+    @FunctionalInterface
+    interface Operation
+    {
+        long run(int i);
+    }
+
+    static class Benchmark
+    {
+        final String name;
+        final String corpus;
+        final int size;
+        final Operation operation;
+
+        Benchmark(String name, String corpus, int size, Operation operation)
+        {
+            this.name = name;
+            this.corpus = corpus;
+            this.size = size;
+            this.operation = operation;
+        }
+    }
+
+    static class Measurement
+    {
+        final Benchmark benchmark;
+        final double nanosPerOperation;
+        final double error; // standard deviation between iterations
+
+        Measurement(Benchmark benchmark, double nanosPerOperation, double error)
+        {
+            this.benchmark = benchmark;
+            this.nanosPerOperation = nanosPerOperation;
+            this.error = error;
+        }
+    }
+
+    String include = "";
+    String corpusFilter;
+    long warmupMillis = 1000;
+    long iterationMillis = 1000;
+    int iterations = 5;
+    String csvFile;
+    String baselineFile;
+
+    long sink; // results of all operations are added here
+
+    public static void main(String[] args) throws IOException
+    {
+        System.setProperty("java.awt.headless", "true");
+        SolverBenchmark benchmark = new SolverBenchmark();
+        String error = benchmark.parseArguments(args);
+        if (error != null)
+        {
+            System.err.println(error);
+            System.err.println("Usage: java " + SolverBenchmark.class.getName() + " [-include text] [-corpus easy|hard|minimal] [-warmup ms] [-time ms] [-iterations n] [-csv file] [-baseline file]");
+            System.exit(1);
+        }
+        benchmark.run();
+    }
+
+    /**
+     * @return an error message, or null if the arguments are valid
+     */
+    String parseArguments(String[] args)
+    {
+        try
+        {
+            for (int i = 0; i < args.length; i++)
+            {
+                switch (args[i])
+                {
+                    case "-include": include = args[++i]; break;
+                    case "-corpus": corpusFilter = args[++i]; break;
+                    case "-warmup": warmupMillis = Long.parseLong(args[++i]); break;
+                    case "-time": iterationMillis = Long.parseLong(args[++i]); break;
+                    case "-iterations": iterations = Integer.parseInt(args[++i]); break;
+                    case "-csv": csvFile = args[++i]; break;
+                    case "-baseline": baselineFile = args[++i]; break;
+                    default: return "Unknown argument: " + args[i];
+                }
+            }
+        }
+        catch (ArrayIndexOutOfBoundsException e)
+        {
+            return "Missing value for " + args[args.length - 1];
+        }
+        catch (NumberFormatException e)
+        {
+            return "Not a number: " + e.getMessage();
+        }
+        if (iterations < 1) return "-iterations must be at least 1";
+        return null;
+    }
+
+    void run() throws IOException
+    {
+        // the I/O methods and the messages of the techniques read the digits and indexes to use from here
+        if (Application.digitsAndIndexesPanel == null) new DigitsAndIndexesPanel(null);
+
+        Map<String, Double> baseline = baselineFile == null ? Collections.emptyMap() : readCsv(baselineFile);
+        List<Measurement> measurements = new ArrayList<>();
+
+        System.out.println(String.format("%-32s %-8s %14s %12s %14s%s", "Benchmark", "Corpus", "ns/op", "+- error", "ops/s", baseline.isEmpty() ? "" : "   vs baseline"));
+        for (String corpus : CORPUS_NAMES)
+        {
+            if (corpusFilter != null && !corpusFilter.equals(corpus)) continue;
+            for (Benchmark benchmark : makeBenchmarks(corpus, loadCorpus(corpus)))
+            {
+                if (!benchmark.name.contains(include)) continue;
+
+                Measurement m = measure(benchmark);
+                measurements.add(m);
+                String line = String.format("%-32s %-8s %,14.1f %,12.1f %,14.0f", benchmark.name, benchmark.corpus, m.nanosPerOperation, m.error, 1e9 / m.nanosPerOperation);
+                Double before = baseline.get(benchmark.name + "," + benchmark.corpus);
+                if (before != null) line += String.format("   %+.1f%%", (m.nanosPerOperation - before) / before * 100);
+                System.out.println(line);
+            }
+        }
+
+        if (csvFile != null) writeCsv(csvFile, measurements);
+        if (sink == 42) System.out.println(); // keeps sink alive
+    }
+
+    /**
+     * @return the puzzles of resources/benchmark/name.txt, lines starting with # are comments
+     */
+    static List<String> loadCorpus(String name) throws IOException
+    {
+        InputStream in = ApplicationLauncher.class.getResourceAsStream("resources/benchmark/" + name + ".txt");
+        if (in == null) throw new FileNotFoundException("resources/benchmark/" + name + ".txt");
+
+        List<String> puzzles = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) puzzles.add(line);
+            }
+        }
+        return puzzles;
+    }
+
+    List<Benchmark> makeBenchmarks(String corpus, List<String> lines)
+    {
+        int size = lines.size();
+        CompactSudoku[] puzzles = new CompactSudoku[size];
+        Sudoku[] sudokus = new Sudoku[size];
+        Sudoku[] eliminatedSudokus = new Sudoku[size]; // with the candidates left after basic elimination, for the techniques
+        String[] strings = new String[size];
+        for (int i = 0; i < size; i++)
+        {
+            puzzles[i] = IO.readCompact81String(lines.get(i));
+            sudokus[i] = puzzles[i].toSudoku();
+            strings[i] = IO.getCompact81CandidatesString(sudokus[i]);
+
+            CompactSudoku eliminated = puzzles[i].clone();
+            Solver.eliminate(eliminated);
+            eliminatedSudokus[i] = eliminated.toSudoku();
+        }
+        CompactSudoku scratch = new CompactSudoku();
+        TechniqueOptions options = new TechniqueOptions().setRecordFindings(true);
+
+        List<Benchmark> benchmarks = new ArrayList<>();
+        benchmarks.add(new Benchmark("Solver.solve FIND_ONE", corpus, size, i ->
+            Solver.solve(sudokus[i], null, new SolveRequest(Solver.FIND_ONE_SOLUTION, 1))));
+        benchmarks.add(new Benchmark("Solver.solve SECOND_SOLUTION", corpus, size, i ->
+            Solver.solve(sudokus[i], null, new SolveRequest(Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1))));
+        benchmarks.add(new Benchmark("Solver.solve KEEP_LOOKING", corpus, size, i ->
+            Solver.solve(sudokus[i], null, new SolveRequest(Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED, 1000))));
+        benchmarks.add(new Benchmark("TrailSolver SECOND_SOLUTION", corpus, size, i ->
+            TrailSolver.forCurrentThread().solve(puzzles[i], null, Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1)));
+        benchmarks.add(new Benchmark("DancingLinks SECOND_SOLUTION", corpus, size, i ->
+            DancingLinks.forCurrentThread().solve(puzzles[i], null, Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1)));
+        benchmarks.add(new Benchmark("Solver.eliminate", corpus, size, i ->
+        {
+            scratch.copyFrom(puzzles[i]);
+            return Solver.eliminate(scratch) ? scratch.solvedCellCount() : -1;
+        }));
+
+        for (int n = 2; n <= 4; n++)
+        {
+            int subsetSize = n;
+            benchmarks.add(new Benchmark("nakedCandidates n=" + n, corpus, size, i ->
+                Solver.nakedCandidates(eliminatedSudokus[i], subsetSize, options).found));
+            benchmarks.add(new Benchmark("hiddenCandidates n=" + n, corpus, size, i ->
+                Solver.hiddenCandidates(eliminatedSudokus[i], subsetSize, options).found));
+            benchmarks.add(new Benchmark("fish n=" + n, corpus, size, i ->
+                Solver.fish(eliminatedSudokus[i], subsetSize, false, options).found));
+            benchmarks.add(new Benchmark("finned fish n=" + n, corpus, size, i ->
+                Solver.fish(eliminatedSudokus[i], subsetSize, true, options).found));
+        }
+        benchmarks.add(new Benchmark("pointingCandidates", corpus, size, i ->
+            Solver.pointingCandidates(eliminatedSudokus[i], options).found));
+        benchmarks.add(new Benchmark("boxLineReduction", corpus, size, i ->
+            Solver.boxLineReduction(eliminatedSudokus[i], options).found));
+        // each call builds the link graph of the thread, so these include building it
+        benchmarks.add(new Benchmark("xyWing", corpus, size, i ->
+            Solver.xyWing(eliminatedSudokus[i], options).found));
+        benchmarks.add(new Benchmark("xyzWing", corpus, size, i ->
+            Solver.xyzWing(eliminatedSudokus[i], options).found));
+        benchmarks.add(new Benchmark("wWing", corpus, size, i ->
+            Solver.wWing(eliminatedSudokus[i], options).found));
+        benchmarks.add(new Benchmark("simpleColouring", corpus, size, i ->
+            Solver.simpleColouring(eliminatedSudokus[i], options).found));
+        benchmarks.add(new Benchmark("xChain", corpus, size, i ->
+            Solver.xChain(eliminatedSudokus[i], options).found));
+        benchmarks.add(new Benchmark("alternatingInferenceChain", corpus, size, i ->
+            Solver.alternatingInferenceChain(eliminatedSudokus[i], options).found));
+
+        benchmarks.add(new Benchmark("DifficultyRater.rate", corpus, size, i ->
+            DifficultyRater.forCurrentThread().rate(puzzles[i]).getScore()));
+        benchmarks.add(new Benchmark("Canonicalizer.fingerprint", corpus, size, i ->
+            Canonicalizer.forCurrentThread().fingerprint(puzzles[i])));
+
+        benchmarks.add(new Benchmark("IO.readSudokuFromString", corpus, size, i ->
+            IO.readSudokuFromString(new String[] { strings[i] }, false, false, false).status[0][0]));
+        benchmarks.add(new Benchmark("IO.getString compact", corpus, size, i ->
+            IO.getCompact81CandidatesString(eliminatedSudokus[i]).length()));
+        benchmarks.add(new Benchmark("IO.getString all candidates", corpus, size, i ->
+            IO.getDefaultString(eliminatedSudokus[i], 0, false, true).length()));
+        return benchmarks;
+    }
+
+    Measurement measure(Benchmark benchmark)
+    {
+        runFor(benchmark, warmupMillis);
+
+        double[] results = new double[iterations];
+        double sum = 0;
+        for (int k = 0; k < iterations; k++)
+        {
+            results[k] = runFor(benchmark, iterationMillis);
+            sum += results[k];
+        }
+        double mean = sum / iterations;
+        double squares = 0;
+        for (double result : results) squares += (result - mean) * (result - mean);
+        return new Measurement(benchmark, mean, iterations > 1 ? Math.sqrt(squares / (iterations - 1)) : 0);
+    }
+
+    /**
+     * Runs the operation over and over, cycling through the corpus, for at least millis milliseconds
+     * @return nanoseconds per operation
+     */
+    double runFor(Benchmark benchmark, long millis)
+    {
+        long duration = millis * 1_000_000L;
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do
+        {
+            // check the time once per pass over the corpus
+            for (int i = 0; i < benchmark.size; i++)
+            {
+                sink += benchmark.operation.run(i);
+            }
+            operations += benchmark.size;
+            elapsed = System.nanoTime() - start;
+        }
+        while (elapsed < duration);
+        return (double) elapsed / operations;
+    }
+
+    static void writeCsv(String file, List<Measurement> measurements) throws IOException
+    {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)))
+        {
+            out.println("benchmark,corpus,ns_per_op,error");
+            for (Measurement m : measurements)
+            {
+                out.println(m.benchmark.name + "," + m.benchmark.corpus + "," + m.nanosPerOperation + "," + m.error);
+            }
+        }
+    }
+
+    /**
+     * @return ns/op by "benchmark,corpus"
+     */
+    static Map<String, Double> readCsv(String file) throws IOException
+    {
+        Map<String, Double> results = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))
+        {
+            in.readLine(); // header
+            String line;
+            while ((line = in.readLine()) != null)
+            {
+                String[] fields = line.split(",");
+                if (fields.length >= 3) results.put(fields[0] + "," + fields[1], Double.parseDouble(fields[2]));
+            }
+        }
+        return results;
+    }
+}
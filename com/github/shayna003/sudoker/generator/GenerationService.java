@@ -0,0 +1,167 @@
+package com.github.shayna003.sudoker.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs independent PuzzleGenerator attempts on all cores.
+ * Most attempts finish in a millisecond or two, but with a strict clue count or many required clue locations
+ * an attempt can go through dozens of grids before one works, so racing several attempts removes the long tail.
+ * generateFirst() returns the first puzzle of any attempt and stops the others,
+ * generateAll() keeps all attempts going until it has the number of puzzles asked for.
+ * Attempts stop at their next clue removal once they are cancelled, which takes well under a millisecond.
+ * @since 10-17-2026
+ */
+public class GenerationService
+{
+    private static GenerationService shared;
+
+    /**
+     * @return the service used by the Generator dialog, with one thread per core
+     */
+    public static synchronized GenerationService getShared()
+    {
+        if (shared == null) shared = new GenerationService(Runtime.getRuntime().availableProcessors());
+        return shared;
+    }
+
+    final int parallelism;
+    final ExecutorService executor;
+    final AtomicInteger activeRequests = new AtomicInteger(); // calls of generateFirst() and generateAll() that haven't returned
+
+    public GenerationService(int parallelism)
+    {
+        this.parallelism = parallelism;
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, runnable ->
+        {
+            Thread thread = new Thread(runnable, "Puzzle Generator " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return true while a call of generateFirst() or generateAll() is running, e.g. for background work to wait
+     */
+    public boolean isBusy()
+    {
+        return activeRequests.get() > 0;
+    }
+
+    /**
+     * Runs one attempt per thread with the settings of generator, each with its own Random
+     * @param cancelled checked by the attempts before each clue removal
+     * @return the first puzzle generated, or null if it was cancelled before any attempt finished
+     */
+    public PuzzleGenerator.Result generateFirst(PuzzleGenerator generator, BooleanSupplier cancelled) throws InterruptedException
+    {
+        activeRequests.incrementAndGet();
+        AtomicBoolean found = new AtomicBoolean();
+        CompletableFuture<PuzzleGenerator.Result> first = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(parallelism);
+        Random seeds = new Random();
+        for (int i = 0; i < parallelism; i++)
+        {
+            PuzzleGenerator attempt = generator.copy(new Random(seeds.nextLong())).setCancelled(() -> found.get() || cancelled.getAsBoolean());
+            executor.execute(() ->
+            {
+                try
+                {
+                    PuzzleGenerator.Result result = attempt.generate();
+                    if (result != null && first.complete(result)) found.set(true);
+                }
+                catch (RuntimeException e)
+                {
+                    first.completeExceptionally(e);
+                    found.set(true);
+                }
+                finally
+                {
+                    if (running.decrementAndGet() == 0) first.complete(null); // all attempts were cancelled
+                }
+            });
+        }
+
+        try
+        {
+            return first.get();
+        }
+        catch (ExecutionException e)
+        {
+            throw rethrow(e);
+        }
+        finally
+        {
+            found.set(true);
+            activeRequests.decrementAndGet();
+        }
+    }
+
+    /**
+     * Generates count puzzles with the settings of generator, on all threads
+     * @param onResult called on the generating threads with each puzzle as it is generated, can be null
+     * @return the puzzles generated, fewer than count if it was cancelled
+     */
+    public List<PuzzleGenerator.Result> generateAll(PuzzleGenerator generator, int count, BooleanSupplier cancelled, Consumer<PuzzleGenerator.Result> onResult) throws InterruptedException
+    {
+        activeRequests.incrementAndGet();
+        AtomicInteger started = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean(count <= 0);
+        List<PuzzleGenerator.Result> results = Collections.synchronizedList(new ArrayList<>(count));
+        Random seeds = new Random();
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++)
+        {
+            PuzzleGenerator attempt = generator.copy(new Random(seeds.nextLong())).setCancelled(() -> done.get() || cancelled.getAsBoolean());
+            futures.add(executor.submit(() ->
+            {
+                // each puzzle is claimed before it is generated, so that no more than count are made
+                while (!done.get() && started.getAndIncrement() < count)
+                {
+                    PuzzleGenerator.Result result = attempt.generate();
+                    if (result == null) return;
+                    results.add(result);
+                    if (onResult != null) onResult.accept(result);
+                    if (results.size() >= count) done.set(true);
+                }
+            }));
+        }
+
+        try
+        {
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        catch (ExecutionException e)
+        {
+            throw rethrow(e);
+        }
+        finally
+        {
+            done.set(true);
+            activeRequests.decrementAndGet();
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * @return the exception an attempt failed with, to be thrown by the caller
+     */
+    static RuntimeException rethrow(ExecutionException e)
+    {
+        Throwable cause = e.getCause();
+        if (cause instanceof Error) throw (Error) cause;
+        if (cause instanceof RuntimeException) return (RuntimeException) cause;
+        return new IllegalStateException(cause);
+    }
+}
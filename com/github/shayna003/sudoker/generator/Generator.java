@@ -3,17 +3,21 @@ package com.github.shayna003.sudoker.generator;
 import com.github.shayna003.sudoker.Application;
 import com.github.shayna003.sudoker.ApplicationFrame;
 import com.github.shayna003.sudoker.Board;
+import com.github.shayna003.sudoker.Difficulty;
 import com.github.shayna003.sudoker.Sudoku;
 import com.github.shayna003.sudoker.prefs.GeneralSettingsPanel;
 import com.github.shayna003.sudoker.prefs.SettingsPanel;
 import com.github.shayna003.sudoker.prefs.SingleSettingsFile;
 import com.github.shayna003.sudoker.prefs.components.PrefsButtonGroup;
 import com.github.shayna003.sudoker.prefs.components.PrefsCheckBox;
+import com.github.shayna003.sudoker.prefs.components.PrefsComboBox;
 import com.github.shayna003.sudoker.prefs.components.PrefsComponent;
 import com.github.shayna003.sudoker.prefs.components.PrefsNumberSpinner;
+import com.github.shayna003.sudoker.solver.DifficultyRater;
+import com.github.shayna003.sudoker.solver.SolutionCache;
 import com.github.shayna003.sudoker.solver.Solver;
+import com.github.shayna003.sudoker.solver.SolverEngines;
 import com.github.shayna003.sudoker.swingComponents.GBC;
-import com.github.shayna003.sudoker.util.Checker;
 import com.github.shayna003.sudoker.util.IO;
 
 import javax.swing.*;
@@ -29,7 +33,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * @since 6-2-2021
  * This class needs a lot of work to have practical functionalities.
- * Later on will be able to generate sudokus with difficulty range etc.
+ * Can generate sudokus in a difficulty range, see DifficultyRater.Band.
  * Note: you can't close this dialog unless generation completed or is canceled.
  */
 public class Generator extends JDialog implements SettingsPanel
@@ -48,6 +52,11 @@ public class Generator extends JDialog implements SettingsPanel
     PrefsButtonGroup clueRangeButtonGroup;
 
     public PrefsCheckBox lockClues;
+    PrefsCheckBox symmetricClues;
+
+    static final String ANY_DIFFICULTY = "Any";
+    PrefsComboBox<String> minDifficulty;
+    PrefsComboBox<String> maxDifficulty;
 
     JButton clearLocations;
     public Board clueLocationBoard;
@@ -123,8 +132,32 @@ public class Generator extends JDialog implements SettingsPanel
 
         lockClues = new PrefsCheckBox("lockGeneratedClues", "Lock Generated Clues", true);
         prefsComponents.add(lockClues);
+        symmetricClues = new PrefsCheckBox("symmetricGeneratedClues", "Symmetric Clue Locations", false);
+        symmetricClues.setToolTipText("Only remove clues in pairs mirrored through the center of the board");
+        prefsComponents.add(symmetricClues);
         JPanel topPanel = new JPanel();
         topPanel.add(lockClues);
+        topPanel.add(symmetricClues);
+
+        String[] difficulties = new String[Difficulty.values().length + 1];
+        difficulties[0] = ANY_DIFFICULTY;
+        for (Difficulty difficulty : Difficulty.values())
+        {
+            difficulties[difficulty.ordinal() + 1] = difficulty.text;
+        }
+        minDifficulty = new PrefsComboBox<>("minGeneratedDifficulty", s -> s.equals(ANY_DIFFICULTY), difficulties);
+        maxDifficulty = new PrefsComboBox<>("maxGeneratedDifficulty", s -> s.equals(ANY_DIFFICULTY), difficulties);
+        minDifficulty.setToolTipText("The difficulty of the hardest solving technique the puzzle needs, as rated by Take Step's techniques");
+        maxDifficulty.setToolTipText("Puzzles that need guessing are only generated if this is " + ANY_DIFFICULTY);
+        prefsComponents.add(minDifficulty);
+        prefsComponents.add(maxDifficulty);
+
+        JPanel difficultySettingsPanel = new JPanel();
+        difficultySettingsPanel.setBorder(BorderFactory.createTitledBorder("Difficulty Settings"));
+        difficultySettingsPanel.add(new JLabel("Minimum: "));
+        difficultySettingsPanel.add(minDifficulty);
+        difficultySettingsPanel.add(new JLabel("Maximum: "));
+        difficultySettingsPanel.add(maxDifficulty);
 
         JPanel clueSettingsPanel = new JPanel(new GridBagLayout());
         clueSettingsPanel.setBorder(BorderFactory.createTitledBorder("Clue Number Settings"));
@@ -155,6 +188,10 @@ public class Generator extends JDialog implements SettingsPanel
             {
                 JOptionPane.showMessageDialog(Generator.this, "Maximum Clue number cannot be smaller than Minimum Clue Number.");
             }
+            else if (getDifficulty(minDifficulty) != null && getDifficulty(maxDifficulty) != null && getDifficulty(maxDifficulty).compareTo(getDifficulty(minDifficulty)) < 0)
+            {
+                JOptionPane.showMessageDialog(Generator.this, "Maximum Difficulty cannot be easier than Minimum Difficulty.");
+            }
             else if (clueLocationBoard.clueCount > clueLocationBoard.maxClues)
             {
                 int difference = clueLocationBoard.clueCount - clueLocationBoard.maxClues;
@@ -172,7 +209,7 @@ public class Generator extends JDialog implements SettingsPanel
         cancelGenerationButton = new JButton("Cancel Generation");
         cancelGenerationButton.addActionListener(event ->
         {
-            cancelGeneration = false;
+            cancelGeneration = true;
         });
         cancelGenerationButton.setEnabled(false);
 
@@ -193,6 +230,7 @@ public class Generator extends JDialog implements SettingsPanel
         topCompositePanel.setLayout(new BoxLayout(topCompositePanel, BoxLayout.Y_AXIS));
         topCompositePanel.add(topPanel);
         topCompositePanel.add(clueSettingsPanel);
+        topCompositePanel.add(difficultySettingsPanel);
 
         setLayout(new BorderLayout());
         add(topCompositePanel, BorderLayout.NORTH);
@@ -275,94 +313,72 @@ public class Generator extends JDialog implements SettingsPanel
     }
 
     /**
-     * Generates a puzzle with the specified clue range and clue location settings.
-     * @return the generated puzzle, or null if user canceled the generation.
+     * @return the difficulty selected in one of the difficulty combo boxes, or null for ANY_DIFFICULTY
+     */
+    static Difficulty getDifficulty(PrefsComboBox<String> comboBox)
+    {
+        for (Difficulty difficulty : Difficulty.values())
+        {
+            if (difficulty.text.equals(comboBox.getSelectedItem())) return difficulty;
+        }
+        return null;
+    }
+
+    /**
+     * Generates a puzzle with the specified clue range, clue location and difficulty settings, see PuzzleGenerator and GenerationService,
+     * or takes one that PuzzlePool generated earlier for the same settings.
+     * @return the generated puzzle, or null if user canceled the generation or no puzzle with the settings was found.
      */
     public Sudoku generate()
     {
         cancelGeneration = false;
-        Sudoku sudoku = new Sudoku();
-        Random random = new Random();
-
-        int numberOfCellSelected = 0;
-        int usedClueLocationsFromBoard = 0; // for clue location settings
-        int targetNumberOfClues = minNumberOfClues < maxNumberOfClues ? minNumberOfClues + random.nextInt(maxNumberOfClues - maxNumberOfClues + 1) : minNumberOfClues;
-
-        // to record indexes of cells with clues set
-        ArrayList<Integer> rowIndexes = new ArrayList<>(targetNumberOfClues);
-        ArrayList<Integer> colIndexes = new ArrayList<>(targetNumberOfClues);
-
-        if (clueLocationBoard.clueCount > 0)
+        boolean[] requiredClues = new boolean[81];
+        for (int r = 0; r < 9; r++)
         {
-            int counter = 0;
-
-            for (int r = 0; r < 9; r++)
+            for (int c = 0; c < 9; c++)
             {
-                for (int c = 0; c < 9; c++)
-                {
-                    if (clueLocationBoard.cellLocked[r][c])
-                    {
-                        rowIndexes.add(r);
-                        colIndexes.add(c);
-                        counter++;
-                        if (counter == clueLocationBoard.clueCount) break;
-                    }
-                }
+                requiredClues[r * 9 + c] = clueLocationBoard.cellLocked[r][c];
             }
         }
 
-        while (numberOfCellSelected < targetNumberOfClues)
+        PuzzleGenerator generator = new PuzzleGenerator(new Random(), SolverEngines.getSelected())
+            .setClueRange(minNumberOfClues, maxNumberOfClues)
+            .setRequiredClues(requiredClues)
+            .setSymmetric(symmetricClues.isSelected());
+        Difficulty min = getDifficulty(minDifficulty);
+        Difficulty max = getDifficulty(maxDifficulty);
+        if (min != null || max != null) generator.setDifficultyBand(DifficultyRater.Band.ofDifficulty(min, max));
+        // a puzzle generated in the background for these settings, if there is one
+        PuzzleGenerator.Result generated = PuzzlePool.getShared().take(generator);
+        if (generated == null)
         {
-            if (cancelGeneration)
+            try
             {
-                return null;
+                // one attempt per core, the first puzzle wins and the other attempts stop
+                generated = GenerationService.getShared().generateFirst(generator, () -> cancelGeneration);
             }
-            if (usedClueLocationsFromBoard < clueLocationBoard.clueCount)
+            catch (InterruptedException e)
             {
-                do
-                {
-                    sudoku.setValueAt(rowIndexes.get(usedClueLocationsFromBoard), colIndexes.get(usedClueLocationsFromBoard), 1 + random.nextInt(9));
-                }
-                while (!Checker.checkValid(sudoku, rowIndexes.get(usedClueLocationsFromBoard), colIndexes.get(usedClueLocationsFromBoard)));
-                usedClueLocationsFromBoard++;
-                numberOfCellSelected++;
+                return null;
             }
-            else
+            if (generated == null)
             {
-                int r;
-                int c;
-                do
-                {
-                    r = 1 + random.nextInt(8);
-                    c = 1 + random.nextInt(8);
-                }
-                while (sudoku.status[r][c] > 0);
-
-                do
-                {
-                    sudoku.setValueAt(r, c, 1 + random.nextInt(9));
-                }
-                while (!Checker.checkValid(sudoku, r, c));
-                rowIndexes.add(r);
-                colIndexes.add(c);
-                numberOfCellSelected++;
+                return null;
             }
         }
 
-        while (Solver.solve(sudoku, null, Solver.RETURN_IF_FINDS_SECOND_SOLUTION) != 1)
+        SolutionCache.Key key = SolutionCache.keyOf(generated.puzzle);
+        if (key != null)
         {
-            int index = random.nextInt(targetNumberOfClues);
-            do
-            {
-                if (cancelGeneration)
-                {
-                    return null;
-                }
-                sudoku.setValueAt(rowIndexes.get(index), colIndexes.get(index), 1 + random.nextInt(9));
-            }
-            while (!Checker.checkValid(sudoku, rowIndexes.get(index), colIndexes.get(index)));
+            SolutionCache.getShared().putSolutionCount(key, Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1, 1);
+            SolutionCache.getShared().putSolution(key, generated.solution);
         }
 
+        Sudoku sudoku = new Sudoku();
+        for (int i = 0; i < 81; i++)
+        {
+            if (generated.puzzle.values[i] > 0) sudoku.setValueAt(i / 9, i % 9, generated.puzzle.values[i]);
+        }
         result = sudoku;
         return result;
     }
@@ -392,6 +408,10 @@ public class Generator extends JDialog implements SettingsPanel
                 saveSettings(settingsFile, true);
                 setVisible(false);
             }
+            else if (!cancelGeneration)
+            {
+                JOptionPane.showMessageDialog(Generator.this, "Could not generate a puzzle with these settings. Try a wider clue range, fewer selected cells or another difficulty.", "No Puzzle Generated", JOptionPane.INFORMATION_MESSAGE);
+            }
 
             cancelGeneration = false;
             cancelGenerationButton.setEnabled(false);
@@ -0,0 +1,453 @@
+package com.github.shayna003.sudoker.generator;
+
+import com.github.shayna003.sudoker.CompactSudoku;
+import com.github.shayna003.sudoker.Difficulty;
+import com.github.shayna003.sudoker.solver.DifficultyRater;
+import com.github.shayna003.sudoker.solver.SolveRequest;
+import com.github.shayna003.sudoker.solver.Solver;
+import com.github.shayna003.sudoker.solver.SolverEngine;
+import com.github.shayna003.sudoker.util.SudokuTransform;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Generates puzzles with one solution, solution first:
+ * a random complete grid is made, then clues are removed from it in a random order,
+ * and each removal is only kept if the puzzle still has one solution.
+ * With symmetric clues, the cells are removed in pairs that are mirrored through the center of the board.
+ * Required clues, e.g. the clue locations selected in the Generator dialog, are never removed.
+ *
+ * Since the solution is known, a removal doesn't need a full uniqueness check:
+ * any other solution of the puzzle has to differ from the solution in one of the removed cells,
+ * so it is enough to check that there is no solution without the removed value in that cell.
+ * If the clues can't be brought down to the maximum, e.g. for few clues, another grid is tried, up to maxAttempts grids.
+ * With symmetric clues a pair can take the count one below the target, as long as it stays in the clue range,
+ * and a required centre clue, which leaves an odd number of clues, makes the target odd.
+ *
+ * With a difficulty band, the puzzle is rated once the clues are down to the target, and another grid is tried if it isn't in the band.
+ * The ratings stop as soon as the puzzle needs a technique above the band, see DifficultyRater.Band,
+ * so a puzzle that is too hard costs little to reject.
+ * For bands up to Basic, most puzzles dug to the target are too hard, so instead clues are put back until it isn't,
+ * and then more clues are removed, rating it after each removal, while it stays in the band, see adjustsClues().
+ * A band with a score range is checked last against DifficultyRater.getScore(), the score of the canonical form of the puzzle,
+ * since the score of the puzzle as generated depends on which case of a technique the rater happens to find first.
+ * An instance is not thread safe.
+ * @since 10-17-2026
+ */
+public class PuzzleGenerator
+{
+    // complete grids tried before generate() gives up, enough for any clue range and band that can be met in practice
+    public static final int DEFAULT_MAX_ATTEMPTS = 10_000;
+
+    /**
+     * A generated puzzle and its solution
+     */
+    public static class Result
+    {
+        public final CompactSudoku puzzle;
+        public final int[][] solution;
+        public final int clueCount;
+        public final int attempts; // complete grids tried, 1 if the first one worked
+        public final DifficultyRater.Rating rating; // null if there was no difficulty band, its score can differ from getScore()
+
+        Result(CompactSudoku puzzle, int[][] solution, int clueCount, int attempts, DifficultyRater.Rating rating)
+        {
+            this.puzzle = puzzle;
+            this.solution = solution;
+            this.clueCount = clueCount;
+            this.attempts = attempts;
+            this.rating = rating;
+        }
+    }
+
+    final Random random;
+    final SolverEngine engine;
+
+    int minClues = 17;
+    int maxClues = 81;
+    final boolean[] requiredClues = new boolean[81];
+    int requiredClueCount;
+    boolean symmetric;
+    DifficultyRater.Band band; // null for any difficulty
+    int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    BooleanSupplier cancelled = () -> false;
+
+    DifficultyRater.Rating rating; // of the puzzle being dug, if there is a band
+    final int[] keptRemovals = new int[81]; // positions in the removal order of the removals kept so far, in the order they were made
+    int keptCount;
+    final int[] rejectedAt = new int[81]; // for each cell, the position its removal was rejected at for making the puzzle not unique, or -1
+
+    // counted over all generate() calls, for the benchmark and debugging
+    long uniquenessChecks;
+    long grids;
+    long ratings;
+
+    /**
+     * @param engine used to fill the grids and to check that removals keep the puzzle unique
+     */
+    public PuzzleGenerator(Random random, SolverEngine engine)
+    {
+        this.random = random;
+        this.engine = engine;
+    }
+
+    /**
+     * @return a generator with the same settings and another Random, e.g. for another thread
+     */
+    public PuzzleGenerator copy(Random random)
+    {
+        return new PuzzleGenerator(random, engine)
+            .setClueRange(minClues, maxClues)
+            .setRequiredClues(requiredClues)
+            .setSymmetric(symmetric)
+            .setDifficultyBand(band)
+            .setMaxAttempts(maxAttempts)
+            .setCancelled(cancelled);
+    }
+
+    public PuzzleGenerator setClueRange(int minClues, int maxClues)
+    {
+        this.minClues = minClues;
+        this.maxClues = maxClues;
+        return this;
+    }
+
+    /**
+     * @param requiredClues 81 cells, in row major order, that will have clues
+     */
+    public PuzzleGenerator setRequiredClues(boolean[] requiredClues)
+    {
+        System.arraycopy(requiredClues, 0, this.requiredClues, 0, 81);
+        requiredClueCount = 0;
+        for (boolean required : requiredClues)
+        {
+            if (required) requiredClueCount++;
+        }
+        return this;
+    }
+
+    /**
+     * @param symmetric if true, a clue is only removed together with the clue mirrored through the center of the board
+     */
+    public PuzzleGenerator setSymmetric(boolean symmetric)
+    {
+        this.symmetric = symmetric;
+        return this;
+    }
+
+    /**
+     * @param band the ratings the puzzles should have, or null for any
+     */
+    public PuzzleGenerator setDifficultyBand(DifficultyRater.Band band)
+    {
+        this.band = band;
+        return this;
+    }
+
+    /**
+     * @param maxAttempts complete grids generate() tries before it returns null, e.g. for settings that can't be met
+     */
+    public PuzzleGenerator setMaxAttempts(int maxAttempts)
+    {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * @param cancelled checked before each removal, generate() returns null once it is true
+     */
+    public PuzzleGenerator setCancelled(BooleanSupplier cancelled)
+    {
+        this.cancelled = cancelled;
+        return this;
+    }
+
+    /**
+     * @return a puzzle with one solution and between minClues and maxClues clues, more if there are more required clues,
+     * and a rating in the difficulty band if there is one, or null if it was cancelled or none of maxAttempts grids worked
+     */
+    public Result generate()
+    {
+        int fewestClues = Math.max(minClues, requiredClueCount);
+        int mostClues = Math.max(maxClues, requiredClueCount);
+        int targetClues = Math.max(minClues + random.nextInt(maxClues - minClues + 1), requiredClueCount);
+        if (symmetric && requiredClues[40] && targetClues % 2 == 0)
+        {
+            // only the centre clue is removed on its own, the others in pairs
+            if (targetClues < mostClues) targetClues++;
+            else if (targetClues > fewestClues) targetClues--;
+            else return null;
+        }
+        for (int attempts = 1; attempts <= maxAttempts; attempts++)
+        {
+            int[][] solution = randomSolution();
+            if (solution == null) return null; // only if the engine was stopped
+            CompactSudoku puzzle = new CompactSudoku(solution);
+            int clueCount = digHoles(puzzle, solution, targetClues);
+            if (clueCount < 0) return null;
+            if (clueCount > mostClues) continue;
+            if (band == null) return new Result(puzzle, solution, clueCount, attempts, null);
+            if (band.contains(rating) && hasScoreInBand(puzzle)) return new Result(puzzle, solution, clueCount, attempts, rating);
+            // else too easy even with as few clues as allowed, or its canonical score is outside the band
+        }
+        return null;
+    }
+
+    /**
+     * Solves a grid with random permutations in the 3 boxes on the diagonal, which don't see each other so any 3 permutations work,
+     * then applies a random SudokuTransform so that the other boxes are random too
+     * @return a random complete grid
+     */
+    public int[][] randomSolution()
+    {
+        grids++;
+        CompactSudoku seed = new CompactSudoku();
+        for (int box = 0; box < 9; box += 4)
+        {
+            int[] digits = randomOrder(9);
+            for (int k = 0; k < 9; k++)
+            {
+                seed.setValueAt((box / 3 * 3 + k / 3) * 9 + box % 3 * 3 + k % 3, digits[k] + 1);
+            }
+        }
+        int[][] solution = engine.solveOne(seed);
+        return solution == null ? null : SudokuTransform.random(random).apply(solution);
+    }
+
+    /**
+     * Removes clues from puzzle in a random order, keeping removals that leave the puzzle with one solution.
+     * With a band, the puzzle dug to targetClues is rated once. If adjustsClues() and it is too hard, the removals are put back
+     * to the most that leave it in or below the band, found by a binary search over the order they were made in.
+     * Then while it is too easy, clues are removed with a rating after each removal, and removals that make it too hard are put back.
+     * @param solution the solution of puzzle
+     * @return the number of clues left, which is targetClues or more, or -1 if it was cancelled.
+     * With a band, this can be fewer than targetClues if the puzzle was too easy with targetClues, and rating is the rating of the puzzle.
+     */
+    int digHoles(CompactSudoku puzzle, int[][] solution, int targetClues)
+    {
+        int[] order = randomOrder(81);
+        Arrays.fill(rejectedAt, -1);
+        keptCount = 0;
+        int clueCount = removeClues(puzzle, solution, order, 81, targetClues, false);
+        if (clueCount < 0 || band == null) return clueCount;
+
+        rating = rate(puzzle);
+        if (!adjustsClues()) return clueCount;
+        if (isTooHard(rating))
+        {
+            clueCount = backOff(puzzle, solution, order);
+        }
+        if (clueCount > targetClues || band.isBelow(rating))
+        {
+            clueCount = removeClues(puzzle, solution, order, clueCount, targetClues, true);
+        }
+        return clueCount;
+    }
+
+    /**
+     * Putting clues back and removing them one rating at a time was measured against trying another grid for each band.
+     * It is 5 to 14 times faster for Basic, where few puzzles dug to the target are easy enough,
+     * about the same for Easy, and up to a third slower for Moderate and Hard, which most puzzles dug to the target are in or near.
+     * @return true if digHoles() should adjust the clues of a puzzle that isn't in the band
+     */
+    boolean adjustsClues()
+    {
+        return band.maxDifficulty == Difficulty.BASIC;
+    }
+
+    /**
+     * Tries to remove the clues of puzzle in order, see digHoles()
+     * @param rated if true, rates the puzzle after each removal and stops once it is in the band with targetClues or fewer clues,
+     * else stops at targetClues
+     * @return the number of clues left, or -1 if it was cancelled
+     */
+    int removeClues(CompactSudoku puzzle, int[][] solution, int[] order, int clueCount, int targetClues, boolean rated)
+    {
+        int fewestClues = Math.max(minClues, requiredClueCount);
+        int minimum = rated ? fewestClues : targetClues;
+        int[] removed = new int[2];
+        for (int position = 0; position < 81; position++)
+        {
+            if (clueCount <= minimum || (clueCount <= targetClues && (!rated || !band.isBelow(rating)))) break;
+            if (cancelled.getAsBoolean()) return -1;
+
+            int cell = order[position];
+            if (puzzle.values[cell] == 0 || rejectedAt[cell] >= 0) continue;
+            int count = 0;
+            removed[count++] = cell;
+            int mirror = 80 - cell;
+            if (symmetric && mirror != cell)
+            {
+                if (mirror < cell) continue; // the pair is tried when its first cell comes up
+                removed[count++] = mirror;
+            }
+            if (clueCount - count < fewestClues) continue; // a pair can go one past targetClues, e.g. when the centre clue stays
+            if (requiredClues[cell] || (count > 1 && requiredClues[mirror])) continue;
+
+            for (int k = 0; k < count; k++)
+            {
+                puzzle.clearCell(removed[k]);
+            }
+            boolean keep = isStillUnique(puzzle, solution, removed, count);
+            if (!keep)
+            {
+                rejectedAt[cell] = position; // removing more clues won't make it unique again
+            }
+            else if (rated)
+            {
+                DifficultyRater.Rating ratingAfter = rate(puzzle);
+                keep = !isTooHard(ratingAfter);
+                if (keep) rating = ratingAfter;
+            }
+
+            if (keep)
+            {
+                clueCount -= count;
+                keptRemovals[keptCount++] = position;
+            }
+            else
+            {
+                for (int k = 0; k < count; k++)
+                {
+                    puzzle.setValueAt(removed[k], solution[removed[k] / 9][removed[k] % 9]);
+                }
+            }
+        }
+        return clueCount;
+    }
+
+    /**
+     * Puts back the clues of a puzzle that is too hard, keeping the most removals, in the order they were made,
+     * that leave the puzzle in or below the band, and sets rating to its rating.
+     * Difficulty mostly grows with each removal, so a binary search takes a few ratings instead of one per removal.
+     * @return the number of clues left
+     */
+    int backOff(CompactSudoku puzzle, int[][] solution, int[] order)
+    {
+        int notTooHard = 0; // the complete grid is never too hard
+        DifficultyRater.Rating notTooHardRating = null;
+        int tooHard = keptCount;
+        while (tooHard - notTooHard > 1)
+        {
+            int middle = (notTooHard + tooHard) >>> 1;
+            keepRemovals(puzzle, solution, order, middle);
+            DifficultyRater.Rating middleRating = rate(puzzle);
+            if (isTooHard(middleRating))
+            {
+                tooHard = middle;
+            }
+            else
+            {
+                notTooHard = middle;
+                notTooHardRating = middleRating;
+            }
+        }
+        int clueCount = keepRemovals(puzzle, solution, order, notTooHard);
+        rating = notTooHardRating != null ? notTooHardRating : rate(puzzle);
+
+        // removals rejected after the last one kept might work with fewer clues removed, and the next one made it too hard
+        int firstDropped = keptRemovals[notTooHard];
+        for (int cell = 0; cell < 81; cell++)
+        {
+            if (rejectedAt[cell] > firstDropped) rejectedAt[cell] = -1;
+        }
+        rejectedAt[order[firstDropped]] = firstDropped;
+        keptCount = notTooHard;
+        return clueCount;
+    }
+
+    /**
+     * Makes puzzle the solution with the first count kept removals made
+     * @return the number of clues left
+     */
+    int keepRemovals(CompactSudoku puzzle, int[][] solution, int[] order, int count)
+    {
+        int clueCount = 81;
+        for (int i = 0; i < 81; i++)
+        {
+            puzzle.setValueAt(i, solution[i / 9][i % 9]);
+        }
+        for (int k = 0; k < count; k++)
+        {
+            int cell = order[keptRemovals[k]];
+            puzzle.clearCell(cell);
+            clueCount--;
+            if (symmetric && 80 - cell != cell)
+            {
+                puzzle.clearCell(80 - cell);
+                clueCount--;
+            }
+        }
+        return clueCount;
+    }
+
+    /**
+     * Checks that removing the clues of cells from a puzzle with one solution left it with one solution.
+     * Another solution would differ from solution in at least one of the cells, say the k-th,
+     * and match it in the cells before that, so there is no other solution if none of those k searches find one.
+     * @param puzzle the puzzle with the cells already cleared
+     */
+    boolean isStillUnique(CompactSudoku puzzle, int[][] solution, int[] cells, int count)
+    {
+        CompactSudoku constrained = puzzle.clone();
+        for (int k = 0; k < count; k++)
+        {
+            int value = solution[cells[k] / 9][cells[k] % 9];
+            constrained.setCandidates(cells[k], CompactSudoku.ALL_CANDIDATES & ~CompactSudoku.bit(value));
+            uniquenessChecks++;
+            if (engine.solve(constrained, null, new SolveRequest(Solver.FIND_ONE_SOLUTION, 1)) > 0) return false;
+            constrained.setValueAt(cells[k], value);
+        }
+        return true;
+    }
+
+    /**
+     * Rates puzzle for the band, stopping as soon as it is too hard
+     */
+    DifficultyRater.Rating rate(CompactSudoku puzzle)
+    {
+        ratings++;
+        return DifficultyRater.forCurrentThread().rate(puzzle, band);
+    }
+
+    /**
+     * @return true if the band has no score range, or the canonical score of puzzle is in it
+     */
+    boolean hasScoreInBand(CompactSudoku puzzle)
+    {
+        if (!band.hasScoreRange()) return true;
+        ratings++;
+        return band.containsScore(DifficultyRater.forCurrentThread().getScore(puzzle));
+    }
+
+    /**
+     * @return true if removing more clues can't bring the puzzle with this rating into the band
+     */
+    boolean isTooHard(DifficultyRater.Rating rating)
+    {
+        return !band.contains(rating) && !band.isBelow(rating);
+    }
+
+    /**
+     * @return 0 ~ n - 1 in a random order
+     */
+    int[] randomOrder(int n)
+    {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        return order;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PuzzleGenerator[grids=" + grids + ", uniquenessChecks=" + uniquenessChecks + ", ratings=" + ratings + "]";
+    }
+}
@@ -0,0 +1,534 @@
+package com.github.shayna003.sudoker.generator;
+
+import com.github.shayna003.sudoker.Application;
+import com.github.shayna003.sudoker.CompactSudoku;
+import com.github.shayna003.sudoker.Difficulty;
+import com.github.shayna003.sudoker.solver.DifficultyRater;
+import com.github.shayna003.sudoker.solver.SolverEngines;
+import com.github.shayna003.sudoker.util.SudokuTransform;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+
+/**
+ * Puzzles generated ahead of time for the generator settings that have been used, so that Generate can return one right away.
+ * A low priority background thread keeps a few puzzles ready for each setting, most recently used first,
+ * and waits while the Generator dialog generates puzzles itself, see GenerationService.isBusy().
+ * Whether a setting is used again is a guess, so the pool is bounded both by puzzles per setting and by memory,
+ * and the least recently used settings are dropped first.
+ * A setting that can't be met in practice, e.g. 17 clues, must not keep the thread busy:
+ * each refill gives up after REFILL_BUDGET_MILLIS, a setting waits longer after each refill that gave up,
+ * and settings without puzzles aren't saved.
+ *
+ * A puzzle taken from the pool is usually not removed: it stays as a seed, and each take returns a random SudokuTransform of one,
+ * which has the same difficulty and, with the transformations picked, the same required clue locations and symmetry.
+ * So once a setting has puzzles it never runs out. The refill thread still replaces the seeds used the most with new puzzles,
+ * so that the puzzles aren't all derived from the same few. For settings with a score range, the generator checks
+ * the score of the canonical form of a puzzle, see DifficultyRater.getScore(), which all puzzles derived from it share.
+ * One instance is shared by the application, see getShared(), and saved to the data folder between sessions.
+ * All methods are thread safe.
+ * @since 10-17-2026
+ */
+public class PuzzlePool
+{
+    public static final String FILE_NAME = "puzzle_pool.dat";
+    public static final int DEFAULT_PUZZLES_PER_SETTING = 10;
+    public static final int DEFAULT_MAX_KB = 256;
+
+    static final int FILE_MAGIC = 0x53444b50; // "SDKP"
+    static final int FILE_VERSION = 3; // 2 added the difficulty band, 3 the derivation counts
+    static final int MAX_SETTINGS = 16; // settings remembered, even without puzzles
+    static final int PUZZLE_BYTES = 81 * 2; // the puzzle and its solution, one byte per cell
+    static final int ENTRY_BYTES = PUZZLE_BYTES + 1; // and the number of puzzles derived from it, up to Byte.MAX_VALUE
+    static final int ENTRY_OVERHEAD = 32; // estimated bytes of a puzzle besides its array
+    static final long STARTUP_DELAY_MILLIS = 5000; // so that refilling doesn't slow down the start of the application
+    static final long IDLE_WAIT_MILLIS = 500; // between checks while the pool is full or the generator is busy
+    static final long REFILL_BUDGET_MILLIS = 5000; // for one puzzle, far more than settings that can be met in practice take
+    static final long FIRST_RETRY_DELAY_MILLIS = 30_000; // before refilling a setting whose last refill gave up, doubled each time it gives up again
+    static final long MAX_RETRY_DELAY_MILLIS = 30 * 60_000;
+
+    private static PuzzlePool shared;
+
+    /**
+     * The generator settings that change which puzzles are generated.
+     * Lock Generated Clues is not one of them, it is applied when the puzzle is put on the board.
+     */
+    static final class Key
+    {
+        final int minClues;
+        final int maxClues;
+        final boolean symmetric;
+        final long requiredLow; // cells 0 ~ 63 of the required clues
+        final long requiredHigh; // cells 64 ~ 80
+        final DifficultyRater.Band band; // null for any difficulty
+
+        Key(int minClues, int maxClues, boolean symmetric, long requiredLow, long requiredHigh, DifficultyRater.Band band)
+        {
+            this.minClues = minClues;
+            this.maxClues = maxClues;
+            this.symmetric = symmetric;
+            this.requiredLow = requiredLow;
+            this.requiredHigh = requiredHigh;
+            this.band = band;
+        }
+
+        static Key of(PuzzleGenerator generator)
+        {
+            long low = 0;
+            long high = 0;
+            for (int i = 0; i < 81; i++)
+            {
+                if (!generator.requiredClues[i]) continue;
+                if (i < 64) low |= 1L << i;
+                else high |= 1L << (i - 64);
+            }
+            return new Key(generator.minClues, generator.maxClues, generator.symmetric, low, high, generator.band);
+        }
+
+        /**
+         * @return a random transformation that keeps the required clue locations and symmetry of this setting
+         */
+        SudokuTransform randomTransform(Random random)
+        {
+            if (requiredLow != 0 || requiredHigh != 0) return SudokuTransform.randomRelabeling(random);
+            return symmetric ? SudokuTransform.randomSymmetric(random) : SudokuTransform.random(random);
+        }
+
+        /**
+         * @return a generator with these settings
+         */
+        PuzzleGenerator newGenerator(Random random)
+        {
+            boolean[] required = new boolean[81];
+            for (int i = 0; i < 81; i++)
+            {
+                required[i] = ((i < 64 ? requiredLow >>> i : requiredHigh >>> (i - 64)) & 1) != 0;
+            }
+            return new PuzzleGenerator(random, SolverEngines.getSelected())
+                .setClueRange(minClues, maxClues)
+                .setRequiredClues(required)
+                .setSymmetric(symmetric)
+                .setDifficultyBand(band);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return minClues == other.minClues && maxClues == other.maxClues && symmetric == other.symmetric && requiredLow == other.requiredLow && requiredHigh == other.requiredHigh && Objects.equals(band, other.band);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(minClues, maxClues, symmetric, requiredLow, requiredHigh, band);
+        }
+
+        @Override
+        public String toString()
+        {
+            return minClues + "-" + maxClues + " clues" + (symmetric ? ", symmetric" : "") + ", " + (Long.bitCount(requiredLow) + Long.bitCount(requiredHigh)) + " required" + (band == null ? "" : ", " + band);
+        }
+    }
+
+    // in access order, so the first setting is the least recently used
+    final LinkedHashMap<Key, ArrayDeque<byte[]>> puzzles = new LinkedHashMap<>(16, 0.75f, true);
+    // for the settings whose last refill gave up, the System.nanoTime() before which they aren't refilled, and the delay that was used
+    final HashMap<Key, long[]> retries = new HashMap<>();
+    long bytes;
+    boolean changed; // since loading or saving
+
+    long hits;
+    long misses;
+    long generated;
+    long derived;
+
+    final Random random = new Random();
+    volatile boolean stopped;
+    Thread refillThread;
+
+    /**
+     * @return the pool of the application, which starts refilling from the saved pool the first time
+     */
+    public static synchronized PuzzlePool getShared()
+    {
+        if (shared == null)
+        {
+            shared = new PuzzlePool();
+            shared.startRefilling(getFile());
+        }
+        return shared;
+    }
+
+    /**
+     * Called when the application saves its settings
+     */
+    public static synchronized void saveShared()
+    {
+        File file = getFile();
+        if (shared == null || file == null) return;
+        try
+        {
+            if (shared.changed) shared.save(file);
+            if (Application.prefsLogger != null) Application.prefsLogger.log(Level.INFO, "Puzzle pool: " + shared);
+        }
+        catch (IOException e)
+        {
+            if (Application.exceptionLogger != null) Application.exceptionLogger.log(Level.WARNING, "Could not save the puzzle pool to " + file, e);
+        }
+    }
+
+    static File getFile()
+    {
+        return Application.dataFolder == null ? null : new File(Application.dataFolder, FILE_NAME);
+    }
+
+    /**
+     * @return the number of puzzles to keep ready for each setting, 0 turns the pool off
+     */
+    static int getPuzzlesPerSetting()
+    {
+        return Application.solverSettingsPanel == null ? DEFAULT_PUZZLES_PER_SETTING : (Integer) Application.solverSettingsPanel.puzzlePoolSize.getValue();
+    }
+
+    static long getMaxBytes()
+    {
+        return 1024L * (Application.solverSettingsPanel == null ? DEFAULT_MAX_KB : (Integer) Application.solverSettingsPanel.puzzlePoolMaxKB.getValue());
+    }
+
+    /**
+     * Takes a puzzle generated with the settings of generator out of the pool, or derived from one,
+     * and marks the settings as the most recently used so that the pool is refilled for them first
+     * @return the puzzle, or null if there is none ready
+     */
+    public synchronized PuzzleGenerator.Result take(PuzzleGenerator generator)
+    {
+        Key key = Key.of(generator);
+        ArrayDeque<byte[]> ready = puzzles.computeIfAbsent(key, k -> new ArrayDeque<>());
+        evict(getPuzzlesPerSetting(), getMaxBytes());
+        notifyAll();
+
+        byte[] entry = ready.pollFirst();
+        if (entry == null)
+        {
+            misses++;
+            return null;
+        }
+        hits++;
+        changed = true;
+        // the seed goes to the back, after the puzzles that nothing has been derived from yet
+        SudokuTransform transform = key.randomTransform(random);
+        byte[] values = transform.apply(Arrays.copyOfRange(entry, 0, 81));
+        byte[] solutionValues = transform.apply(Arrays.copyOfRange(entry, 81, PUZZLE_BYTES));
+        if (entry[PUZZLE_BYTES] < Byte.MAX_VALUE) entry[PUZZLE_BYTES]++;
+        ready.addLast(entry);
+        derived++;
+
+        CompactSudoku puzzle = new CompactSudoku();
+        int[][] solution = new int[9][9];
+        int clueCount = 0;
+        for (int i = 0; i < 81; i++)
+        {
+            if (values[i] > 0)
+            {
+                puzzle.setValueAt(i, values[i]);
+                clueCount++;
+            }
+            solution[i / 9][i % 9] = solutionValues[i];
+        }
+        return new PuzzleGenerator.Result(puzzle, solution, clueCount, 0, null);
+    }
+
+    /**
+     * Adds a puzzle generated for key, in place of the seed used the most if the pool has no more room for it
+     */
+    synchronized void add(Key key, PuzzleGenerator.Result result)
+    {
+        ArrayDeque<byte[]> ready = puzzles.get(key); // doesn't count as a use of the setting
+        retries.remove(key);
+        if (ready == null) return;
+        boolean full = ready.size() >= getPuzzlesPerSetting() || bytes + ENTRY_OVERHEAD + ENTRY_BYTES > getMaxBytes();
+        if (full && !removeMostUsedSeed(ready)) return;
+
+        byte[] entry = new byte[ENTRY_BYTES];
+        for (int i = 0; i < 81; i++)
+        {
+            entry[i] = result.puzzle.values[i];
+            entry[81 + i] = (byte) result.solution[i / 9][i % 9];
+        }
+        ready.addFirst(entry);
+        bytes += ENTRY_OVERHEAD + ENTRY_BYTES;
+        changed = true;
+        generated++;
+    }
+
+    /**
+     * @return true if a seed that puzzles were derived from was removed from ready
+     */
+    private boolean removeMostUsedSeed(ArrayDeque<byte[]> ready)
+    {
+        byte[] mostUsed = null;
+        for (byte[] entry : ready)
+        {
+            if (entry[PUZZLE_BYTES] > 0 && (mostUsed == null || entry[PUZZLE_BYTES] > mostUsed[PUZZLE_BYTES])) mostUsed = entry;
+        }
+        if (mostUsed == null) return false;
+        ready.remove(mostUsed);
+        bytes -= ENTRY_OVERHEAD + ENTRY_BYTES;
+        return true;
+    }
+
+    /**
+     * @return the most recently used setting that needs more puzzles that nothing has been derived from,
+     * or null if the pool is full of those
+     */
+    synchronized Key nextKeyToRefill()
+    {
+        int puzzlesPerSetting = getPuzzlesPerSetting();
+        long maxBytes = getMaxBytes();
+        evict(puzzlesPerSetting, maxBytes);
+        boolean hasRoom = bytes + ENTRY_OVERHEAD + ENTRY_BYTES <= maxBytes;
+        retries.keySet().retainAll(puzzles.keySet());
+        long now = System.nanoTime();
+
+        Key next = null;
+        for (Map.Entry<Key, ArrayDeque<byte[]>> entry : puzzles.entrySet()) // iterating doesn't change the access order
+        {
+            long[] retry = retries.get(entry.getKey());
+            if (retry != null && now - retry[0] < 0) continue;
+            int fresh = 0;
+            boolean hasSeed = false;
+            for (byte[] puzzle : entry.getValue())
+            {
+                if (puzzle[PUZZLE_BYTES] == 0) fresh++;
+                else hasSeed = true;
+            }
+            if (fresh < puzzlesPerSetting && ((hasRoom && entry.getValue().size() < puzzlesPerSetting) || hasSeed)) next = entry.getKey();
+        }
+        return next;
+    }
+
+    /**
+     * Makes the setting wait before it is refilled again, twice as long as the last time if its last refill gave up too
+     */
+    synchronized void refillGaveUp(Key key)
+    {
+        long[] retry = retries.get(key);
+        long delay = retry == null ? FIRST_RETRY_DELAY_MILLIS : Math.min(retry[1] * 2, MAX_RETRY_DELAY_MILLIS);
+        retries.put(key, new long[] { System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay), delay });
+    }
+
+    /**
+     * Drops the puzzles over puzzlesPerSetting and maxBytes, and the settings over MAX_SETTINGS, the least recently used first
+     */
+    private void evict(int puzzlesPerSetting, long maxBytes)
+    {
+        for (ArrayDeque<byte[]> ready : puzzles.values())
+        {
+            while (ready.size() > puzzlesPerSetting)
+            {
+                ready.pollLast();
+                bytes -= ENTRY_OVERHEAD + ENTRY_BYTES;
+                changed = true;
+            }
+        }
+
+        Iterator<ArrayDeque<byte[]>> iterator = puzzles.values().iterator();
+        while ((bytes > maxBytes || puzzles.size() > MAX_SETTINGS) && iterator.hasNext())
+        {
+            bytes -= (long) iterator.next().size() * (ENTRY_OVERHEAD + ENTRY_BYTES);
+            iterator.remove();
+            changed = true;
+        }
+    }
+
+    /**
+     * Starts the background thread, which loads the pool from file, if it exists, and then keeps it filled
+     * @param file can be null
+     */
+    void startRefilling(File file)
+    {
+        refillThread = new Thread(() ->
+        {
+            if (file != null && file.exists())
+            {
+                try
+                {
+                    load(file);
+                }
+                catch (IOException e)
+                {
+                    if (Application.exceptionLogger != null) Application.exceptionLogger.log(Level.WARNING, "Could not load the puzzle pool from " + file, e);
+                }
+            }
+
+            try
+            {
+                Thread.sleep(STARTUP_DELAY_MILLIS);
+                while (!stopped)
+                {
+                    refillOne();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                // stopped
+            }
+            catch (RuntimeException e)
+            {
+                if (Application.exceptionLogger != null) Application.exceptionLogger.log(Level.WARNING, "Puzzle pool stopped refilling", e);
+            }
+        }, "Puzzle Pool Refill");
+        refillThread.setDaemon(true);
+        refillThread.setPriority(Thread.MIN_PRIORITY);
+        refillThread.start();
+    }
+
+    /**
+     * Generates one puzzle for the setting that needs it most, giving up after REFILL_BUDGET_MILLIS,
+     * or waits a while if there is nothing to do or the Generator dialog is generating
+     */
+    void refillOne() throws InterruptedException
+    {
+        GenerationService service = GenerationService.getShared();
+        Key key = service.isBusy() ? null : nextKeyToRefill();
+        if (key == null)
+        {
+            synchronized (this)
+            {
+                wait(IDLE_WAIT_MILLIS);
+            }
+            return;
+        }
+
+        BooleanSupplier interrupted = () -> stopped || service.isBusy();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REFILL_BUDGET_MILLIS);
+        PuzzleGenerator.Result result = key.newGenerator(random).setCancelled(() -> interrupted.getAsBoolean() || System.nanoTime() - deadline > 0).generate();
+        if (result != null) add(key, result);
+        else if (!interrupted.getAsBoolean()) refillGaveUp(key); // out of time, or the generator gave up on the settings
+    }
+
+    /**
+     * Stops the background thread, the puzzles in the pool can still be taken
+     */
+    public void stopRefilling()
+    {
+        stopped = true;
+        if (refillThread != null) refillThread.interrupt();
+    }
+
+    public synchronized int size()
+    {
+        int size = 0;
+        for (ArrayDeque<byte[]> ready : puzzles.values())
+        {
+            size += ready.size();
+        }
+        return size;
+    }
+
+    public synchronized void clear()
+    {
+        puzzles.clear();
+        retries.clear();
+        bytes = 0;
+        changed = true;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return String.format("%,d puzzles for %,d settings, %,d bytes, %,d hits, %,d misses, %,d generated, %,d derived", size(), puzzles.size(), bytes, hits, misses, generated, derived);
+    }
+
+    /**
+     * Adds the settings and puzzles saved in file, the least recently used setting first.
+     * Only settings that had puzzles are saved, so settings that were never met don't come back.
+     */
+    public synchronized void load(File file) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+        {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) throw new IOException("Not a puzzle pool file of version " + FILE_VERSION);
+            int settingCount = in.readInt();
+            for (int k = 0; k < settingCount; k++)
+            {
+                Key key = new Key(in.readInt(), in.readInt(), in.readBoolean(), in.readLong(), in.readLong(), readBand(in));
+                int count = in.readInt();
+                ArrayDeque<byte[]> ready = new ArrayDeque<>(count);
+                for (int p = 0; p < count; p++)
+                {
+                    byte[] entry = new byte[ENTRY_BYTES];
+                    in.readFully(entry);
+                    ready.addLast(entry);
+                }
+                ArrayDeque<byte[]> replaced = puzzles.put(key, ready);
+                if (replaced != null) bytes -= (long) replaced.size() * (ENTRY_OVERHEAD + ENTRY_BYTES);
+                bytes += (long) count * (ENTRY_OVERHEAD + ENTRY_BYTES);
+            }
+        }
+        evict(getPuzzlesPerSetting(), getMaxBytes());
+        changed = false;
+    }
+
+    /**
+     * @return the band written by writeBand()
+     */
+    static DifficultyRater.Band readBand(DataInputStream in) throws IOException
+    {
+        if (!in.readBoolean()) return null;
+        int min = in.readByte();
+        int max = in.readByte();
+        Difficulty[] difficulties = Difficulty.values();
+        if (min >= difficulties.length || max >= difficulties.length) throw new IOException("Unknown difficulty " + Math.max(min, max));
+        return new DifficultyRater.Band(min < 0 ? null : difficulties[min], max < 0 ? null : difficulties[max], in.readInt(), in.readInt());
+    }
+
+    static void writeBand(DataOutputStream out, DifficultyRater.Band band) throws IOException
+    {
+        out.writeBoolean(band != null);
+        if (band == null) return;
+        out.writeByte(band.minDifficulty == null ? -1 : band.minDifficulty.ordinal());
+        out.writeByte(band.maxDifficulty == null ? -1 : band.maxDifficulty.ordinal());
+        out.writeInt(band.minScore);
+        out.writeInt(band.maxScore);
+    }
+
+    public synchronized void save(File file) throws IOException
+    {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+        {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            int settingCount = 0;
+            for (ArrayDeque<byte[]> ready : puzzles.values())
+            {
+                if (!ready.isEmpty()) settingCount++;
+            }
+            out.writeInt(settingCount);
+            for (Map.Entry<Key, ArrayDeque<byte[]>> entry : puzzles.entrySet())
+            {
+                if (entry.getValue().isEmpty()) continue;
+                Key key = entry.getKey();
+                out.writeInt(key.minClues);
+                out.writeInt(key.maxClues);
+                out.writeBoolean(key.symmetric);
+                out.writeLong(key.requiredLow);
+                out.writeLong(key.requiredHigh);
+                writeBand(out, key.band);
+                out.writeInt(entry.getValue().size());
+                for (byte[] puzzle : entry.getValue())
+                {
+                    out.write(puzzle);
+                }
+            }
+        }
+        changed = false;
+    }
+}
@@ -1,8 +1,10 @@
 package com.github.shayna003.sudoker.prefs;
 
 import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.generator.PuzzlePool;
 import com.github.shayna003.sudoker.prefs.components.PrefsButtonGroup;
 import com.github.shayna003.sudoker.prefs.components.PrefsCheckBox;
+import com.github.shayna003.sudoker.prefs.components.PrefsComboBox;
 import com.github.shayna003.sudoker.prefs.components.PrefsNumberSpinner;
 import com.github.shayna003.sudoker.solver.*;
 import com.github.shayna003.sudoker.swingComponents.GBC;
@@ -29,6 +31,11 @@ public class SolverSettingsPanel extends JPanel implements SettingsPanel
 	public SolvingTechniqueTree modelSolvingTree; // all other SolvingTechniqueTrees are created by cloning this tree
 	public PrefsNumberSpinner maxSolutionsForSolveAll;
 	public PrefsCheckBox clearSolverOutputWhenAppendingMessage;
+	public PrefsCheckBox persistSolutionCache;
+	public PrefsNumberSpinner puzzlePoolSize; // puzzles generated ahead of time for each generator setting, see PuzzlePool
+	public PrefsNumberSpinner puzzlePoolMaxKB;
+	public PrefsComboBox<String> solverEngineCombo; // names of the engines in SolverEngines, or SolverEngines.AUTO
+	JLabel autoSelectedEngineLabel;
 
 	// for "returnFirst" in Solver
 	public JRadioButton returnFirstMatch;
@@ -52,6 +59,23 @@ public class SolverSettingsPanel extends JPanel implements SettingsPanel
 		maxSolutionsForSolveAll = new PrefsNumberSpinner("maxSolutionsForSolveAll", 2, 10_0000, 10, 500, null, 5);
 
 		clearSolverOutputWhenAppendingMessage = new PrefsCheckBox("clearSolverOutputBeforeAppend", "Clear Solver Output When Adding New Messages", true);
+		persistSolutionCache = new PrefsCheckBox("persistSolutionCache", "Remember Solutions and Solution Counts Between Sessions", true);
+		persistSolutionCache.setToolTipText("Saves the solutions and solution counts found to " + SolutionCache.FILE_NAME + " in the saved data folder");
+
+		puzzlePoolSize = new PrefsNumberSpinner("puzzlePoolSize", 0, 1000, 1, PuzzlePool.DEFAULT_PUZZLES_PER_SETTING, null, 4);
+		puzzlePoolSize.setToolTipText("Puzzles are generated in the background for the generator settings used recently, so that Generate can return one right away. 0 turns this off.");
+		puzzlePoolMaxKB = new PrefsNumberSpinner("puzzlePoolMaxKB", 16, 64 * 1024, 64, PuzzlePool.DEFAULT_MAX_KB, null, 5);
+		puzzlePoolMaxKB.setToolTipText("The most memory used by the pre-generated puzzles, which are saved to " + PuzzlePool.FILE_NAME + " in the saved data folder");
+
+		solverEngineCombo = new PrefsComboBox<>("solverEngine", s -> s.equals(SolverEngines.AUTO));
+		solverEngineCombo.addItem(SolverEngines.AUTO);
+		for (SolverEngine engine : SolverEngines.getEngines())
+		{
+			solverEngineCombo.addItem(engine.getName());
+		}
+		solverEngineCombo.setToolTipText("Used by Quick Solve, Check Validity Fully and the generator. " + SolverEngines.AUTO + " times each engine when the application starts and uses the fastest.");
+		autoSelectedEngineLabel = new JLabel();
+		solverEngineCombo.addActionListener(event -> selectSolverEngine());
 
 		JButton setToDefault = new JButton("Set to Default Order and State");
 		setToDefault.addActionListener(event ->
@@ -75,17 +99,52 @@ public class SolverSettingsPanel extends JPanel implements SettingsPanel
 		contentPanel.add(new JLabel("Maximum number of solutions to look for in \"Solution Count\": "), new GBC(0, 1, 2, 1).setAnchor(GBC.WEST));
 		contentPanel.add(maxSolutionsForSolveAll, new GBC(2, 1));
 
-		contentPanel.add(new JLabel("For each Solving Technique in Take Step:"), new GBC(0, 2, 2, 1).setAnchor(GBC.WEST));
-		contentPanel.add(returnFirstMatch, new GBC(0, 3).setAnchor(GBC.WEST));
-		contentPanel.add(findAllCases, new GBC(1, 3).setAnchor(GBC.WEST));
+		contentPanel.add(persistSolutionCache, new GBC(0, 2, 2, 1).setAnchor(GBC.WEST));
+
+		contentPanel.add(new JLabel("Solver Engine: "), new GBC(0, 3).setAnchor(GBC.WEST));
+		contentPanel.add(solverEngineCombo, new GBC(1, 3).setAnchor(GBC.WEST));
+		contentPanel.add(autoSelectedEngineLabel, new GBC(2, 3).setAnchor(GBC.WEST));
+
+		contentPanel.add(new JLabel("Pre-generated puzzles for each generator setting: "), new GBC(0, 4, 2, 1).setAnchor(GBC.WEST));
+		contentPanel.add(puzzlePoolSize, new GBC(2, 4));
+		contentPanel.add(new JLabel("Maximum memory for pre-generated puzzles in KB: "), new GBC(0, 5, 2, 1).setAnchor(GBC.WEST));
+		contentPanel.add(puzzlePoolMaxKB, new GBC(2, 5));
+
+		contentPanel.add(new JLabel("For each Solving Technique in Take Step:"), new GBC(0, 6, 2, 1).setAnchor(GBC.WEST));
+		contentPanel.add(returnFirstMatch, new GBC(0, 7).setAnchor(GBC.WEST));
+		contentPanel.add(findAllCases, new GBC(1, 7).setAnchor(GBC.WEST));
 
 		setLayout(new BorderLayout());
 		add(contentPanel, BorderLayout.NORTH);
 		add(modelSolvingTreePanel, BorderLayout.CENTER);
 		
 		loadSettings(settingsFile);
+		selectSolverEngine(); // the saved engine might not be in the list any more, then nothing was selected while loading
 		initializing = false;
 	}
+
+	/**
+	 * Makes the engine of solverEngineCombo the one used by the solver, for Auto this starts timing the engines
+	 */
+	void selectSolverEngine()
+	{
+		String name = (String) solverEngineCombo.getSelectedItem();
+		if (name == null) return;
+		SolverEngines.select(name);
+		if (!name.equals(SolverEngines.AUTO))
+		{
+			autoSelectedEngineLabel.setText("");
+			return;
+		}
+
+		autoSelectedEngineLabel.setText("(timing engines...)");
+		SolverEngines.startAutoSelection().whenComplete((engine, exception) -> SwingUtilities.invokeLater(() ->
+		{
+			if (!SolverEngines.AUTO.equals(solverEngineCombo.getSelectedItem())) return;
+			if (engine == null) autoSelectedEngineLabel.setText("(could not time engines, using " + SolverEngines.getSelected().getName() + ")");
+			else autoSelectedEngineLabel.setText("(using " + engine.getName() + ")");
+		}));
+	}
 	
 	public void loadSettings(SingleSettingsFile settingsFile)
 	{
@@ -95,6 +154,10 @@ public class SolverSettingsPanel extends JPanel implements SettingsPanel
 		maxSolutionsForSolveAll.loadSettings(settingsFile.node);
 		returnFirstButtonGroup.loadSettings(settingsFile.node);
 		clearSolverOutputWhenAppendingMessage.loadSettings(settingsFile.node);
+		persistSolutionCache.loadSettings(settingsFile.node);
+		puzzlePoolSize.loadSettings(settingsFile.node);
+		puzzlePoolMaxKB.loadSettings(settingsFile.node);
+		solverEngineCombo.loadSettings(settingsFile.node);
 	}
 	
 	public void saveSettings(SingleSettingsFile settingsFile, boolean saveToFile)
@@ -105,6 +168,10 @@ public class SolverSettingsPanel extends JPanel implements SettingsPanel
 		maxSolutionsForSolveAll.saveSettings(settingsFile.node);
 		returnFirstButtonGroup.saveSettings(settingsFile.node);
 		clearSolverOutputWhenAppendingMessage.saveSettings(settingsFile.node);
+		persistSolutionCache.saveSettings(settingsFile.node);
+		puzzlePoolSize.saveSettings(settingsFile.node);
+		puzzlePoolMaxKB.saveSettings(settingsFile.node);
+		solverEngineCombo.saveSettings(settingsFile.node);
 		
 		if (saveToFile) settingsFile.save();
 	}
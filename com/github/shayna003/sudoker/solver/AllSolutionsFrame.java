@@ -12,7 +12,6 @@ import com.github.shayna003.sudoker.util.IO;
 import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableColumn;
-import javax.swing.table.TableModel;
 import java.awt.*;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
@@ -20,7 +19,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.awt.geom.Rectangle2D;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @since 5-23-2021
@@ -48,6 +47,7 @@ public class AllSolutionsFrame extends JFrame
             @Override
             public void actionPerformed(ActionEvent e)
             {
+                getSelectedTab().stopSearching();
                 tabbedPane.remove(tabbedPane.getSelectedIndex());
             }
         };
@@ -157,21 +157,47 @@ public class AllSolutionsFrame extends JFrame
         return (AllSolutionsTab) tabbedPane.getSelectedComponent();
     }
 
-    public void addTab(SudokuTab tab, ArrayList<int[][]> data)
+    public void addTab(SudokuTab tab, List<int[][]> data)
     {
-        tabbedPane.addTab("All Solutions for " +  tab.getName(), new AllSolutionsTab(tab, data));
+        addTab(tab, new AllSolutionsTab(tab, data));
+    }
+
+    /**
+     * Adds a tab that shows the progress of a running search, and the solutions as they are added to solutions,
+     * until showSolutions is called on it
+     */
+    public AllSolutionsTab addTab(SudokuTab tab, SolveRequest request, PackedSolutions solutions)
+    {
+        AllSolutionsTab solutionsTab = new AllSolutionsTab(tab, request, solutions);
+        addTab(tab, solutionsTab);
+        return solutionsTab;
+    }
+
+    void addTab(SudokuTab tab, AllSolutionsTab solutionsTab)
+    {
+        tabbedPane.addTab("All Solutions for " +  tab.getName(), solutionsTab);
         tabbedPane.setSelectedIndex(tabbedPane.getTabCount() - 1);
         if (tabbedPane.getTabCount() == 1) pack();
     }
 
+    void removeTab(AllSolutionsTab solutionsTab)
+    {
+        tabbedPane.remove(solutionsTab);
+    }
+
     class AllSolutionsTab extends JPanel
     {
         JPopupMenu popupMenu;
         SudokuTab tab;
-        ArrayList<int[][]> data;
+        List<int[][]> data; // a PackedSolutions while the search is running, solutions are unpacked only when their row is painted
+        int rowCount; // the solutions of data shown in the table, rows are added as solutions are found
         AllSolutionsTable table;
         JLabel label;
 
+        // while solutions are still being searched for
+        SolveRequest request;
+        JButton stopButton;
+
         public String getName()
         {
             return tab.owner.getTitle() + " " +  tab.getName();
@@ -183,12 +209,28 @@ public class AllSolutionsFrame extends JFrame
             else return new Sudoku(GridUtil.copyOf(data.get(table.getSelectedRow())));
         }
 
-        public AllSolutionsTab(SudokuTab tab, ArrayList<int[][]> data)
+        public AllSolutionsTab(SudokuTab tab, List<int[][]> data)
+        {
+            this(tab, data, null);
+            showSolutions(data, (Integer) Application.solverSettingsPanel.maxSolutionsForSolveAll.getValue(), null);
+        }
+
+        /**
+         * Makes an empty tab for a search that is still running
+         */
+        public AllSolutionsTab(SudokuTab tab, SolveRequest request, PackedSolutions solutions)
+        {
+            this(tab, solutions, request);
+            label.setText("Searching for solutions...");
+        }
+
+        private AllSolutionsTab(SudokuTab tab, List<int[][]> data, SolveRequest request)
         {
             super(new BorderLayout());
 
             this.tab = tab;
             this.data = data;
+            this.request = request;
             table = new AllSolutionsTable();
 
             popupMenu = new JPopupMenu();
@@ -205,32 +247,109 @@ public class AllSolutionsFrame extends JFrame
             popupMenu.add(maxSolutionSettings);
             table.setComponentPopupMenu(popupMenu);
 
-            if (data.size() > (Integer) Application.solverSettingsPanel.maxSolutionsForSolveAll.getValue())
-            {
-                data.remove(data.size() - 1);
-                int max = (Integer) Application.solverSettingsPanel.maxSolutionsForSolveAll.getValue();
-                label = new JLabel("More than " + max + " Solutions Found, here are the first " + max + ":");
-            }
-            else if (data.size() == 1)
-            {
-                label = new JLabel("Only 1 Solution Found:");
-            }
-            else
+            label = new JLabel();
+            JPanel northPanel = new JPanel(new BorderLayout());
+            northPanel.add(label, BorderLayout.CENTER);
+            if (request != null)
             {
-                label = new JLabel(data.size() + " Total Solutions Found:");
+                stopButton = new JButton("Stop");
+                stopButton.setToolTipText("Stop searching and show the solutions found so far");
+                stopButton.addActionListener(event -> stopSearching());
+                northPanel.add(stopButton, BorderLayout.EAST);
             }
 
             JScrollPane pane = new JScrollPane(table);
             // doesn't work
             // pane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_ALWAYS);
             // pane.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS);
-            add(label, BorderLayout.NORTH);
+            add(northPanel, BorderLayout.NORTH);
             add(pane, BorderLayout.CENTER);
         }
 
+        /**
+         * Cancels the search of this tab if it is still running
+         */
+        void stopSearching()
+        {
+            if (request != null)
+            {
+                request.cancel();
+                stopButton.setEnabled(false);
+            }
+        }
+
+        /**
+         * Called on the event dispatch thread while the search is running
+         */
+        void showProgress(long nodesVisited, int solutionsFound)
+        {
+            if (request == null) return;
+            label.setText("Searching for solutions: " + SolverPanel.getProgressString(request, nodesVisited, solutionsFound));
+            showNewRows(request.maxSolutions);
+        }
+
+        /**
+         * Adds rows for the solutions added to data since the last call, keeping the selection
+         * @param maxRows if data has more solutions than this, the rest are not shown
+         */
+        void showNewRows(int maxRows)
+        {
+            int available = Math.min(data.size(), maxRows);
+            if (available <= rowCount) return;
+            int first = rowCount;
+            rowCount = available;
+            table.model.fireTableRowsInserted(first, available - 1);
+            if (String.valueOf(available).length() != String.valueOf(first).length()) table.updateNumberColumnWidth();
+        }
+
+        /**
+         * Shows the solutions of a finished search
+         * @param maxSolutions if there are more solutions than this, the last one is only there to show that there are more
+         * @param request the request of the finished search, or null
+         */
+        void showSolutions(List<int[][]> solutions, int maxSolutions, SolveRequest request)
+        {
+            if (solutions == data)
+            {
+                showNewRows(maxSolutions);
+            }
+            else
+            {
+                data = solutions;
+                rowCount = Math.min(data.size(), maxSolutions);
+                table.model.fireTableDataChanged();
+            }
+
+            if (data.size() > maxSolutions)
+            {
+                label.setText("More than " + maxSolutions + " Solutions Found, here are the first " + maxSolutions + ":");
+            }
+            else if (request != null && request.stoppedEarly())
+            {
+                label.setText("Search " + SolverPanel.getStopReason(request) + ", " + rowCount + " Solutions Found so far:");
+            }
+            else if (rowCount == 1)
+            {
+                label.setText("Only 1 Solution Found:");
+            }
+            else
+            {
+                label.setText(rowCount + " Total Solutions Found:");
+            }
+
+            if (stopButton != null)
+            {
+                stopButton.getParent().remove(stopButton);
+                stopButton = null;
+            }
+            this.request = null;
+            table.updateNumberColumnWidth();
+            revalidate();
+        }
+
         class AllSolutionsTable extends JTable
         {
-            TableModel model;
+            AbstractTableModel model;
 
             public AllSolutionsTable()
             {
@@ -239,7 +358,7 @@ public class AllSolutionsFrame extends JFrame
                     @Override
                     public int getRowCount()
                     {
-                        return data.size();
+                        return rowCount;
                     }
 
                     @Override
@@ -271,7 +390,12 @@ public class AllSolutionsFrame extends JFrame
                 });
 
                 getSelectionModel().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-                Rectangle2D bounds = getFont().getStringBounds(String.valueOf(data.size()), getFontMetrics(getFont()).getFontRenderContext());
+                updateNumberColumnWidth();
+            }
+
+            void updateNumberColumnWidth()
+            {
+                Rectangle2D bounds = getFont().getStringBounds(String.valueOf(rowCount), getFontMetrics(getFont()).getFontRenderContext());
                 TableColumn c = getColumn("#");
                 int preferredWidthForNameColumn = (int) (bounds.getWidth() * 1.1 + 5);
                 c.setPreferredWidth(preferredWidthForNameColumn);
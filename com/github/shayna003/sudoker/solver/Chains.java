@@ -0,0 +1,270 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.Topology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static com.github.shayna003.sudoker.solver.LinkGraph.*;
+
+/**
+ * Finds simple colouring, X-chains and alternating inference chains on the link graph of the thread.
+ * A chain alternates strong and weak links and starts and ends with a strong link,
+ * so if its first candidate is false its last one is true, and a candidate weakly linked to both ends is false.
+ * An X-chain only uses the conjugate pairs and peers of one digit, an alternating inference chain also uses the candidates of a cell.
+ * Simple colouring colours the candidates of one digit joined by conjugate pairs with 2 colours,
+ * one of which is all true and the other all false.
+ *
+ * Chains are searched breadth first from each candidate, so the shortest chain from a candidate is found first.
+ * @since 10-17-2026
+ */
+public class Chains
+{
+    static final int MAX_LINKS = 15; // longest chain searched for
+    static final int SEPARATOR = -1; // between the 2 colours in the chain of a colouring finding
+
+    static Results simpleColouring(Sudoku sudoku, TechniqueOptions options)
+    {
+        LinkGraph graph = LinkGraph.forCurrentThread();
+        graph.build(sudoku);
+        Sudoku sudokuCopy = sudoku.clone();
+        Results solveResults = new Results(sudokuCopy, 0, new ArrayList<Finding>(), SolvingTechnique.SIMPLE_COLOURING);
+        int[] eliminateResults = new int[3];
+
+        int[] links = new int[4];
+        int[] cluster = new int[81];
+        int[] colours = new int[81]; // 0 if not coloured, else 2 * the number of the cluster, + 1 for its second colour
+        for (int d = 1; d <= 9; d++)
+        {
+            if (!options.searchesDigit(d)) continue;
+            Arrays.fill(colours, 0);
+            int clusterCount = 0;
+            for (int start = 0; start < 81; start++)
+            {
+                if (colours[start] != 0 || graph.getStrongLinks(node(start, d), links, true) == 0) continue;
+                clusterCount++;
+                int on = clusterCount * 2;
+                int size = 0;
+                cluster[size++] = start;
+                colours[start] = on;
+                for (int k = 0; k < size; k++)
+                {
+                    int count = graph.getStrongLinks(node(cluster[k], d), links, true);
+                    for (int i = 0; i < count; i++)
+                    {
+                        int other = cellOf(links[i]);
+                        if (colours[other] != 0) continue;
+                        colours[other] = colours[cluster[k]] ^ 1;
+                        cluster[size++] = other;
+                    }
+                }
+
+                colourCluster(graph, solveResults, options, eliminateResults, d, Arrays.copyOf(cluster, size), colours, on);
+                if (options.returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return solveResults;
+                if (options.returnFirst && solveResults.found > 0) return solveResults;
+            }
+        }
+        return solveResults;
+    }
+
+    /**
+     * If 2 cells of a colour see each other, that colour is false (colour wrap),
+     * else candidates that see both colours are false (colour trap)
+     * @param on the first colour of the cluster, on + 1 is the second
+     */
+    static void colourCluster(LinkGraph graph, Results solveResults, TechniqueOptions options, int[] eliminateResults, int d, int[] cluster, int[] colours, int on)
+    {
+        int[] eliminated = new int[3];
+        int falseColour = -1;
+        for (int i = 0; i < cluster.length && falseColour < 0; i++)
+        {
+            for (int j = i + 1; j < cluster.length; j++)
+            {
+                if (colours[cluster[i]] == colours[cluster[j]] && Topology.isPeer(cluster[i], cluster[j]))
+                {
+                    falseColour = colours[cluster[i]];
+                    break;
+                }
+            }
+        }
+
+        if (falseColour >= 0)
+        {
+            for (int cell : cluster)
+            {
+                if (colours[cell] == falseColour) graph.eliminate(solveResults.sudoku, cell, d, options, eliminated);
+            }
+        }
+        else
+        {
+            for (int target = 0; target < 81; target++)
+            {
+                if ((colours[target] | 1) == (on | 1) || !graph.hasCandidate(target, d)) continue;
+                boolean seesOn = false;
+                boolean seesOff = false;
+                for (int p = target * Topology.PEER_COUNT; p < (target + 1) * Topology.PEER_COUNT; p++)
+                {
+                    int colour = colours[Topology.PEERS[p]];
+                    if (colour == on) seesOn = true;
+                    else if (colour == on + 1) seesOff = true;
+                }
+                if (seesOn && seesOff)
+                {
+                    graph.eliminate(solveResults.sudoku, target, d, options, eliminated);
+                    if (options.returnIfInvalid && eliminated[Solver.VALIDITY_INDEX] < 0) break;
+                }
+            }
+        }
+
+        int first = falseColour >= 0 ? falseColour : on;
+        int[] chain = new int[cluster.length + 1];
+        int k = 0;
+        for (int cell : cluster)
+        {
+            if (colours[cell] == first) chain[k++] = node(cell, d);
+        }
+        chain[k++] = SEPARATOR;
+        for (int cell : cluster)
+        {
+            if (colours[cell] != first) chain[k++] = node(cell, d);
+        }
+        addFinding(solveResults, options, eliminateResults, eliminated, falseColour >= 0 ? Finding.Kind.COLOUR_WRAP : Finding.Kind.COLOUR_TRAP, chain);
+    }
+
+    static Results xChain(Sudoku sudoku, TechniqueOptions options)
+    {
+        return search(sudoku, options, true, SolvingTechnique.X_CHAIN, Finding.Kind.X_CHAIN);
+    }
+
+    static Results alternatingInferenceChain(Sudoku sudoku, TechniqueOptions options)
+    {
+        return search(sudoku, options, false, SolvingTechnique.ALTERNATING_INFERENCE_CHAIN, Finding.Kind.ALTERNATING_CHAIN);
+    }
+
+    /**
+     * Searches chains of at least 3 links from every candidate that has a strong link
+     * @param singleDigit if true, only the links between candidates of one digit are used
+     */
+    static Results search(Sudoku sudoku, TechniqueOptions options, boolean singleDigit, SolvingTechnique technique, Finding.Kind kind)
+    {
+        LinkGraph graph = LinkGraph.forCurrentThread();
+        graph.build(sudoku);
+        Sudoku sudokuCopy = sudoku.clone();
+        Results solveResults = new Results(sudokuCopy, 0, new ArrayList<Finding>(), technique);
+        int[] eliminateResults = new int[3];
+
+        // a state is a candidate * 2, + 1 if it was reached by a strong link so the next link is weak
+        int[] parents = new int[NODE_COUNT * 2];
+        int[] lengths = new int[NODE_COUNT * 2];
+        int[] visited = new int[NODE_COUNT * 2]; // the search that last reached each state
+        int[] queue = new int[NODE_COUNT * 2];
+        int[] links = new int[28];
+        int[] targets = new int[28];
+
+        // for single digit chains, search one digit at a time so that the chains of easier digits come first
+        for (int digit = singleDigit ? 1 : 0; digit <= (singleDigit ? 9 : 0); digit++)
+        {
+            if (singleDigit && !options.searchesDigit(digit)) continue;
+            for (int start = 0; start < NODE_COUNT; start++)
+            {
+                if (singleDigit && digitOf(start) != digit) continue;
+                if (graph.getStrongLinks(start, links, singleDigit) == 0) continue;
+                int search = start + 1;
+
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = start * 2;
+                visited[start * 2] = search;
+                parents[start * 2] = -1;
+                lengths[start * 2] = 0;
+                searching:
+                while (head < tail)
+                {
+                    int state = queue[head++];
+                    if (lengths[state] >= MAX_LINKS) continue;
+                    boolean strong = (state & 1) == 0;
+                    int count = strong ? graph.getStrongLinks(state >> 1, links, singleDigit) : graph.getWeakLinks(state >> 1, links, singleDigit);
+
+                    for (int i = 0; i < count; i++)
+                    {
+                        int next = links[i] * 2 + (strong ? 1 : 0);
+                        if (visited[next] == search) continue;
+                        visited[next] = search;
+                        parents[next] = state;
+                        lengths[next] = lengths[state] + 1;
+                        queue[tail++] = next;
+
+                        if (strong && links[i] != start && lengths[next] >= 3)
+                        {
+                            int targetCount = getTargets(graph, start, links[i], targets);
+                            if (targetCount == 0) continue;
+
+                            int[] chain = new int[lengths[next] + 1];
+                            for (int s = next, k = chain.length - 1; s >= 0; s = parents[s], k--)
+                            {
+                                chain[k] = s >> 1;
+                            }
+                            int[] eliminated = new int[3];
+                            for (int t = 0; t < targetCount; t++)
+                            {
+                                graph.eliminate(solveResults.sudoku, cellOf(targets[t]), digitOf(targets[t]), options, eliminated);
+                                if (options.returnIfInvalid && eliminated[Solver.VALIDITY_INDEX] < 0) break;
+                            }
+                            addFinding(solveResults, options, eliminateResults, eliminated, kind, chain);
+
+                            if (options.returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return solveResults;
+                            if (options.returnFirst && solveResults.found > 0) return solveResults;
+                            break searching; // the graph changed
+                        }
+                    }
+                }
+            }
+        }
+        return solveResults;
+    }
+
+    /**
+     * Puts the candidates weakly linked to both ends of a chain into targets
+     * @return the number of targets
+     */
+    static int getTargets(LinkGraph graph, int first, int last, int[] targets)
+    {
+        int count = graph.getWeakLinks(last, targets, false);
+        int k = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if (targets[i] != first && isWeaklyLinked(targets[i], first)) targets[k++] = targets[i];
+        }
+        return k;
+    }
+
+    /**
+     * Adds up the eliminations of a match, and records the match if it eliminated something
+     * @param chain the candidates of the match, they are highlighted if they are still there
+     */
+    static void addFinding(Results solveResults, TechniqueOptions options, int[] eliminateResults, int[] eliminated, Finding.Kind kind, int[] chain)
+    {
+        eliminateResults[0] += eliminated[0];
+        eliminateResults[1] += eliminated[1];
+        eliminateResults[2] += eliminated[2];
+        if (eliminated[Solver.ELIMINATED_INDEX] == 0) return;
+
+        // found it
+        solveResults.found++;
+        if (options.solverHighlights != null)
+        {
+            for (int node : chain)
+            {
+                if (node == SEPARATOR) continue;
+                int r = Topology.ROW_OF[cellOf(node)];
+                int c = Topology.COLUMN_OF[cellOf(node)];
+                if (solveResults.sudoku.grid[r][c][digitOf(node) - 1] > 0) options.solverHighlights[r][c][digitOf(node) - 1] = SolverPanel.ONLY_CANDIDATE;
+            }
+        }
+        if (options.recordFindings)
+        {
+            solveResults.findings.add(new Finding(kind, chain, eliminated[Solver.ELIMINATED_INDEX]));
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.Checker;
+
+import java.util.*;
+
+/**
+ * Rates how hard a whole puzzle is to solve by logic, without a GUI.
+ * Solves the puzzle step by step, each step using the easiest technique that makes progress,
+ * until the puzzle is solved or no technique applies.
+ * The rating is the weight of the hardest technique needed, and then the total weight of all the steps,
+ * so a puzzle that needs a harder technique always rates higher, and among puzzles that need the same techniques,
+ * the one that needs more of them rates higher.
+ * A puzzle the techniques can't finish needs guessing, and rates above all of those that they can.
+ *
+ * An instance is not thread safe, use forCurrentThread() to get one per thread.
+ * @since 10-17-2026
+ */
+public class DifficultyRater
+{
+    /**
+     * Weight of a puzzle that the techniques can't solve
+     */
+    public static final int GUESSING_WEIGHT = 100;
+
+    /**
+     * Version of the techniques and weights below, saved with ratings so that ratings made by other versions aren't used.
+     * Increase it whenever a technique is added or removed or a weight changes.
+     */
+    public static final int VERSION = 1;
+
+    // steps after which a rating gives up, far more than any puzzle needs as every step makes progress
+    static final int MAX_STEPS = 81 * 9;
+
+    /**
+     * A technique the rater can use, and how hard it is compared to the others
+     */
+    static class RatedTechnique
+    {
+        final SolvingTechnique technique;
+        final int weight;
+
+        RatedTechnique(SolvingTechnique technique, int weight)
+        {
+            this.technique = technique;
+            this.weight = weight;
+        }
+    }
+
+    // in increasing weight, which is the order they are tried in
+    static final ArrayList<RatedTechnique> techniques = new ArrayList<>();
+
+    static
+    {
+        register(SolvingTechnique.ELIMINATE, 1);
+        register(SolvingTechnique.HIDDEN_SINGLES, 2);
+        register(SolvingTechnique.POINTING_CANDIDATES, 4);
+        register(SolvingTechnique.BOX_LINE_REDUCTION, 4);
+        register(SolvingTechnique.NAKED_PAIRS, 5);
+        register(SolvingTechnique.HIDDEN_PAIRS, 6);
+        register(SolvingTechnique.NAKED_TRIPLES, 7);
+        register(SolvingTechnique.HIDDEN_TRIPLES, 8);
+        register(SolvingTechnique.NAKED_QUADS, 9);
+        register(SolvingTechnique.HIDDEN_QUADS, 10);
+        register(SolvingTechnique.X_WING, 12);
+        register(SolvingTechnique.FINNED_X_WING, 13);
+        register(SolvingTechnique.SWORDFISH, 14);
+        register(SolvingTechnique.FINNED_SWORDFISH, 15);
+        register(SolvingTechnique.JELLYFISH, 16);
+        register(SolvingTechnique.FINNED_JELLYFISH, 17);
+        register(SolvingTechnique.SIMPLE_COLOURING, 18);
+        register(SolvingTechnique.XY_WING, 20);
+        register(SolvingTechnique.XYZ_WING, 22);
+        register(SolvingTechnique.W_WING, 24);
+        register(SolvingTechnique.X_CHAIN, 30);
+        register(SolvingTechnique.ALTERNATING_INFERENCE_CHAIN, 40);
+    }
+
+    /**
+     * Adds a technique for the rater to use, keeping the techniques sorted by weight
+     * @param technique must not be a technique group
+     * @param weight must be less than GUESSING_WEIGHT
+     */
+    static synchronized void register(SolvingTechnique technique, int weight)
+    {
+        assert !technique.isTechniqueGroup : technique;
+        assert weight > 0 && weight < GUESSING_WEIGHT : weight;
+        int index = 0;
+        while (index < techniques.size() && techniques.get(index).weight <= weight) index++;
+        techniques.add(index, new RatedTechnique(technique, weight));
+    }
+
+    /**
+     * The ratings a generator wants, by difficulty, by score or both, so that rating can stop as soon as a puzzle is known to be too hard.
+     * The heaviest techniques that are all above the band, e.g. the chains for a band up to Moderate, are never tried:
+     * if the others get stuck, the puzzle is too hard. As the lighter techniques are still tried in the same order,
+     * a rating that isn't stopped is the same as the rating with all techniques.
+     * A puzzle can't be known to be too easy until it is solved.
+     */
+    public static class Band
+    {
+        public final Difficulty minDifficulty; // null for no limit
+        public final Difficulty maxDifficulty; // null for no limit, else puzzles that need guessing are too hard
+        public final int minScore;
+        public final int maxScore;
+
+        public Band(Difficulty minDifficulty, Difficulty maxDifficulty, int minScore, int maxScore)
+        {
+            this.minDifficulty = minDifficulty;
+            this.maxDifficulty = maxDifficulty;
+            this.minScore = minScore;
+            this.maxScore = maxScore;
+        }
+
+        /**
+         * @param min can be null for no limit
+         * @param max can be null for no limit
+         */
+        public static Band ofDifficulty(Difficulty min, Difficulty max)
+        {
+            return new Band(min, max, 0, Integer.MAX_VALUE);
+        }
+
+        /**
+         * @param minScore the lowest score of Rating.getScore() in the band
+         * @param maxScore the highest
+         */
+        public static Band ofScores(int minScore, int maxScore)
+        {
+            return new Band(null, null, minScore, maxScore);
+        }
+
+        /**
+         * @return true if the band limits the score, not only the difficulty
+         */
+        public boolean hasScoreRange()
+        {
+            return minScore != 0 || maxScore != Integer.MAX_VALUE;
+        }
+
+        /**
+         * @return true if score, e.g. of getScore(CompactSudoku), is in the score range of the band
+         */
+        public boolean containsScore(int score)
+        {
+            return score >= minScore && score <= maxScore;
+        }
+
+        /**
+         * @return true if a puzzle whose heaviest technique is t is above the band
+         */
+        boolean isAbove(RatedTechnique t)
+        {
+            return (maxDifficulty != null && t.technique.difficulty.compareTo(maxDifficulty) > 0) || t.weight * 10_000L > maxScore;
+        }
+
+        /**
+         * @return true if the partial rating of a puzzle is already above the band, steps only make it higher
+         */
+        boolean isAbove(Rating rating)
+        {
+            return rating.hardestWeight * 10_000L + Math.min(rating.totalWeight, 9_999) > maxScore;
+        }
+
+        /**
+         * @return true if rating is a complete rating in the band
+         */
+        public boolean contains(Rating rating)
+        {
+            if (rating.stoppedAboveBand || rating.getScore() < minScore || rating.getScore() > maxScore) return false;
+            Difficulty difficulty = rating.getDifficulty();
+            if (difficulty == null) return maxDifficulty == null; // needs guessing
+            return (minDifficulty == null || difficulty.compareTo(minDifficulty) >= 0) && (maxDifficulty == null || difficulty.compareTo(maxDifficulty) <= 0);
+        }
+
+        /**
+         * @return true if rating is a complete rating below the band, then removing more clues might bring the puzzle into it
+         */
+        public boolean isBelow(Rating rating)
+        {
+            if (rating.stoppedAboveBand) return false;
+            if (rating.getScore() < minScore) return true;
+            Difficulty difficulty = rating.getDifficulty();
+            return difficulty != null && minDifficulty != null && difficulty.compareTo(minDifficulty) < 0;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Band)) return false;
+            Band other = (Band) o;
+            return minDifficulty == other.minDifficulty && maxDifficulty == other.maxDifficulty && minScore == other.minScore && maxScore == other.maxScore;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(minDifficulty, maxDifficulty, minScore, maxScore);
+        }
+
+        @Override
+        public String toString()
+        {
+            String difficulty = minDifficulty == maxDifficulty && minDifficulty != null ? minDifficulty.text : (minDifficulty == null ? "Any" : minDifficulty.text) + " to " + (maxDifficulty == null ? "Any" : maxDifficulty.text);
+            return minScore == 0 && maxScore == Integer.MAX_VALUE ? difficulty : difficulty + ", score " + minScore + " to " + maxScore;
+        }
+    }
+
+    /**
+     * The rating of one puzzle
+     */
+    public static class Rating implements Comparable<Rating>
+    {
+        public boolean solved; // false if the techniques got stuck, or the puzzle is invalid
+        public boolean stoppedAboveBand; // the rating stopped once the puzzle was known to be above the band it was rated for
+        public SolvingTechnique hardestTechnique; // null if no technique was needed
+        public int hardestWeight;
+        public int totalWeight;
+        public int steps;
+
+        /**
+         * How many cases of each technique were used, in the order the techniques were first used
+         */
+        public final LinkedHashMap<SolvingTechnique, Integer> usage = new LinkedHashMap<>();
+
+        void record(RatedTechnique t, int found)
+        {
+            steps++;
+            totalWeight += t.weight;
+            usage.merge(t.technique, found, Integer::sum);
+            if (t.weight > hardestWeight)
+            {
+                hardestWeight = t.weight;
+                hardestTechnique = t.technique;
+            }
+        }
+
+        /**
+         * @return the rating as one number, larger for harder puzzles
+         */
+        public int getScore()
+        {
+            return (solved ? hardestWeight : GUESSING_WEIGHT) * 10_000 + Math.min(totalWeight, 9_999);
+        }
+
+        /**
+         * @return the difficulty of the hardest technique needed, or null if the techniques can't solve the puzzle
+         */
+        public Difficulty getDifficulty()
+        {
+            if (!solved) return null;
+            return hardestTechnique == null ? Difficulty.BASIC : hardestTechnique.difficulty;
+        }
+
+        @Override
+        public int compareTo(Rating other)
+        {
+            return Integer.compare(getScore(), other.getScore());
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder b = new StringBuilder();
+            b.append(getScore());
+            b.append(solved ? " solved, hardest technique: " + (hardestTechnique == null ? "none" : hardestTechnique.name) : " needs guessing");
+            b.append(", ").append(steps).append(" steps");
+            for (Map.Entry<SolvingTechnique, Integer> entry : usage.entrySet())
+            {
+                b.append(", ").append(entry.getKey().name).append(": ").append(entry.getValue());
+            }
+            return b.toString();
+        }
+    }
+
+    private static final ThreadLocal<DifficultyRater> instances = ThreadLocal.withInitial(DifficultyRater::new);
+
+    /**
+     * @return the instance of the calling thread
+     */
+    public static DifficultyRater forCurrentThread()
+    {
+        return instances.get();
+    }
+
+    // finds the first case of a technique, without recording findings
+    final TechniqueOptions options = new TechniqueOptions().setReturnFirst(true);
+
+    // skips the techniques that found nothing on an earlier step of the same puzzle, where nothing they depend on changed
+    final TechniqueScheduler scheduler = new TechniqueScheduler();
+
+    public Rating rate(CompactSudoku puzzle)
+    {
+        return rate(puzzle.toSudoku());
+    }
+
+    /**
+     * @param puzzle is not changed
+     */
+    public Rating rate(Sudoku puzzle)
+    {
+        return rate(puzzle, null);
+    }
+
+    public Rating rate(CompactSudoku puzzle, Band band)
+    {
+        return rate(puzzle.toSudoku(), band);
+    }
+
+    /**
+     * Rates a puzzle, stopping as soon as it is known to be above band, which skips the hardest and slowest techniques
+     * @param puzzle is not changed
+     * @param band can be null to rate with all techniques
+     * @return the rating, with stoppedAboveBand set if it stopped early
+     */
+    public Rating rate(Sudoku puzzle, Band band)
+    {
+        Rating rating = new Rating();
+        Sudoku sudoku = puzzle;
+        scheduler.reset();
+
+        // the techniques from this one on are all above the band
+        int firstSkipped = techniques.size();
+        while (band != null && firstSkipped > 0 && band.isAbove(techniques.get(firstSkipped - 1))) firstSkipped--;
+
+        while (rating.steps < MAX_STEPS)
+        {
+            int solvedCells = 0;
+            boolean invalid = false;
+            for (int r = 0; r < 9; r++)
+            {
+                for (int c = 0; c < 9; c++)
+                {
+                    if (sudoku.status[r][c] > 0) solvedCells++;
+                    else if (sudoku.status[r][c] == 0) invalid = true;
+                }
+            }
+            if (invalid) break;
+            if (solvedCells == 81)
+            {
+                rating.solved = Checker.checkValid(sudoku);
+                break;
+            }
+
+            RatedTechnique used = null;
+            for (int i = 0; i < firstSkipped; i++)
+            {
+                RatedTechnique t = techniques.get(i);
+                Results results = scheduler.apply(t.technique, sudoku, options);
+                if (results.found > 0)
+                {
+                    sudoku = results.sudoku;
+                    rating.record(t, results.found);
+                    used = t;
+                    break;
+                }
+            }
+            if (used == null) // stuck
+            {
+                // a skipped technique or guessing is needed, both are above the band if a technique was skipped
+                rating.stoppedAboveBand = firstSkipped < techniques.size();
+                break;
+            }
+            if (band != null && band.isAbove(rating))
+            {
+                rating.stoppedAboveBand = true;
+                break;
+            }
+        }
+        return rating;
+    }
+
+    /**
+     * @return the score of the puzzle, from the shared solution cache if it was rated before.
+     * The canonical form of the puzzle is the one rated, so that equivalent puzzles get the same score
+     * even if the first case of a technique that the rater picks differs between them,
+     * which is what lets puzzles derived from one in a score band stay in it, see PuzzleGenerator and PuzzlePool.
+     */
+    public int getScore(CompactSudoku puzzle)
+    {
+        SolutionCache.Key key = SolutionCache.keyOf(puzzle);
+        if (key == null) return rate(puzzle).getScore();
+
+        int score = SolutionCache.getShared().getRating(key);
+        if (score == SolutionCache.UNKNOWN)
+        {
+            CompactSudoku canonical = new CompactSudoku();
+            for (int i = 0; i < 81; i++)
+            {
+                if (key.canonicalForm[i] != 0) canonical.setValueAt(i, key.canonicalForm[i]);
+            }
+            score = rate(canonical).getScore();
+            SolutionCache.getShared().putRating(key, score);
+        }
+        return score;
+    }
+}
@@ -0,0 +1,767 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.Topology;
+import static com.github.shayna003.sudoker.Application.digitsAndIndexesPanel;
+
+/**
+ * One match of a solving technique, recorded in Results.findings.
+ * A finding only stores indexes and masks, the text that explains it to the user is rendered by getMessage()
+ * when the solver panel displays it, so searching does not pay for building strings.
+ * @since 10-17-2026
+ */
+public class Finding
+{
+    public enum Kind
+    {
+        ELIMINATION, // a solved cell eliminates its value from its peers
+        HIDDEN_SINGLE,
+        NAKED_GROUP,
+        HIDDEN_GROUP,
+        POINTING,
+        BOX_LINE_REDUCTION,
+        ROW_FISH, // rows are the base lines, the cells are all the candidates of the base lines, fins included
+        COLUMN_FISH,
+        XY_WING, // the chain is pincer z = pincer x - pivot x = pivot y - pincer y = pincer z
+        XYZ_WING, // the chain is the z of the pivot and of the 2 pincers
+        W_WING, // the chain is y = x of a cell, the conjugate pair of x, and x = y of the other cell
+        COLOUR_TRAP, // the chain is the candidates of one colour, SEPARATOR, then those of the other colour
+        COLOUR_WRAP, // same as COLOUR_TRAP, with the colour that was eliminated first
+        X_CHAIN,
+        ALTERNATING_CHAIN
+    }
+
+    public final Kind kind;
+
+    // cells 0 ~ 63 and 64 ~ 80 of the finding, bit i is cell i (r * 9 + c)
+    final long cellsLow;
+    final long cellsHigh;
+
+    /**
+     * The candidates of the finding, bit n - 1 is candidate n
+     */
+    public final int digits;
+
+    /**
+     * The units the finding is about, bit u is unit u of Topology.
+     * For example the row and box of a naked pair, or the units a hidden single is the only cell for its value in.
+     */
+    public final int units;
+
+    /**
+     * Number of candidates the finding eliminated
+     */
+    public final int eliminations;
+
+    /**
+     * For wings and chains, the candidates of the finding in order, each candidate is cell * 9 + digit - 1, see LinkGraph.
+     * The links of a chain alternate between strong and weak, starting with a strong link. null for other kinds.
+     */
+    public final int[] chain;
+
+    /**
+     * @param rx row indexes of the cells of the finding
+     * @param cx column indexes of the cells of the finding
+     */
+    public Finding(Kind kind, int[] rx, int[] cx, int digits, int units, int eliminations)
+    {
+        assert rx.length == cx.length;
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < rx.length; i++)
+        {
+            int cell = rx[i] * 9 + cx[i];
+            if (cell < 64) low |= 1L << cell;
+            else high |= 1L << (cell - 64);
+        }
+        this.kind = kind;
+        this.cellsLow = low;
+        this.cellsHigh = high;
+        this.digits = digits;
+        this.units = units;
+        this.eliminations = eliminations;
+        this.chain = null;
+    }
+
+    /**
+     * For wings and chains, the cells and digits of the finding are those of the chain
+     */
+    public Finding(Kind kind, int[] chain, int eliminations)
+    {
+        long low = 0;
+        long high = 0;
+        int digits = 0;
+        for (int node : chain)
+        {
+            if (node == Chains.SEPARATOR) continue;
+            int cell = LinkGraph.cellOf(node);
+            if (cell < 64) low |= 1L << cell;
+            else high |= 1L << (cell - 64);
+            digits |= CompactSudoku.bit(LinkGraph.digitOf(node));
+        }
+        this.kind = kind;
+        this.cellsLow = low;
+        this.cellsHigh = high;
+        this.digits = digits;
+        this.units = 0;
+        this.eliminations = eliminations;
+        this.chain = chain;
+    }
+
+    public Finding(Kind kind, int r, int c, int digits, int units, int eliminations)
+    {
+        this(kind, new int[] { r }, new int[] { c }, digits, units, eliminations);
+    }
+
+    /**
+     * @return bit u set for the row, column and box unit of Topology whose flag is true
+     */
+    public static int unitsOf(int r, int c, boolean row, boolean column, boolean box)
+    {
+        int units = 0;
+        if (row) units |= 1 << Topology.rowUnit(r);
+        if (column) units |= 1 << Topology.columnUnit(c);
+        if (box) units |= 1 << Topology.boxUnit(r, c);
+        return units;
+    }
+
+    public boolean containsCell(int i)
+    {
+        return i < 64 ? (cellsLow & (1L << i)) != 0 : (cellsHigh & (1L << (i - 64))) != 0;
+    }
+
+    public int getCellCount()
+    {
+        return Long.bitCount(cellsLow) + Long.bitCount(cellsHigh);
+    }
+
+    /**
+     * @return the cells of the finding in increasing order
+     */
+    public int[] getCells()
+    {
+        int[] cells = new int[getCellCount()];
+        int k = 0;
+        for (long bits = cellsLow; bits != 0; bits &= bits - 1)
+        {
+            cells[k++] = Long.numberOfTrailingZeros(bits);
+        }
+        for (long bits = cellsHigh; bits != 0; bits &= bits - 1)
+        {
+            cells[k++] = 64 + Long.numberOfTrailingZeros(bits);
+        }
+        return cells;
+    }
+
+    public boolean hasRow()
+    {
+        return (units & 0x1FF << Topology.FIRST_ROW_UNIT) != 0;
+    }
+
+    public boolean hasColumn()
+    {
+        return (units & 0x1FF << Topology.FIRST_COLUMN_UNIT) != 0;
+    }
+
+    public boolean hasBox()
+    {
+        return (units & 0x1FF << Topology.FIRST_BOX_UNIT) != 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return kind + " cells " + java.util.Arrays.toString(getCells()) + " digits " + java.util.Arrays.toString(CompactSudoku.digits(digits)) + " eliminations " + eliminations;
+    }
+
+    /**
+     * Renders the explanation shown in the solver panel, with the digits and indexes of the current preferences
+     */
+    public String getMessage()
+    {
+        int[] cells = getCells();
+        int[] rx = new int[cells.length];
+        int[] cx = new int[cells.length];
+        for (int i = 0; i < cells.length; i++)
+        {
+            rx[i] = Topology.ROW_OF[cells[i]];
+            cx[i] = Topology.COLUMN_OF[cells[i]];
+        }
+        int[] candidates = CompactSudoku.digits(digits);
+        int digit = candidates.length > 0 ? candidates[0] : 0;
+
+        StringBuilder messageBuilder = new StringBuilder();
+        switch (kind)
+        {
+            case ELIMINATION:
+                messageBuilder.append("Solved cell ");
+                messageBuilder.append(digitsAndIndexesPanel.getStringIndex(rx[0], cx[0]));
+                messageBuilder.append(" helps eliminate candidate ");
+                messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+                messageBuilder.append(" from ");
+                messageBuilder.append(eliminations);
+                messageBuilder.append(eliminations > 1 ? " other cells" : " other cell");
+                messageBuilder.append(" in its unit.");
+                break;
+
+            case HIDDEN_SINGLE:
+                appendHiddenSingle(messageBuilder, rx[0], cx[0], digit);
+                break;
+
+            case NAKED_GROUP:
+                appendNakedGroup(messageBuilder, rx, cx, candidates);
+                break;
+
+            case HIDDEN_GROUP:
+                appendHiddenGroup(messageBuilder, rx, cx, candidates);
+                break;
+
+            case POINTING:
+                appendPointing(messageBuilder, rx, cx, digit);
+                break;
+
+            case BOX_LINE_REDUCTION:
+                appendBoxLineReduction(messageBuilder, rx, cx, digit);
+                break;
+
+            case ROW_FISH:
+            case COLUMN_FISH:
+                appendFish(messageBuilder, rx, cx, digit);
+                break;
+
+            case XY_WING:
+            case XYZ_WING:
+            case W_WING:
+                appendWing(messageBuilder);
+                break;
+
+            case COLOUR_TRAP:
+            case COLOUR_WRAP:
+                appendColouring(messageBuilder);
+                break;
+
+            case X_CHAIN:
+            case ALTERNATING_CHAIN:
+                appendChain(messageBuilder);
+                break;
+        }
+        return messageBuilder.toString();
+    }
+
+    private void appendHiddenSingle(StringBuilder messageBuilder, int r, int c, int digit)
+    {
+        boolean row = hasRow();
+        boolean column = hasColumn();
+        boolean box = hasBox();
+        int uniqueInUnitCount = (row ? 1 : 0) + (column ? 1 : 0) + (box ? 1 : 0);
+
+        messageBuilder.append("Hidden single found:");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Since ");
+        messageBuilder.append(digitsAndIndexesPanel.getStringIndex(r, c));
+        messageBuilder.append(" is the only cell with a candidate of ");
+        messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+        messageBuilder.append(" in its ");
+        messageBuilder.append(row ? uniqueInUnitCount == 2 ? "row and " : "row, " : "");
+        messageBuilder.append(column ? uniqueInUnitCount == 2 && !row ? "column and " : "column, " : "");
+        messageBuilder.append(box ? uniqueInUnitCount == 3 ? "and box, " : "box, " : "");
+        messageBuilder.append("it must be a ");
+        messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+        messageBuilder.append(".");
+    }
+
+    private void appendNakedGroup(StringBuilder messageBuilder, int[] rx, int[] cx, int[] candidates)
+    {
+        int n = rx.length;
+        boolean sameRow = hasRow();
+        boolean sameColumn = hasColumn();
+        boolean sameBox = hasBox();
+        int sameUnitCount = (sameRow ? 1 : 0) + (sameColumn ? 1 : 0) + (sameBox ? 1 : 0);
+
+        switch (n)
+        {
+            case 2:
+                messageBuilder.append("Naked Pair"); break;
+            case 3:
+                messageBuilder.append("Naked Triple"); break;
+            case 4:
+                messageBuilder.append("Naked Quadruple"); break;
+            default:
+                messageBuilder.append("Naked Candidates of a group of ");
+                messageBuilder.append(n);
+                break;
+        }
+        messageBuilder.append(" found:");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Since the ");
+        messageBuilder.append(n);
+        messageBuilder.append(" cells ");
+        messageBuilder.append(digitsAndIndexesPanel.getStringIndexes(rx, cx));
+        messageBuilder.append(" altogether have only ");
+        messageBuilder.append(n);
+        messageBuilder.append(" candidates and are in the same ");
+        messageBuilder.append(sameRow ? sameUnitCount > 1 ? "row and " : "row, " : "");
+        messageBuilder.append(sameColumn ? sameUnitCount > 1 ? "column and " : "column, " : "");
+        messageBuilder.append(sameBox ? "box, " : "");
+        messageBuilder.append("they each have to be one of the candidates of ");
+        messageBuilder.append(digitsAndIndexesPanel.getStringCandidates(candidates));
+        messageBuilder.append(".");
+
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+        messageBuilder.append("Therefore the other cells in their ");
+        messageBuilder.append(sameRow ? sameUnitCount > 1 ? "row and " : "row " : "");
+        messageBuilder.append(sameColumn ? sameUnitCount > 1 ? "column and " : "column " : "");
+        messageBuilder.append(sameBox ? "box " : "");
+        messageBuilder.append("cannot have ");
+        messageBuilder.append(digitsAndIndexesPanel.getStringCandidates(candidates));
+        messageBuilder.append(" as their candidates.");
+    }
+
+    private void appendHiddenGroup(StringBuilder messageBuilder, int[] rx, int[] cx, int[] candidates)
+    {
+        int n = rx.length;
+        boolean uniqueInRow = hasRow();
+        boolean uniqueInCol = hasColumn();
+        boolean uniqueInBox = hasBox();
+        int uniqueInUnitCount = (uniqueInRow ? 1 : 0) + (uniqueInCol ? 1 : 0) + (uniqueInBox ? 1 : 0);
+
+        switch(n)
+        {
+            case 2:
+                messageBuilder.append("Hidden Pair"); break;
+            case 3:
+                messageBuilder.append("Hidden Triple"); break;
+            case 4:
+                messageBuilder.append("Hidden Quadruple"); break;
+            case 1:
+                messageBuilder.append("Hidden Single"); break;
+            default:
+                messageBuilder.append("Hidden candidates of a group of ");
+                messageBuilder.append(n);
+                break;
+        }
+        messageBuilder.append(" found:");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Since the ");
+        messageBuilder.append(n);
+        messageBuilder.append(" cells ");
+        messageBuilder.append(digitsAndIndexesPanel.getStringIndexes(rx, cx));
+        messageBuilder.append(" are the only cells in their ");
+        messageBuilder.append(uniqueInRow ? uniqueInUnitCount > 1 ? "row and " : "row " : "");
+        messageBuilder.append(uniqueInCol ? uniqueInUnitCount > 1 ? "column and " : "column " : "");
+        messageBuilder.append(uniqueInBox ? "box " : "");
+        messageBuilder.append("that contain the ");
+        messageBuilder.append(n);
+        messageBuilder.append(" candidates ");
+        messageBuilder.append(digitsAndIndexesPanel.getStringCandidates(candidates));
+        messageBuilder.append(", these cells each have to be one of them.");
+    }
+
+    private void appendPointing(StringBuilder messageBuilder, int[] rx, int[] cx, int digit)
+    {
+        boolean sameRow = hasRow();
+        int box = Topology.BOX_OF[rx[0] * 9 + cx[0]];
+        String boxIndex = digitsAndIndexesPanel.getBoxIndex(box / 3, box % 3);
+        String lineIndex = sameRow ? digitsAndIndexesPanel.getRowIndex(rx[0]) : digitsAndIndexesPanel.getColIndex(cx[0]);
+
+        messageBuilder.append("Pointing ");
+        messageBuilder.append(rx.length == 2 ? "Pair" : "Triple");
+        messageBuilder.append(" found in box ");
+        messageBuilder.append(boxIndex);
+        messageBuilder.append(":");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Since all of the digit ");
+        messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+        messageBuilder.append("s of this box are in ");
+        messageBuilder.append(sameRow ? "row " : "column ");
+        messageBuilder.append(lineIndex);
+        messageBuilder.append(", digit ");
+        messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+        messageBuilder.append(" in this ");
+        messageBuilder.append(sameRow ? "row" : "column");
+        messageBuilder.append(" has to be in box ");
+        messageBuilder.append(boxIndex);
+        messageBuilder.append(".");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("This eliminates the rest of the digit ");
+        messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+        messageBuilder.append("s not in box ");
+        messageBuilder.append(boxIndex);
+        messageBuilder.append(" from ");
+        messageBuilder.append(sameRow ? "row " : "column ");
+        messageBuilder.append(lineIndex);
+        messageBuilder.append(".");
+    }
+
+    private void appendBoxLineReduction(StringBuilder messageBuilder, int[] rx, int[] cx, int digit)
+    {
+        boolean row = hasRow();
+        String line = row ? "row " : "column ";
+        String lineIndex = row ? digitsAndIndexesPanel.getRowIndex(rx[0]) : digitsAndIndexesPanel.getColIndex(cx[0]);
+        String boxIndex = digitsAndIndexesPanel.getBoxIndexFromRC(rx[0], cx[0]);
+
+        messageBuilder.append("Box Line Reduction found:");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Since all of the digit ");
+        messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+        messageBuilder.append("s of ");
+        messageBuilder.append(line);
+        messageBuilder.append(lineIndex);
+        messageBuilder.append(" are in box ");
+        messageBuilder.append(boxIndex);
+        messageBuilder.append(", digit ");
+        messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+        messageBuilder.append(" of that box has to be in ");
+        messageBuilder.append(line);
+        messageBuilder.append(lineIndex);
+        messageBuilder.append(".");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("This eliminates the rest of the digit ");
+        messageBuilder.append(digitsAndIndexesPanel.getDigit(digit));
+        messageBuilder.append(" from box ");
+        messageBuilder.append(boxIndex);
+        messageBuilder.append(" that are not in ");
+        messageBuilder.append(line);
+        messageBuilder.append(lineIndex);
+        messageBuilder.append(".");
+    }
+
+    /**
+     * The units of a fish are its base lines and its cover lines, the fins are the cells outside the cover lines
+     */
+    private void appendFish(StringBuilder messageBuilder, int[] rx, int[] cx, int digit)
+    {
+        boolean rowBase = kind == Kind.ROW_FISH;
+        int rows = 0;
+        int columns = 0;
+        for (int l = 0; l < 9; l++)
+        {
+            if ((units & (1 << Topology.rowUnit(l))) != 0) rows |= 1 << l;
+            if ((units & (1 << Topology.columnUnit(l))) != 0) columns |= 1 << l;
+        }
+        int base = rowBase ? rows : columns;
+        int cover = rowBase ? columns : rows;
+
+        int finCount = 0;
+        int[] coveredCount = new int[9]; // candidates of each base line in the cover lines
+        for (int i = 0; i < rx.length; i++)
+        {
+            int baseLine = rowBase ? rx[i] : cx[i];
+            int crossing = rowBase ? cx[i] : rx[i];
+            if ((cover & (1 << crossing)) == 0) finCount++;
+            else coveredCount[baseLine]++;
+        }
+        int[] finRx = new int[finCount];
+        int[] finCx = new int[finCount];
+        boolean sashimi = false;
+        for (int i = 0, k = 0; i < rx.length; i++)
+        {
+            if ((cover & (1 << (rowBase ? cx[i] : rx[i]))) != 0) continue;
+            finRx[k] = rx[i];
+            finCx[k] = cx[i];
+            k++;
+            if (coveredCount[rowBase ? rx[i] : cx[i]] == 1) sashimi = true;
+        }
+
+        String baseName = rowBase ? "rows " : "columns ";
+        String coverName = rowBase ? "columns " : "rows ";
+        String baseIndexes = getLineIndexes(rowBase, base);
+        String coverIndexes = getLineIndexes(!rowBase, cover);
+        String digitString = digitsAndIndexesPanel.getDigit(digit);
+
+        if (finCount > 0) messageBuilder.append(sashimi ? "Sashimi " : "Finned ");
+        messageBuilder.append(Fish.getName(Integer.bitCount(base)));
+        messageBuilder.append(" found:");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Since ");
+        if (finCount > 0)
+        {
+            messageBuilder.append("apart from the ");
+            messageBuilder.append(finCount > 1 ? "fins " : "fin ");
+            messageBuilder.append(digitsAndIndexesPanel.getStringIndexes(finRx, finCx));
+            messageBuilder.append(", ");
+        }
+        messageBuilder.append("the digit ");
+        messageBuilder.append(digitString);
+        messageBuilder.append("s of ");
+        messageBuilder.append(baseName);
+        messageBuilder.append(baseIndexes);
+        messageBuilder.append(" can only be in ");
+        messageBuilder.append(coverName);
+        messageBuilder.append(coverIndexes);
+        messageBuilder.append(", ");
+        if (finCount > 0)
+        {
+            messageBuilder.append("either ");
+            messageBuilder.append(finCount > 1 ? "a fin" : "the fin");
+            messageBuilder.append(" is a ");
+            messageBuilder.append(digitString);
+            messageBuilder.append(" or ");
+        }
+        messageBuilder.append("these ");
+        messageBuilder.append(baseName);
+        messageBuilder.append("have the digit ");
+        messageBuilder.append(digitString);
+        messageBuilder.append(" of each of these ");
+        messageBuilder.append(coverName.trim());
+        messageBuilder.append(".");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        if (finCount > 0)
+        {
+            messageBuilder.append("Either way, the cells of box ");
+            messageBuilder.append(digitsAndIndexesPanel.getBoxIndexFromRC(finRx[0], finCx[0]));
+            messageBuilder.append(" in ");
+            messageBuilder.append(coverName);
+            messageBuilder.append(coverIndexes);
+            messageBuilder.append(" that are not in ");
+            messageBuilder.append(baseName);
+            messageBuilder.append(baseIndexes);
+            messageBuilder.append(" cannot be a ");
+            messageBuilder.append(digitString);
+            messageBuilder.append(".");
+        }
+        else
+        {
+            messageBuilder.append("This eliminates the rest of the digit ");
+            messageBuilder.append(digitString);
+            messageBuilder.append("s of ");
+            messageBuilder.append(coverName);
+            messageBuilder.append(coverIndexes);
+            messageBuilder.append(" that are not in ");
+            messageBuilder.append(baseName);
+            messageBuilder.append(baseIndexes);
+            messageBuilder.append(".");
+        }
+    }
+
+    private void appendWing(StringBuilder messageBuilder)
+    {
+        if (kind == Kind.XYZ_WING)
+        {
+            String pivot = getStringIndex(chain[0]);
+            String z = digitsAndIndexesPanel.getDigit(LinkGraph.digitOf(chain[0]));
+
+            messageBuilder.append("XYZ-Wing found:");
+            messageBuilder.append(System.lineSeparator());
+            messageBuilder.append(Solver.messageOutputIndent);
+
+            messageBuilder.append("Since the pivot ");
+            messageBuilder.append(pivot);
+            messageBuilder.append(" has 3 candidates, and the cells ");
+            messageBuilder.append(getStringIndex(chain[1]));
+            messageBuilder.append(" and ");
+            messageBuilder.append(getStringIndex(chain[2]));
+            messageBuilder.append(" it sees each have 2 of them, with only ");
+            messageBuilder.append(z);
+            messageBuilder.append(" in common, whichever candidate the pivot is, one of the 3 cells is a ");
+            messageBuilder.append(z);
+            messageBuilder.append(".");
+            messageBuilder.append(System.lineSeparator());
+            messageBuilder.append(Solver.messageOutputIndent);
+
+            messageBuilder.append("Either way, cells that see all 3 cells cannot be a ");
+            messageBuilder.append(z);
+            messageBuilder.append(".");
+            return;
+        }
+
+        String cellA = getStringIndex(chain[0]);
+        String cellB = getStringIndex(chain[5]);
+        String x = digitsAndIndexesPanel.getDigit(LinkGraph.digitOf(chain[1]));
+        String z = digitsAndIndexesPanel.getDigit(LinkGraph.digitOf(chain[0]));
+
+        messageBuilder.append(kind == Kind.XY_WING ? "XY-Wing found:" : "W-Wing found:");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        if (kind == Kind.XY_WING)
+        {
+            String y = digitsAndIndexesPanel.getDigit(LinkGraph.digitOf(chain[3]));
+            messageBuilder.append("Since the pivot ");
+            messageBuilder.append(getStringIndex(chain[2]));
+            messageBuilder.append(" can only be ");
+            messageBuilder.append(x);
+            messageBuilder.append(" or ");
+            messageBuilder.append(y);
+            messageBuilder.append(", either ");
+            messageBuilder.append(cellA);
+            messageBuilder.append(" is a ");
+            messageBuilder.append(z);
+            messageBuilder.append(" if the pivot is a ");
+            messageBuilder.append(x);
+            messageBuilder.append(", or ");
+            messageBuilder.append(cellB);
+            messageBuilder.append(" is a ");
+            messageBuilder.append(z);
+            messageBuilder.append(" if the pivot is a ");
+            messageBuilder.append(y);
+            messageBuilder.append(".");
+        }
+        else
+        {
+            messageBuilder.append("Since ");
+            messageBuilder.append(cellA);
+            messageBuilder.append(" and ");
+            messageBuilder.append(cellB);
+            messageBuilder.append(" can only be ");
+            messageBuilder.append(x);
+            messageBuilder.append(" or ");
+            messageBuilder.append(z);
+            messageBuilder.append(", and one of ");
+            messageBuilder.append(getStringIndex(chain[2]));
+            messageBuilder.append(" and ");
+            messageBuilder.append(getStringIndex(chain[3]));
+            messageBuilder.append(", the only cells of their unit with a candidate of ");
+            messageBuilder.append(x);
+            messageBuilder.append(", is a ");
+            messageBuilder.append(x);
+            messageBuilder.append(" that one of the 2 cells sees, one of them is a ");
+            messageBuilder.append(z);
+            messageBuilder.append(".");
+        }
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Either way, cells that see both ");
+        messageBuilder.append(cellA);
+        messageBuilder.append(" and ");
+        messageBuilder.append(cellB);
+        messageBuilder.append(" cannot be a ");
+        messageBuilder.append(z);
+        messageBuilder.append(".");
+    }
+
+    private void appendColouring(StringBuilder messageBuilder)
+    {
+        int separator = 0;
+        while (chain[separator] != Chains.SEPARATOR) separator++;
+        String first = getStringIndexes(chain, 0, separator);
+        String second = getStringIndexes(chain, separator + 1, chain.length);
+        String digit = digitsAndIndexesPanel.getDigit(LinkGraph.digitOf(chain[0]));
+
+        messageBuilder.append("Simple Colouring found:");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Since the cells ");
+        messageBuilder.append(first);
+        messageBuilder.append(" and ");
+        messageBuilder.append(second);
+        messageBuilder.append(" are joined by pairs of cells that are the only 2 cells of their unit with a candidate of ");
+        messageBuilder.append(digit);
+        messageBuilder.append(", either all of the cells ");
+        messageBuilder.append(first);
+        messageBuilder.append(" are a ");
+        messageBuilder.append(digit);
+        messageBuilder.append(", or all of the cells ");
+        messageBuilder.append(second);
+        messageBuilder.append(" are.");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        if (kind == Kind.COLOUR_WRAP)
+        {
+            messageBuilder.append("Since 2 of the cells ");
+            messageBuilder.append(first);
+            messageBuilder.append(" see each other, they cannot all be a ");
+            messageBuilder.append(digit);
+            messageBuilder.append(", so none of them is a ");
+            messageBuilder.append(digit);
+            messageBuilder.append(".");
+        }
+        else
+        {
+            messageBuilder.append("Either way, cells that see one of each group cannot be a ");
+            messageBuilder.append(digit);
+            messageBuilder.append(".");
+        }
+    }
+
+    private void appendChain(StringBuilder messageBuilder)
+    {
+        messageBuilder.append(kind == Kind.X_CHAIN ? "X-Chain found:" : "Alternating Inference Chain found:");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        for (int i = 0; i < chain.length; i++)
+        {
+            if (i > 0) messageBuilder.append(i % 2 == 1 ? " = " : " - ");
+            messageBuilder.append(getStringIndex(chain[i]));
+            messageBuilder.append("(");
+            messageBuilder.append(digitsAndIndexesPanel.getDigit(LinkGraph.digitOf(chain[i])));
+            messageBuilder.append(")");
+        }
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Since one of the 2 candidates of a strong link (=) is true, and the 2 candidates of a weak link (-) cannot both be, ");
+        messageBuilder.append("if the first candidate of the chain is false, the last one is true.");
+        messageBuilder.append(System.lineSeparator());
+        messageBuilder.append(Solver.messageOutputIndent);
+
+        messageBuilder.append("Either way, candidates that cannot be true together with either end of the chain are eliminated.");
+    }
+
+    private static String getStringIndex(int node)
+    {
+        int cell = LinkGraph.cellOf(node);
+        return digitsAndIndexesPanel.getStringIndex(Topology.ROW_OF[cell], Topology.COLUMN_OF[cell]);
+    }
+
+    /**
+     * @return the indexes of the cells of chain[from] ~ chain[to - 1]
+     */
+    private static String getStringIndexes(int[] chain, int from, int to)
+    {
+        int[] rx = new int[to - from];
+        int[] cx = new int[to - from];
+        for (int i = from; i < to; i++)
+        {
+            rx[i - from] = Topology.ROW_OF[LinkGraph.cellOf(chain[i])];
+            cx[i - from] = Topology.COLUMN_OF[LinkGraph.cellOf(chain[i])];
+        }
+        return digitsAndIndexesPanel.getStringIndexes(rx, cx);
+    }
+
+    /**
+     * @param lines bit l is line l
+     * @return the indexes of the lines, separated like a list of cells
+     */
+    private static String getLineIndexes(boolean rows, int lines)
+    {
+        int count = Integer.bitCount(lines);
+        StringBuilder b = new StringBuilder();
+        int i = 0;
+        for (int bits = lines; bits != 0; bits &= bits - 1, i++)
+        {
+            int l = Integer.numberOfTrailingZeros(bits);
+            if (i == count - 1 && i > 0)
+            {
+                String last = digitsAndIndexesPanel.getLastCellIndexSeparator();
+                b.append(count > 2 && last.startsWith(" ") ? last.substring(1) : last);
+            }
+            b.append(rows ? digitsAndIndexesPanel.getRowIndex(l) : digitsAndIndexesPanel.getColIndex(l));
+            if (i < count - 1 && count != 2) b.append(digitsAndIndexesPanel.getCellIndexSeparator());
+        }
+        return b.toString();
+    }
+}
@@ -0,0 +1,244 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.Topology;
+
+import java.util.ArrayList;
+
+/**
+ * Finds fish of size 2 ~ 4 (X-Wing, Swordfish, Jellyfish) for one candidate, with rows or columns as the base lines.
+ * In a basic fish, n base lines have all their candidates in n cover lines that cross them,
+ * so the base lines take up the candidate of every cover line, and the other cells of the cover lines can't have it.
+ * A finned fish also has fins, candidates of the base lines outside the cover lines that are all in one box,
+ * so either a fin is the candidate or the fish is, and only cells of the cover lines in the box of the fins are eliminated.
+ * A sashimi fish is a finned fish that has a base line with only one candidate left in the cover lines.
+ *
+ * The candidates are kept as one 9-bit mask of crossing lines per line and digit,
+ * so a group of base lines is checked with a few bit operations, and groups are enumerated as 9-bit masks.
+ * @since 10-17-2026
+ */
+public class Fish
+{
+    static final int ROWS = 0; // rows are the base lines, columns the cover lines
+    static final int COLUMNS = 1;
+
+    static final int[] STACK_MASKS = { 0007, 0070, 0700 }; // the 3 lines of each band or stack
+
+    /**
+     * lines[o][d][l]: the crossing lines where candidate d + 1 can be in line l, for base lines of orientation o,
+     * e.g. lines[ROWS][d][r] has bit c set if cell r, c is unsolved and has candidate d + 1
+     */
+    final int[][][] lines = new int[2][9][9];
+
+    Fish(Sudoku sudoku)
+    {
+        for (int r = 0; r < 9; r++)
+        {
+            for (int c = 0; c < 9; c++)
+            {
+                if (sudoku.status[r][c] >= 0) continue;
+                for (int x = 0; x < 9; x++)
+                {
+                    if (sudoku.grid[r][c][x] > 0)
+                    {
+                        lines[ROWS][x][r] |= 1 << c;
+                        lines[COLUMNS][x][c] |= 1 << r;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param n number of base lines, 2 ~ 4
+     * @param finned if true, only look for finned and sashimi fish, else only for basic fish
+     */
+    static Results search(Sudoku sudoku, int n, boolean finned, TechniqueOptions options)
+    {
+        assert n >= 2 && n <= 4 : n;
+        Sudoku sudokuCopy = sudoku.clone();
+        Results solveResults = new Results(sudokuCopy, 0, new ArrayList<Finding>(), techniqueFor(n, finned));
+        int[] eliminateResults = new int[3];
+        Fish fish = new Fish(sudoku);
+
+        for (int o = ROWS; o <= COLUMNS; o++)
+        {
+            for (int d = 0; d < 9; d++)
+            {
+                if (!options.searchesDigit(d + 1)) continue;
+                int[] candidates = fish.lines[o][d];
+                int eligible = 0; // lines that can be base lines
+                for (int l = 0; l < 9; l++)
+                {
+                    int count = Integer.bitCount(candidates[l]);
+                    if (count >= 2 && count <= (finned ? n + 3 : n)) eligible |= 1 << l;
+                }
+                if (Integer.bitCount(eligible) < n) continue;
+
+                for (int base = (1 << n) - 1; base < 512; base = nextCombination(base))
+                {
+                    if ((base & eligible) != base) continue;
+                    int union = 0;
+                    for (int bits = base; bits != 0; bits &= bits - 1)
+                    {
+                        union |= candidates[Integer.numberOfTrailingZeros(bits)];
+                    }
+                    int size = Integer.bitCount(union);
+
+                    if (!finned)
+                    {
+                        if (size == n)
+                        {
+                            fish.eliminate(solveResults, options, eliminateResults, o, d, base, union, -1);
+                        }
+                    }
+                    else if (size > n && size <= n + 3)
+                    {
+                        // the fins have to be in one box, so the crossing lines they are in have to be in one stack
+                        for (int stack = 0; stack < 3; stack++)
+                        {
+                            int finLines = union & STACK_MASKS[stack];
+                            for (int fins = finLines; fins != 0; fins = (fins - 1) & finLines)
+                            {
+                                if (Integer.bitCount(fins) != size - n) continue;
+                                int cover = union & ~fins;
+                                if (fish.isFinnedFish(o, d, base, cover, fins))
+                                {
+                                    fish.eliminate(solveResults, options, eliminateResults, o, d, base, cover, stack);
+                                    if (options.returnFirst && solveResults.found > 0) return solveResults;
+                                }
+                            }
+                        }
+                    }
+                    if (options.returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return solveResults;
+                    if (options.returnFirst && solveResults.found > 0) return solveResults;
+                }
+            }
+        }
+        return solveResults;
+    }
+
+    /**
+     * @return the next larger 9-bit mask with the same number of bits set (Gosper's hack), or at least 512 after the last one
+     */
+    static int nextCombination(int mask)
+    {
+        int lowest = mask & -mask;
+        int ripple = mask + lowest;
+        return ripple | (((mask ^ ripple) >>> 2) / lowest);
+    }
+
+    /**
+     * @return true if every base line has the candidate in a cover line, and the lines with fins are in one band
+     */
+    boolean isFinnedFish(int o, int d, int base, int cover, int fins)
+    {
+        int finBaseLines = 0;
+        for (int bits = base; bits != 0; bits &= bits - 1)
+        {
+            int l = Integer.numberOfTrailingZeros(bits);
+            if ((lines[o][d][l] & cover) == 0) return false;
+            if ((lines[o][d][l] & fins) != 0) finBaseLines |= 1 << l;
+        }
+        return finBaseLines != 0 && (finBaseLines & STACK_MASKS[Topology.BAND_OF[Integer.numberOfTrailingZeros(finBaseLines)]]) == finBaseLines;
+    }
+
+    /**
+     * Removes the candidate from the cover lines outside the base lines, only in the box of the fins for a finned fish
+     * @param finStack the stack (or band, for columns as base lines) of the crossing lines of the fins, -1 for a basic fish
+     */
+    void eliminate(Results solveResults, TechniqueOptions options, int[] eliminateResults, int o, int d, int base, int cover, int finStack)
+    {
+        int[] candidates = lines[o][d];
+        int targetLines = 0x1FF & ~base;
+        int targetCover = cover;
+        if (finStack >= 0)
+        {
+            int finBaseLines = 0;
+            for (int bits = base; bits != 0; bits &= bits - 1)
+            {
+                int l = Integer.numberOfTrailingZeros(bits);
+                if ((candidates[l] & ~cover) != 0) finBaseLines |= 1 << l;
+            }
+            targetLines &= STACK_MASKS[Topology.BAND_OF[Integer.numberOfTrailingZeros(finBaseLines)]];
+            targetCover &= STACK_MASKS[finStack];
+        }
+
+        int[] eliminated = new int[3];
+        for (int bits = targetLines; bits != 0; bits &= bits - 1)
+        {
+            int l = Integer.numberOfTrailingZeros(bits);
+            for (int crossing = candidates[l] & targetCover; crossing != 0; crossing &= crossing - 1)
+            {
+                int x = Integer.numberOfTrailingZeros(crossing);
+                int r = o == ROWS ? l : x;
+                int c = o == ROWS ? x : l;
+                Solver.deleteCandidatesInCell(options.solverHighlights, solveResults.sudoku, new int[] { d + 1 }, r, c, options.eliminateRecursively, options.returnIfInvalid, eliminated);
+                if (options.returnIfInvalid && eliminated[Solver.VALIDITY_INDEX] < 0) break;
+            }
+            if (options.returnIfInvalid && eliminated[Solver.VALIDITY_INDEX] < 0) break;
+        }
+        eliminateResults[0] += eliminated[0];
+        eliminateResults[1] += eliminated[1];
+        eliminateResults[2] += eliminated[2];
+        if (eliminated[Solver.ELIMINATED_INDEX] == 0) return;
+
+        // found it
+        solveResults.found++;
+        int count = 0;
+        for (int bits = base; bits != 0; bits &= bits - 1)
+        {
+            count += Integer.bitCount(candidates[Integer.numberOfTrailingZeros(bits)]);
+        }
+        int[] rx = new int[count];
+        int[] cx = new int[count];
+        int k = 0;
+        for (int bits = base; bits != 0; bits &= bits - 1)
+        {
+            int l = Integer.numberOfTrailingZeros(bits);
+            for (int crossing = candidates[l]; crossing != 0; crossing &= crossing - 1)
+            {
+                int x = Integer.numberOfTrailingZeros(crossing);
+                rx[k] = o == ROWS ? l : x;
+                cx[k] = o == ROWS ? x : l;
+                if (options.solverHighlights != null) options.solverHighlights[rx[k]][cx[k]][d] = SolverPanel.ONLY_CANDIDATE;
+                k++;
+            }
+        }
+
+        if (options.recordFindings)
+        {
+            int units = 0;
+            for (int l = 0; l < 9; l++)
+            {
+                if ((base & (1 << l)) != 0) units |= 1 << (o == ROWS ? Topology.rowUnit(l) : Topology.columnUnit(l));
+                if ((cover & (1 << l)) != 0) units |= 1 << (o == ROWS ? Topology.columnUnit(l) : Topology.rowUnit(l));
+            }
+            solveResults.findings.add(new Finding(o == ROWS ? Finding.Kind.ROW_FISH : Finding.Kind.COLUMN_FISH, rx, cx, CompactSudoku.bit(d + 1), units, eliminated[Solver.ELIMINATED_INDEX]));
+        }
+    }
+
+    static SolvingTechnique techniqueFor(int n, boolean finned)
+    {
+        switch (n)
+        {
+            case 2: return finned ? SolvingTechnique.FINNED_X_WING : SolvingTechnique.X_WING;
+            case 3: return finned ? SolvingTechnique.FINNED_SWORDFISH : SolvingTechnique.SWORDFISH;
+            default: return finned ? SolvingTechnique.FINNED_JELLYFISH : SolvingTechnique.JELLYFISH;
+        }
+    }
+
+    /**
+     * @return "X-Wing", "Swordfish" or "Jellyfish"
+     */
+    static String getName(int n)
+    {
+        switch (n)
+        {
+            case 2: return "X-Wing";
+            case 3: return "Swordfish";
+            case 4: return "Jellyfish";
+            default: return "Fish of size " + n;
+        }
+    }
+}
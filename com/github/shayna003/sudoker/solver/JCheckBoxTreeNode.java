@@ -222,7 +222,7 @@ class SolvingTechniqueNode extends JCheckBoxTreeNode
 							owner.setExpandedState(basicNode.path, true);
 
 							owner.board.repaint();
-							owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(eliminateResults.messages), true);
+							owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(eliminateResults.findings), true);
 							return;
 						}
 					}
@@ -245,7 +245,7 @@ class SolvingTechniqueNode extends JCheckBoxTreeNode
 								owner.setExpandedState(owner.getBasicNode().path, true);
 							}
 							owner.board.repaint();
-							owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(results.messages), true);
+							owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(results.findings), true);
 						}
 						else
 						{
@@ -277,7 +277,7 @@ class SolvingTechniqueNode extends JCheckBoxTreeNode
 									owner.setExpandedState(owner.getBasicNode().path, true);
 								}
 								owner.board.repaint();
-								owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(results.messages), true);
+								owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(results.findings), true);
 							}
 						}
 						else
@@ -402,7 +402,7 @@ class DifficultyNode extends JCheckBoxTreeNode
 							owner.setExpandedState(basicNode.path, true);
 
 							owner.board.repaint();
-							owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(eliminateResults.messages), true);
+							owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(eliminateResults.findings), true);
 							return;
 						}
 					}
@@ -422,7 +422,7 @@ class DifficultyNode extends JCheckBoxTreeNode
 							owner.setExpandedState(owner.getBasicNode().path, true);
 						}
 						owner.board.repaint();
-						owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(results.messages), true);
+						owner.board.boardOwner.solverPanel.appendMessage(owner.flattenMessages(results.findings), true);
 					}
 					else
 					{
@@ -0,0 +1,225 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.Topology;
+
+import java.util.Arrays;
+
+/**
+ * The strong and weak links between the candidates of unsolved cells, shared by the wing and chain techniques.
+ * A candidate is a node, numbered cell * 9 + digit - 1.
+ * Two candidates are strongly linked if one of them has to be true: the 2 candidates of a bivalue cell,
+ * or the only 2 places of a digit in a unit (a conjugate pair).
+ * Two candidates are weakly linked if they can't both be true: 2 candidates of the same cell,
+ * or the same digit in 2 cells that see each other. Strong links can be used as weak links in chains too.
+ *
+ * The graph is kept as a candidate mask per cell and a mask of places per unit and digit,
+ * so the links of a node are found with a few bit operations, and removing a candidate only updates 4 masks.
+ * Each technique builds the graph of its thread from the puzzle once with build(), which is one pass over the candidates,
+ * and removes what it eliminates as it goes. A Sudoku doesn't record which cells changed,
+ * so finding the candidates removed since the last build would take the same pass, and the graph isn't updated across techniques.
+ *
+ * An instance is not thread safe, use forCurrentThread() to get one per thread.
+ * @since 10-17-2026
+ */
+public class LinkGraph
+{
+    public static final int NODE_COUNT = 81 * 9;
+
+    // position of each cell in its row, column and box unit, see Topology.UNIT_CELLS
+    static final int[] POSITION_IN_UNIT = new int[81 * 3];
+
+    static
+    {
+        for (int u = 0; u < Topology.UNIT_COUNT; u++)
+        {
+            for (int k = 0; k < 9; k++)
+            {
+                int cell = Topology.UNIT_CELLS[u * 9 + k];
+                for (int j = 0; j < 3; j++)
+                {
+                    if (Topology.CELL_UNITS[cell * 3 + j] == u) POSITION_IN_UNIT[cell * 3 + j] = k;
+                }
+            }
+        }
+    }
+
+    private static final ThreadLocal<LinkGraph> instances = ThreadLocal.withInitial(LinkGraph::new);
+
+    /**
+     * @return the instance of the calling thread
+     */
+    public static LinkGraph forCurrentThread()
+    {
+        return instances.get();
+    }
+
+    /**
+     * Candidates of each cell, bit d - 1 is digit d, 0 for solved cells
+     */
+    final int[] candidates = new int[81];
+
+    /**
+     * places[u * 9 + d - 1]: bit k set if cell k of unit u (see Topology.UNIT_CELLS) has candidate d
+     */
+    final int[] places = new int[Topology.UNIT_COUNT * 9];
+
+    /**
+     * Builds the graph from the candidates of the unsolved cells of sudoku
+     */
+    public void build(Sudoku sudoku)
+    {
+        Arrays.fill(places, 0);
+        for (int i = 0; i < 81; i++)
+        {
+            int r = Topology.ROW_OF[i];
+            int c = Topology.COLUMN_OF[i];
+            int mask = 0;
+            if (sudoku.status[r][c] < 0)
+            {
+                for (int x = 0; x < 9; x++)
+                {
+                    if (sudoku.grid[r][c][x] > 0)
+                    {
+                        mask |= 1 << x;
+                        for (int j = 0; j < 3; j++)
+                        {
+                            places[Topology.CELL_UNITS[i * 3 + j] * 9 + x] |= 1 << POSITION_IN_UNIT[i * 3 + j];
+                        }
+                    }
+                }
+            }
+            candidates[i] = mask;
+        }
+    }
+
+    public void removeCandidate(int cell, int d)
+    {
+        int bit = 1 << (d - 1);
+        if ((candidates[cell] & bit) == 0) return;
+        candidates[cell] &= ~bit;
+        for (int j = 0; j < 3; j++)
+        {
+            places[Topology.CELL_UNITS[cell * 3 + j] * 9 + d - 1] &= ~(1 << POSITION_IN_UNIT[cell * 3 + j]);
+        }
+    }
+
+    /**
+     * Removes candidate d of cell from sudoku, the copy a technique works on, and from the graph
+     */
+    void eliminate(Sudoku sudoku, int cell, int d, TechniqueOptions options, int[] results)
+    {
+        Solver.deleteCandidatesInCell(options.solverHighlights, sudoku, new int[] { d }, Topology.ROW_OF[cell], Topology.COLUMN_OF[cell], options.eliminateRecursively, options.returnIfInvalid, results);
+        removeCandidate(cell, d);
+    }
+
+    public static int node(int cell, int d)
+    {
+        return cell * 9 + d - 1;
+    }
+
+    public static int cellOf(int node)
+    {
+        return node / 9;
+    }
+
+    public static int digitOf(int node)
+    {
+        return node % 9 + 1;
+    }
+
+    public boolean hasCandidate(int cell, int d)
+    {
+        return (candidates[cell] & (1 << (d - 1))) != 0;
+    }
+
+    public int getCandidates(int cell)
+    {
+        return candidates[cell];
+    }
+
+    /**
+     * @return the cells of unit u that have candidate d, as positions in Topology.UNIT_CELLS
+     */
+    public int getPlaces(int u, int d)
+    {
+        return places[u * 9 + d - 1];
+    }
+
+    public boolean isBivalue(int cell)
+    {
+        return Integer.bitCount(candidates[cell]) == 2;
+    }
+
+    /**
+     * @return whether candidates a and b can't both be true, for 2 different candidates of the graph
+     */
+    public static boolean isWeaklyLinked(int a, int b)
+    {
+        if (a == b) return false;
+        int cellA = cellOf(a);
+        int cellB = cellOf(b);
+        return cellA == cellB || (digitOf(a) == digitOf(b) && Topology.isPeer(cellA, cellB));
+    }
+
+    /**
+     * Puts the candidates that are strongly linked to node into links
+     * @param links has room for at least 4 nodes, one per unit and one in the cell
+     * @param sameDigit if true, only the links of conjugate pairs, as used by single digit techniques
+     * @return the number of links
+     */
+    public int getStrongLinks(int node, int[] links, boolean sameDigit)
+    {
+        int cell = cellOf(node);
+        int d = digitOf(node);
+        int count = 0;
+        if ((candidates[cell] & (1 << (d - 1))) == 0) return 0;
+
+        for (int j = 0; j < 3; j++)
+        {
+            int u = Topology.CELL_UNITS[cell * 3 + j];
+            int unitPlaces = places[u * 9 + d - 1];
+            if (Integer.bitCount(unitPlaces) != 2) continue;
+            int other = Topology.UNIT_CELLS[u * 9 + Integer.numberOfTrailingZeros(unitPlaces & ~(1 << POSITION_IN_UNIT[cell * 3 + j]))];
+            int otherNode = node(other, d);
+            boolean duplicate = false; // two cells in the same row and box are a conjugate pair in both
+            for (int k = 0; k < count; k++)
+            {
+                if (links[k] == otherNode) duplicate = true;
+            }
+            if (!duplicate) links[count++] = otherNode;
+        }
+        if (!sameDigit && isBivalue(cell))
+        {
+            links[count++] = node(cell, CompactSudoku.lowestDigit(candidates[cell] & ~(1 << (d - 1))));
+        }
+        return count;
+    }
+
+    /**
+     * Puts the candidates that are weakly linked to node into links
+     * @param links has room for at least 28 nodes, 20 peers and 8 other candidates of the cell
+     * @param sameDigit if true, only the same digit in the peers
+     * @return the number of links
+     */
+    public int getWeakLinks(int node, int[] links, boolean sameDigit)
+    {
+        int cell = cellOf(node);
+        int d = digitOf(node);
+        int bit = 1 << (d - 1);
+        int count = 0;
+        for (int p = cell * Topology.PEER_COUNT; p < (cell + 1) * Topology.PEER_COUNT; p++)
+        {
+            int peer = Topology.PEERS[p];
+            if ((candidates[peer] & bit) != 0) links[count++] = node(peer, d);
+        }
+        if (!sameDigit)
+        {
+            for (int bits = candidates[cell] & ~bit; bits != 0; bits &= bits - 1)
+            {
+                links[count++] = node(cell, Integer.numberOfTrailingZeros(bits) + 1);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * A thread safe, append only list of solved grids for Solution Count, stored with 2 cells per byte,
+ * so that a solution takes 41 bytes instead of the 10 arrays and 81 ints of an int[9][9].
+ * The solvers add solutions while the table of AllSolutionsFrame reads the rows it shows,
+ * which are unpacked into a new int[9][9] each time they are asked for.
+ * The bytes are kept in pages of PAGE_SIZE solutions, so growing the list never copies the solutions found so far.
+ * @since 10-17-2026
+ */
+public class PackedSolutions extends AbstractList<int[][]>
+{
+    static final int BYTES_PER_SOLUTION = 41; // 81 values of 4 bits
+    static final int PAGE_SIZE = 1024; // solutions per page
+
+    private byte[][] pages = new byte[4][];
+    private volatile int size;
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param solution a solved status array, values 1 ~ 9
+     */
+    @Override
+    public synchronized boolean add(int[][] solution)
+    {
+        int offset = reserve();
+        byte[] page = pages[size / PAGE_SIZE];
+        for (int i = 0; i < 81; i += 2)
+        {
+            int low = solution[i / 9][i % 9];
+            int high = i + 1 < 81 ? solution[(i + 1) / 9][(i + 1) % 9] : 0;
+            page[offset + i / 2] = (byte) (low | high << 4);
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Same as add(sudoku.getStatus()) for a solved sudoku, without making the status array
+     */
+    public synchronized void add(CompactSudoku sudoku)
+    {
+        int offset = reserve();
+        byte[] page = pages[size / PAGE_SIZE];
+        for (int i = 0; i < 81; i += 2)
+        {
+            int high = i + 1 < 81 ? sudoku.values[i + 1] : 0;
+            page[offset + i / 2] = (byte) (sudoku.values[i] | high << 4);
+        }
+        size++;
+    }
+
+    /**
+     * Makes sure there is room for one more solution
+     * @return the offset of the next solution in its page
+     */
+    private int reserve()
+    {
+        int pageIndex = size / PAGE_SIZE;
+        if (pageIndex == pages.length) pages = Arrays.copyOf(pages, pages.length * 2);
+        if (pages[pageIndex] == null) pages[pageIndex] = new byte[PAGE_SIZE * BYTES_PER_SOLUTION];
+        return size % PAGE_SIZE * BYTES_PER_SOLUTION;
+    }
+
+    /**
+     * @return a new status array with solution i
+     */
+    @Override
+    public synchronized int[][] get(int index)
+    {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        byte[] page = pages[index / PAGE_SIZE];
+        int offset = index % PAGE_SIZE * BYTES_PER_SOLUTION;
+        int[][] solution = new int[9][9];
+        for (int i = 0; i < 81; i++)
+        {
+            int packed = page[offset + i / 2];
+            solution[i / 9][i % 9] = (i % 2 == 0 ? packed : packed >> 4) & 0xF;
+        }
+        return solution;
+    }
+}
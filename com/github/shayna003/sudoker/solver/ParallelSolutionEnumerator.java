@@ -0,0 +1,131 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enumerates the solutions of a puzzle on a ForkJoinPool, for Solve All on boards with many solutions.
+ * The top levels of the search tree are split into one task per guess,
+ * and the subtrees below SPLIT_DEPTH are searched by the TrailSolver of each worker thread.
+ * All tasks count solutions in one shared AtomicInteger, and stop as soon as it goes over the maximum.
+ * @since 10-17-2026
+ */
+public class ParallelSolutionEnumerator
+{
+    /**
+     * Number of guesses that are split into separate tasks before searching a subtree on one thread.
+     * For an empty board this is up to 9 * 8 * 7 tasks, enough to keep every core busy.
+     */
+    static final int SPLIT_DEPTH = 3;
+
+    /**
+     * Finds up to maxSolutions + 1 solutions, with the same result as
+     * {@code Solver.solve(sudoku, puzzleSolutions, Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED)}.
+     * The order of the solutions depends on the scheduling of the tasks.
+     * @param puzzleSolutions where the solutions found are assinged to, can be null
+     * @return number of total solutions found, < 1 = invalid puzzle
+     */
+    public static int enumerate(Sudoku sudoku, List<int[][]> puzzleSolutions, int maxSolutions)
+    {
+        return enumerate(new CompactSudoku(sudoku), puzzleSolutions, maxSolutions);
+    }
+
+    public static int enumerate(CompactSudoku sudoku, List<int[][]> puzzleSolutions, int maxSolutions)
+    {
+        return enumerate(sudoku, puzzleSolutions, new SolveRequest(Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED, maxSolutions));
+    }
+
+    /**
+     * @param puzzleSolutions a PackedSolutions gets the solutions as soon as they are found, so they can be shown while the search runs,
+     * other lists get them when the search is over
+     * @param request limits of this run, shared by all worker threads. Its mode is ignored.
+     * @return number of total solutions found, < 1 = invalid puzzle or no solutions found before stopping
+     */
+    public static int enumerate(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request)
+    {
+        request.begin();
+        AtomicInteger solutionCount = new AtomicInteger();
+        List<int[][]> solutions = puzzleSolutions == null || puzzleSolutions instanceof PackedSolutions ? puzzleSolutions : Collections.synchronizedList(new ArrayList<>());
+        ForkJoinPool.commonPool().invoke(new EnumerateTask(sudoku, 0, solutions, request, solutionCount));
+
+        if (solutions != puzzleSolutions) puzzleSolutions.addAll(solutions);
+        int found = Math.min(solutionCount.get(), request.maxSolutions + 1);
+        request.finish(found);
+        return found > 0 ? found : -1;
+    }
+
+    static class EnumerateTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        final CompactSudoku sudoku;
+        final int depth;
+        final List<int[][]> solutions;
+        final SolveRequest request;
+        final AtomicInteger solutionCount;
+
+        EnumerateTask(CompactSudoku sudoku, int depth, List<int[][]> solutions, SolveRequest request, AtomicInteger solutionCount)
+        {
+            this.sudoku = sudoku;
+            this.depth = depth;
+            this.solutions = solutions;
+            this.request = request;
+            this.solutionCount = solutionCount;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (solutionCount.get() > request.maxSolutions || request.isStopped()) return;
+
+            TrailSolver solver = TrailSolver.forCurrentThread();
+            if (depth >= SPLIT_DEPTH)
+            {
+                solver.enumerate(sudoku, solutions, request, solutionCount, depth);
+                return;
+            }
+
+            request.addNodes(1);
+            long eliminationsBefore = solver.eliminations;
+            if (!solver.load(sudoku))
+            {
+                request.getStats().add(1, 0, 0, solver.eliminations - eliminationsBefore, depth);
+                return;
+            }
+            if (solver.solvedCount == 81)
+            {
+                solver.enumerate(sudoku, solutions, request, solutionCount, depth);
+                return;
+            }
+
+            // make one subtask for each candidate of the cell with the fewest candidates, like TrailSolver.search()
+            int cell = SolverUtil.cellWithFewestCandidates(solver.board);
+            int possibilities = solver.board.candidates[cell];
+            int mark = solver.trailSize;
+            ArrayList<EnumerateTask> subtasks = new ArrayList<>(Integer.bitCount(possibilities));
+            int guesses = Integer.bitCount(possibilities);
+            while (possibilities != 0)
+            {
+                int n = CompactSudoku.lowestDigit(possibilities);
+                possibilities &= possibilities - 1;
+
+                if (solver.assign(cell, n) && solver.propagate() && solver.fillHiddenSingles())
+                {
+                    subtasks.add(new EnumerateTask(solver.board.clone(), depth + 1, solutions, request, solutionCount));
+                }
+                solver.queueHead = 0;
+                solver.queueTail = 0;
+                solver.undo(mark);
+            }
+            // only guesses that fail while propagating count as backtracks here, subtasks do not count their own failure
+            request.getStats().add(1, guesses, guesses - subtasks.size(), solver.eliminations - eliminationsBefore, depth);
+            invokeAll(subtasks);
+        }
+    }
+}
@@ -11,15 +11,19 @@ public class Results
 {
     public int found;
     public Sudoku sudoku;
-    public ArrayList<String> messages;
+
+    /**
+     * What the technique found, rendered to text by SolvingTechniqueTree.flattenMessages only when displayed
+     */
+    public ArrayList<Finding> findings;
     public SolvingTechnique solvingTechniqueUsed;
     public SolvingTechniqueNode techniqueNodeUsed;
 
-    public Results(Sudoku sudoku, int found, ArrayList<String> messages, SolvingTechnique solvingTechniqueUsed)
+    public Results(Sudoku sudoku, int found, ArrayList<Finding> findings, SolvingTechnique solvingTechniqueUsed)
     {
         this.sudoku = sudoku;
         this.found = found;
-        this.messages = messages;
+        this.findings = findings;
         this.solvingTechniqueUsed = solvingTechniqueUsed;
     }
 }
@@ -0,0 +1,387 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.Canonicalizer;
+import com.github.shayna003.sudoker.util.SudokuTransform;
+import com.github.shayna003.sudoker.util.Topology;
+
+import java.io.*;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Remembers what is known about puzzles: how many solutions they have, their first solution and their rating,
+ * so that checking the same puzzle again, in another tab, after an undo or during generation, is a lookup instead of a search.
+ * Entries are keyed by the canonical fingerprint of the puzzle's givens, so all equivalent puzzles share one entry,
+ * and editing the givens simply makes a board look up a different entry, there is nothing to invalidate.
+ * Only boards whose candidates follow from their givens and that have at least MIN_CLUES givens can be looked up, see keyOf().
+ *
+ * The cache is bounded by the estimated memory of its entries, and drops the least recently used ones first.
+ * One instance is shared by all tabs, see getShared(), and may be saved to the data folder between sessions.
+ * All methods are thread safe.
+ * @since 10-17-2026
+ */
+public class SolutionCache
+{
+    public static final int UNKNOWN = -1;
+    public static final long DEFAULT_MAX_BYTES = 4 << 20;
+    public static final String FILE_NAME = "solution_cache.dat";
+    // fewer givens can't have a unique solution, and canonicalizing them gets slow, up to about half a second for an empty board
+    public static final int MIN_CLUES = 17;
+
+    static final int FILE_MAGIC = 0x53444b43; // "SDKC"
+    static final int FILE_VERSION = 2; // 2 added the rater version
+    static final int ENTRY_OVERHEAD = 96; // estimated bytes of an entry besides its arrays, including the map node
+
+    private static SolutionCache shared;
+
+    /**
+     * What is known about one puzzle, in the coordinates of its canonical form
+     */
+    static class Entry
+    {
+        final byte[] canonicalForm;
+        int solutionCount = UNKNOWN;
+        boolean exact; // else solutionCount is a lower bound
+        byte[] solution;
+        int rating = UNKNOWN;
+
+        Entry(byte[] canonicalForm)
+        {
+            this.canonicalForm = canonicalForm;
+        }
+
+        long estimatedBytes()
+        {
+            return ENTRY_OVERHEAD + 81 + (solution == null ? 0 : 81);
+        }
+    }
+
+    /**
+     * A puzzle prepared for lookups, computing it canonicalizes the puzzle once
+     */
+    public static class Key
+    {
+        public final long fingerprint;
+        final byte[] canonicalForm;
+        final SudokuTransform transform;
+
+        Key(byte[] canonicalForm, SudokuTransform transform)
+        {
+            this.fingerprint = Canonicalizer.fingerprintOfCanonicalForm(canonicalForm);
+            this.canonicalForm = canonicalForm;
+            this.transform = transform;
+        }
+    }
+
+    final long maxBytes;
+    long bytes;
+    boolean changed; // since loading or saving
+
+    long hits;
+    long misses;
+    long evictions;
+
+    // in access order, so the first entry is the least recently used
+    final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    public SolutionCache(long maxBytes)
+    {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the cache shared by all tabs, loaded from the data folder the first time if the solver settings say so
+     */
+    public static synchronized SolutionCache getShared()
+    {
+        if (shared == null)
+        {
+            shared = new SolutionCache(DEFAULT_MAX_BYTES);
+            File file = getFile();
+            if (file != null && file.exists() && shouldPersist())
+            {
+                try
+                {
+                    shared.load(file);
+                }
+                catch (IOException e)
+                {
+                    if (Application.exceptionLogger != null) Application.exceptionLogger.log(Level.WARNING, "Could not load the solution cache from " + file, e);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Called when the application saves its settings
+     */
+    public static synchronized void saveShared()
+    {
+        File file = getFile();
+        if (shared == null || file == null || !shouldPersist()) return;
+        try
+        {
+            if (shared.changed) shared.save(file);
+            if (Application.prefsLogger != null) Application.prefsLogger.log(Level.INFO, "Solution cache: " + shared);
+        }
+        catch (IOException e)
+        {
+            if (Application.exceptionLogger != null) Application.exceptionLogger.log(Level.WARNING, "Could not save the solution cache to " + file, e);
+        }
+    }
+
+    static File getFile()
+    {
+        return Application.dataFolder == null ? null : new File(Application.dataFolder, FILE_NAME);
+    }
+
+    static boolean shouldPersist()
+    {
+        return Application.solverSettingsPanel == null || Application.solverSettingsPanel.persistSolutionCache.isSelected();
+    }
+
+    /**
+     * @return the key of the puzzle made of the solved cells of sudoku,
+     * or null if some unsolved cell is missing a candidate that its solved peers allow,
+     * as then the solutions depend on more than the givens, or if it has fewer than MIN_CLUES givens.
+     * Can take a few milliseconds, so call it off the event dispatch thread if the board may be large.
+     */
+    public static Key keyOf(CompactSudoku sudoku)
+    {
+        if (sudoku.solvedCellCount() < MIN_CLUES) return null;
+        for (int i = 0; i < 81; i++)
+        {
+            if (sudoku.values[i] != 0) continue;
+            int allowed = CompactSudoku.ALL_CANDIDATES;
+            for (int p = i * Topology.PEER_COUNT; p < (i + 1) * Topology.PEER_COUNT; p++)
+            {
+                int value = sudoku.values[Topology.PEERS[p]];
+                if (value != 0) allowed &= ~CompactSudoku.bit(value);
+            }
+            if ((sudoku.candidates[i] & allowed) != allowed) return null;
+        }
+        Canonicalizer canonicalizer = Canonicalizer.forCurrentThread();
+        SudokuTransform transform = canonicalizer.canonicalize(sudoku.values);
+        return new Key(transform.apply(sudoku.values), transform);
+    }
+
+    /**
+     * @return what a solver run with this mode would return for the puzzle, or UNKNOWN if the cache can't tell
+     */
+    public synchronized int getSolutionCount(Key key, int mode, int maxSolutions)
+    {
+        Entry entry = get(key);
+        int count = entry == null ? UNKNOWN : entry.solutionCount;
+        int limit = getLimit(mode, maxSolutions);
+        if (count == UNKNOWN || (!entry.exact && count < limit))
+        {
+            misses++;
+            return UNKNOWN;
+        }
+        hits++;
+        return Math.min(count, limit);
+    }
+
+    /**
+     * Records the result of a solver run that completed, i.e. was not stopped early
+     * @param found what the solver returned
+     */
+    public synchronized void putSolutionCount(Key key, int mode, int maxSolutions, int found)
+    {
+        found = Math.max(found, 0);
+        boolean exact = found < getLimit(mode, maxSolutions);
+        Entry entry = getOrCreate(key);
+        if (entry.exact) return;
+        if (exact || found > entry.solutionCount)
+        {
+            entry.solutionCount = found;
+            entry.exact = exact;
+            changed = true;
+        }
+    }
+
+    /**
+     * @return the most solutions a solver run with this mode reports
+     */
+    static int getLimit(int mode, int maxSolutions)
+    {
+        if (mode == Solver.FIND_ONE_SOLUTION) return 1;
+        if (mode == Solver.RETURN_IF_FINDS_SECOND_SOLUTION) return 2;
+        return maxSolutions + 1;
+    }
+
+    /**
+     * @return the first solution found for the puzzle, in the puzzle's own coordinates, or null if there is none in the cache
+     */
+    public synchronized int[][] getSolution(Key key)
+    {
+        Entry entry = get(key);
+        if (entry == null || entry.solution == null)
+        {
+            misses++;
+            return null;
+        }
+        hits++;
+        int[][] solution = new int[9][9];
+        byte[] values = key.transform.inverse().apply(entry.solution);
+        for (int i = 0; i < 81; i++) solution[Topology.ROW_OF[i]][Topology.COLUMN_OF[i]] = values[i];
+        return solution;
+    }
+
+    public synchronized void putSolution(Key key, int[][] solution)
+    {
+        Entry entry = getOrCreate(key);
+        if (entry.solution != null) return;
+
+        int[][] canonical = key.transform.apply(solution);
+        entry.solution = new byte[81];
+        for (int i = 0; i < 81; i++) entry.solution[i] = (byte) canonical[Topology.ROW_OF[i]][Topology.COLUMN_OF[i]];
+        bytes += 81;
+        if (entry.solutionCount == UNKNOWN)
+        {
+            entry.solutionCount = 1;
+            entry.exact = false;
+        }
+        changed = true;
+        evict();
+    }
+
+    public synchronized int getRating(Key key)
+    {
+        Entry entry = get(key);
+        if (entry == null || entry.rating == UNKNOWN)
+        {
+            misses++;
+            return UNKNOWN;
+        }
+        hits++;
+        return entry.rating;
+    }
+
+    public synchronized void putRating(Key key, int rating)
+    {
+        getOrCreate(key).rating = rating;
+        changed = true;
+    }
+
+    private Entry get(Key key)
+    {
+        Entry entry = entries.get(key.fingerprint);
+        // fingerprints of different puzzles can collide, if unlikely
+        return entry != null && Arrays.equals(entry.canonicalForm, key.canonicalForm) ? entry : null;
+    }
+
+    private Entry getOrCreate(Key key)
+    {
+        Entry entry = get(key);
+        if (entry == null)
+        {
+            entry = new Entry(key.canonicalForm);
+            Entry replaced = entries.put(key.fingerprint, entry);
+            if (replaced != null) bytes -= replaced.estimatedBytes();
+            bytes += entry.estimatedBytes();
+            evict();
+        }
+        return entry;
+    }
+
+    private void evict()
+    {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext())
+        {
+            bytes -= iterator.next().estimatedBytes();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear()
+    {
+        entries.clear();
+        bytes = 0;
+        changed = true;
+    }
+
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    public synchronized long getHits()
+    {
+        return hits;
+    }
+
+    public synchronized long getMisses()
+    {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        long lookups = hits + misses;
+        return String.format("%,d entries, %,d bytes, %,d hits, %,d misses (%.1f%% hit rate), %,d evictions", entries.size(), bytes, hits, misses, lookups == 0 ? 0.0 : hits * 100.0 / lookups, evictions);
+    }
+
+    /**
+     * Adds the entries saved in file, the least recently used first.
+     * Ratings saved by another version of DifficultyRater, or before the version was saved, are dropped.
+     */
+    public synchronized void load(File file) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+        {
+            int version = in.readInt() == FILE_MAGIC ? in.readInt() : -1;
+            if (version != 1 && version != FILE_VERSION) throw new IOException("Not a solution cache file of version " + FILE_VERSION);
+            boolean ratingsCurrent = version >= 2 && in.readInt() == DifficultyRater.VERSION;
+            int count = in.readInt();
+            for (int k = 0; k < count; k++)
+            {
+                byte[] canonicalForm = new byte[81];
+                in.readFully(canonicalForm);
+                Entry entry = new Entry(canonicalForm);
+                entry.solutionCount = in.readInt();
+                entry.exact = in.readBoolean();
+                entry.rating = in.readInt();
+                if (!ratingsCurrent) entry.rating = UNKNOWN;
+                if (in.readBoolean())
+                {
+                    entry.solution = new byte[81];
+                    in.readFully(entry.solution);
+                }
+                Entry replaced = entries.put(Canonicalizer.fingerprintOfCanonicalForm(canonicalForm), entry);
+                if (replaced != null) bytes -= replaced.estimatedBytes();
+                bytes += entry.estimatedBytes();
+            }
+        }
+        evict();
+        changed = false;
+    }
+
+    public synchronized void save(File file) throws IOException
+    {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+        {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(DifficultyRater.VERSION);
+            out.writeInt(entries.size());
+            for (Entry entry : entries.values())
+            {
+                out.write(entry.canonicalForm);
+                out.writeInt(entry.solutionCount);
+                out.writeBoolean(entry.exact);
+                out.writeInt(entry.rating);
+                out.writeBoolean(entry.solution != null);
+                if (entry.solution != null) out.write(entry.solution);
+            }
+        }
+        changed = false;
+    }
+}
@@ -0,0 +1,204 @@
+package com.github.shayna003.sudoker.solver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Describes one run of a solver: its mode, when it should give up, and who to tell about its progress.
+ * The solvers count the nodes they visit and call checkpoint() every few thousand nodes,
+ * which is where cancellation, the deadline and the node budget are checked and progress is reported.
+ * One request can be shared by the worker threads of the same run, but not reused for another run.
+ * @since 10-17-2026
+ */
+public class SolveRequest
+{
+    public enum Outcome
+    {
+        COMPLETED, CANCELLED, DEADLINE_REACHED, NODE_BUDGET_EXHAUSTED
+    }
+
+    /**
+     * Called from the solving threads, at most once per progress interval
+     */
+    @FunctionalInterface
+    public interface ProgressListener
+    {
+        void progressMade(long nodesVisited, int solutionsFound, int depth);
+    }
+
+    // how many nodes a solver visits between two calls to checkpoint()
+    static final int CHECK_INTERVAL = 1024;
+
+    public final int mode;
+    public final int maxSolutions;
+
+    private volatile boolean cancelled = false;
+    private volatile Outcome outcome = Outcome.COMPLETED;
+
+    private long timeLimit = 0; // in nanoseconds, 0 = no limit
+    private long nodeBudget = Long.MAX_VALUE;
+    private ProgressListener progressListener;
+    private long progressInterval = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private long startTime;
+    private long deadline;
+    private final AtomicLong nodesVisited = new AtomicLong();
+    private final AtomicLong lastProgressTime = new AtomicLong();
+    private final SolveStats stats = new SolveStats();
+
+    /**
+     * @param mode one of {@code Solver.FIND_ONE_SOLUTION, Solver.RETURN_IF_FINDS_SECOND_SOLUTION, Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED }
+     * @param maxSolutions in KEEP_ON_LOOKING_UNTIL_MAX_REACHED mode, stops after finding more than this many solutions
+     */
+    public SolveRequest(int mode, int maxSolutions)
+    {
+        this.mode = mode;
+        this.maxSolutions = maxSolutions;
+    }
+
+    /**
+     * @param millis how long the run may take, counted from when it starts
+     */
+    public SolveRequest setTimeLimit(long millis)
+    {
+        timeLimit = TimeUnit.MILLISECONDS.toNanos(millis);
+        return this;
+    }
+
+    /**
+     * @param nodes how many search nodes the run may visit, checked every CHECK_INTERVAL nodes
+     */
+    public SolveRequest setNodeBudget(long nodes)
+    {
+        nodeBudget = nodes;
+        return this;
+    }
+
+    public SolveRequest setProgressListener(ProgressListener listener, long intervalMillis)
+    {
+        progressListener = listener;
+        progressInterval = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        return this;
+    }
+
+    /**
+     * Asks the solvers of this request to stop, can be called from any thread
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    /**
+     * @return COMPLETED if the search space was exhausted or the solution limit of the mode was reached,
+     * or why the solvers stopped early
+     */
+    public Outcome getOutcome()
+    {
+        return outcome;
+    }
+
+    public boolean stoppedEarly()
+    {
+        return outcome != Outcome.COMPLETED;
+    }
+
+    /**
+     * @return the statistics of this run, complete once the solve method that started it has returned
+     */
+    public SolveStats getStats()
+    {
+        return stats;
+    }
+
+    public long getNodesVisited()
+    {
+        return nodesVisited.get();
+    }
+
+    public long getElapsedNanos()
+    {
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * @return average number of nodes visited per second since the run started
+     */
+    public long getNodesPerSecond()
+    {
+        long elapsed = getElapsedNanos();
+        return elapsed <= 0 ? 0 : nodesVisited.get() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Called once by the solver that starts the run
+     */
+    void begin()
+    {
+        startTime = System.nanoTime();
+        deadline = startTime + timeLimit;
+        lastProgressTime.set(startTime);
+    }
+
+    /**
+     * Called once by the solver that started the run, when the run is over
+     */
+    void finish(int solutionsFound)
+    {
+        stats.finish(Math.max(solutionsFound, 0), getElapsedNanos());
+    }
+
+    /**
+     * Called by the solvers when they finish, with the nodes visited since their last checkpoint
+     */
+    void addNodes(int newNodes)
+    {
+        nodesVisited.addAndGet(newNodes);
+    }
+
+    /**
+     * Called by the solvers every CHECK_INTERVAL nodes
+     * @param newNodes nodes visited since the last call
+     * @return true if the solver should stop
+     */
+    boolean checkpoint(int newNodes, int solutionsFound, int depth)
+    {
+        long nodes = nodesVisited.addAndGet(newNodes);
+        if (outcome != Outcome.COMPLETED) return true;
+
+        long now = System.nanoTime();
+        if (cancelled) return stop(Outcome.CANCELLED);
+        if (timeLimit > 0 && now - deadline >= 0) return stop(Outcome.DEADLINE_REACHED);
+        if (nodes >= nodeBudget) return stop(Outcome.NODE_BUDGET_EXHAUSTED);
+
+        if (progressListener != null)
+        {
+            long last = lastProgressTime.get();
+            if (now - last >= progressInterval && lastProgressTime.compareAndSet(last, now))
+            {
+                progressListener.progressMade(nodes, solutionsFound, depth);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the solvers of this request have been told to stop
+     */
+    boolean isStopped()
+    {
+        if (cancelled) stop(Outcome.CANCELLED);
+        return outcome != Outcome.COMPLETED;
+    }
+
+    private boolean stop(Outcome reason)
+    {
+        if (outcome == Outcome.COMPLETED) outcome = reason;
+        return true;
+    }
+}
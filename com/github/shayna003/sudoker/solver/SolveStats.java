@@ -0,0 +1,80 @@
+package com.github.shayna003.sudoker.solver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a solver did during one run, filled in through the SolveRequest of the run.
+ * The solvers keep their own counters while searching and add them here when they finish,
+ * so the worker threads of a parallel run only synchronize once each.
+ * @since 10-17-2026
+ */
+public class SolveStats
+{
+    long nodes; // calls of the search function
+    long guesses; // candidates tried in a cell with more than one candidate
+    long backtracks; // guesses that were undone without leading to a solution
+    long eliminations; // candidates removed by propagation, or matrix rows removed by covering for DancingLinks
+    int maxDepth; // deepest level of the search tree reached
+    int solutions;
+    long wallTimeNanos;
+
+    public long getNodes()
+    {
+        return nodes;
+    }
+
+    public long getGuesses()
+    {
+        return guesses;
+    }
+
+    public long getBacktracks()
+    {
+        return backtracks;
+    }
+
+    public long getEliminations()
+    {
+        return eliminations;
+    }
+
+    public int getMaxDepth()
+    {
+        return maxDepth;
+    }
+
+    public int getSolutions()
+    {
+        return solutions;
+    }
+
+    public long getWallTimeNanos()
+    {
+        return wallTimeNanos;
+    }
+
+    /**
+     * Adds the counters of one solver to the stats of its run
+     */
+    synchronized void add(long nodes, long guesses, long backtracks, long eliminations, int maxDepth)
+    {
+        this.nodes += nodes;
+        this.guesses += guesses;
+        this.backtracks += backtracks;
+        this.eliminations += eliminations;
+        this.maxDepth = Math.max(this.maxDepth, maxDepth);
+    }
+
+    synchronized void finish(int solutions, long wallTimeNanos)
+    {
+        this.solutions = solutions;
+        this.wallTimeNanos = wallTimeNanos;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return String.format("%,d nodes, %,d guesses, %,d backtracks, %,d eliminations, max depth %d, %,d solutions, %,d us",
+            nodes, guesses, backtracks, eliminations, maxDepth, solutions, TimeUnit.NANOSECONDS.toMicros(wallTimeNanos));
+    }
+}
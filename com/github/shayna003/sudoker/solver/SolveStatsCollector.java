@@ -0,0 +1,145 @@
+package com.github.shayna003.sudoker.solver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the SolveStats of many runs into totals and power of 2 histograms,
+ * e.g. to profile a solver over a file of puzzles.
+ * Bucket k of a histogram counts the runs whose value v has 2^(k-1) <= v < 2^k, bucket 0 counts v = 0.
+ * @since 10-17-2026
+ */
+public class SolveStatsCollector
+{
+    static final int BUCKET_COUNT = 64;
+
+    int runs;
+    int unsolved; // runs without a solution
+    long totalNodes;
+    long totalGuesses;
+    long totalBacktracks;
+    long totalEliminations;
+    long totalWallTimeNanos;
+    int maxDepth;
+
+    final long[] nodesHistogram = new long[BUCKET_COUNT];
+    final long[] guessesHistogram = new long[BUCKET_COUNT];
+    final long[] depthHistogram = new long[BUCKET_COUNT];
+    final long[] wallTimeHistogram = new long[BUCKET_COUNT]; // in microseconds
+
+    public synchronized void add(SolveStats stats)
+    {
+        runs++;
+        if (stats.solutions <= 0) unsolved++;
+        totalNodes += stats.nodes;
+        totalGuesses += stats.guesses;
+        totalBacktracks += stats.backtracks;
+        totalEliminations += stats.eliminations;
+        totalWallTimeNanos += stats.wallTimeNanos;
+        maxDepth = Math.max(maxDepth, stats.maxDepth);
+
+        nodesHistogram[bucketOf(stats.nodes)]++;
+        guessesHistogram[bucketOf(stats.guesses)]++;
+        depthHistogram[bucketOf(stats.maxDepth)]++;
+        wallTimeHistogram[bucketOf(TimeUnit.NANOSECONDS.toMicros(stats.wallTimeNanos))]++;
+    }
+
+    public synchronized void add(SolveStatsCollector other)
+    {
+        runs += other.runs;
+        unsolved += other.unsolved;
+        totalNodes += other.totalNodes;
+        totalGuesses += other.totalGuesses;
+        totalBacktracks += other.totalBacktracks;
+        totalEliminations += other.totalEliminations;
+        totalWallTimeNanos += other.totalWallTimeNanos;
+        maxDepth = Math.max(maxDepth, other.maxDepth);
+        for (int k = 0; k < BUCKET_COUNT; k++)
+        {
+            nodesHistogram[k] += other.nodesHistogram[k];
+            guessesHistogram[k] += other.guessesHistogram[k];
+            depthHistogram[k] += other.depthHistogram[k];
+            wallTimeHistogram[k] += other.wallTimeHistogram[k];
+        }
+    }
+
+    static int bucketOf(long value)
+    {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    public synchronized int getRuns()
+    {
+        return runs;
+    }
+
+    public synchronized long getTotalNodes()
+    {
+        return totalNodes;
+    }
+
+    public synchronized long getTotalWallTimeNanos()
+    {
+        return totalWallTimeNanos;
+    }
+
+    /**
+     * @return a copy of the histogram of nodes per run
+     */
+    public synchronized long[] getNodesHistogram()
+    {
+        return nodesHistogram.clone();
+    }
+
+    public synchronized long[] getGuessesHistogram()
+    {
+        return guessesHistogram.clone();
+    }
+
+    public synchronized long[] getDepthHistogram()
+    {
+        return depthHistogram.clone();
+    }
+
+    public synchronized long[] getWallTimeHistogram()
+    {
+        return wallTimeHistogram.clone();
+    }
+
+    /**
+     * @return a multi-line summary with averages and the non-empty buckets of each histogram
+     */
+    @Override
+    public synchronized String toString()
+    {
+        StringBuilder b = new StringBuilder();
+        b.append(String.format("%,d runs, %,d without solutions, max depth %d", runs, unsolved, maxDepth));
+        b.append(System.lineSeparator());
+        if (runs > 0)
+        {
+            b.append(String.format("average per run: %,.1f nodes, %,.1f guesses, %,.1f backtracks, %,.1f eliminations, %,.1f us",
+                (double) totalNodes / runs, (double) totalGuesses / runs, (double) totalBacktracks / runs,
+                (double) totalEliminations / runs, totalWallTimeNanos / 1000.0 / runs));
+            b.append(System.lineSeparator());
+        }
+        appendHistogram(b, "nodes", nodesHistogram);
+        appendHistogram(b, "guesses", guessesHistogram);
+        appendHistogram(b, "max depth", depthHistogram);
+        appendHistogram(b, "wall time (us)", wallTimeHistogram);
+        return b.toString();
+    }
+
+    private static void appendHistogram(StringBuilder b, String name, long[] histogram)
+    {
+        b.append(name);
+        b.append(':');
+        for (int k = 0; k < BUCKET_COUNT; k++)
+        {
+            if (histogram[k] == 0) continue;
+            b.append(' ');
+            b.append(k == 0 ? "0" : "<" + (1L << k));
+            b.append('=');
+            b.append(histogram[k]);
+        }
+        b.append(System.lineSeparator());
+    }
+}
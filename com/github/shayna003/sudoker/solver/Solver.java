@@ -3,7 +3,6 @@ package com.github.shayna003.sudoker.solver;
 import com.github.shayna003.sudoker.*;
 import com.github.shayna003.sudoker.prefs.DigitsAndIndexesPanel;
 import com.github.shayna003.sudoker.util.*;
-import static com.github.shayna003.sudoker.Application.digitsAndIndexesPanel;
 
 import java.util.*;
 
@@ -15,148 +14,269 @@ import java.util.*;
  */
 public class Solver
 {
-	// used by solve and guess, their values not used in the Application yet
-	public static int recursed = 0; // records how many times the guess() function was called
-	public static int successfulGuess = 0; // records the number of times a successful guess was made
-
 	public static final String messageOutputIndent = "    ";
 
-	public static void resetCounters()
-	{
-		recursed = 0;
-		successfulGuess = 0;
-	}
-
 	public static final int FIND_ONE_SOLUTION = 0;
 	public static final int RETURN_IF_FINDS_SECOND_SOLUTION = 1;
 	public static final int KEEP_ON_LOOKING_UNTIL_MAX_REACHED = 2;
 
+	// used for KEEP_ON_LOOKING_UNTIL_MAX_REACHED when there is no SolverSettingsPanel, same as its default
+	public static final int DEFAULT_MAX_SOLUTIONS = 500;
+
 	/**
-	 * Called by SolverPanel.
 	 * Solves a puzzle and find its number of solutions.
 	 * Stops checking for solutions after it exceeds maximum count specified in SolverSettingsPanel.
+	 * The search itself runs on a CompactSudoku, so that each guess only copies 2 small arrays.
 	 * @param puzzleSolutions where the solutions found are assinged to, can be null
 	 * @param mode one of {@code FIND_ONE_SOLUTION, RETURN_IF_FINDS_SECOND_SOLUTION, KEEP_ON_LOOKING_UNTIL_MAX_REACHED }
 	 * @return number of total solutions found, < 1 = invalid puzzle
 	 */
-	public static int solve(Sudoku sudoku, ArrayList<int[][]> puzzleSolutions, int mode)
+	public static int solve(Sudoku sudoku, List<int[][]> puzzleSolutions, int mode)
+	{
+		return solve(sudoku, puzzleSolutions, requestFor(mode));
+	}
+
+	/**
+	 * Same as solve(sudoku, puzzleSolutions, mode), but with the mode and limits of the request
+	 * @return number of total solutions found, < 1 = invalid puzzle or no solutions found before stopping
+	 */
+	public static int solve(Sudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request)
 	{
 		Checker.statusMatchGrid(sudoku, true, false);
-		int[] eliminateResults = new int[3];
-		Sudoku sudokuCopy = sudoku.clone();
+		return solveCopy(new CompactSudoku(sudoku), puzzleSolutions, request);
+	}
+
+	/**
+	 * Same as solve(sudoku, puzzleSolutions, request), for a puzzle that is already a CompactSudoku. The given sudoku is not changed.
+	 */
+	public static int solve(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request)
+	{
+		return solveCopy(sudoku.clone(), puzzleSolutions, request);
+	}
+
+	/**
+	 * @param sudokuCopy a copy of the puzzle, the search works on it in place
+	 */
+	private static int solveCopy(CompactSudoku sudokuCopy, List<int[][]> puzzleSolutions, SolveRequest request)
+	{
+		request.begin();
+
+		int result;
+		request.getStats().nodes++;
 
 		// try to solve puzzle through elimination
-		Solver.eliminate(null, sudokuCopy, true, true, eliminateResults);
-		if (eliminateResults[VALIDITY_INDEX] < 0)
+		if (!eliminate(sudokuCopy, request.getStats()))
 		{
-			return -1;
+			result = -1;
 		}
-
 		// check if puzzle is solved
-		int[] isSolved = Checker.checkIfPuzzleSolved(sudokuCopy, false);
-		if (isSolved[0] == 1) // puzzle solved and valid
+		else if (Checker.checkIfPuzzleSolved(sudokuCopy)) // puzzle solved and valid
+		{
+			if (puzzleSolutions != null) puzzleSolutions.add(sudokuCopy.getStatus());
+			result = 1;
+		}
+		else
 		{
-			if (puzzleSolutions != null) puzzleSolutions.add(GridUtil.copyOf(sudokuCopy.status));
-			return 1;
+			// need to guess to be able to solve this puzzle
+			result = guess(sudokuCopy, puzzleSolutions, request, 0, 0);
 		}
+		request.finish(result);
+		return result;
+	}
 
-		// need to guess to be able to solve this puzzle
-		return guess(sudokuCopy, puzzleSolutions, mode, 0);
+	/**
+	 * @return a request for mode, with the maximum count specified in SolverSettingsPanel for KEEP_ON_LOOKING_UNTIL_MAX_REACHED
+	 */
+	static SolveRequest requestFor(int mode)
+	{
+		return new SolveRequest(mode, mode == KEEP_ON_LOOKING_UNTIL_MAX_REACHED ? getMaxSolutionsForSolveAll() : 1);
+	}
+
+	/**
+	 * @return the maximum count specified in SolverSettingsPanel, or DEFAULT_MAX_SOLUTIONS if the preferences have not been built, e.g. in a batch job
+	 */
+	public static int getMaxSolutionsForSolveAll()
+	{
+		if (Application.solverSettingsPanel == null) return DEFAULT_MAX_SOLUTIONS;
+		return (Integer) Application.solverSettingsPanel.maxSolutionsForSolveAll.getValue();
 	}
 
 	/**
 	 * Called by guess
-	 * @param r the row index of the newly guessed cell
-	 * @param c  the col index of the newly guessed cell
+	 * @param i the index of the newly guessed cell
 	 */
-	private static int solve(Sudoku sudoku, ArrayList<int[][]> puzzleSolutions, int mode, int solutionsFound, int r, int c)
+	private static int solve(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request, int solutionsFound, int i, int depth)
 	{
-		Checker.statusMatchGrid(sudoku, true, false);
-		int[] eliminateResults = new int[3];
+		SolveStats stats = request.getStats();
+		stats.nodes++;
+		stats.maxDepth = Math.max(stats.maxDepth, depth);
 
 		// try to solve puzzle through elimination
-		deleteInUnit(null, sudoku, r, c, true, true, eliminateResults);
-		if (eliminateResults[VALIDITY_INDEX] < 0) // results in invalid puzzle
+		if (!deleteInUnit(sudoku, i, stats)) // results in invalid puzzle
 		{
 			return -1;
 		}
 
 		// check if puzzle is solved
-		int[] isSolved = Checker.checkIfPuzzleSolved(sudoku, false);
-		if (isSolved[0] == 1) // puzzle solved and valid
+		if (sudoku.solvedCellCount() == 81) // elimination keeps the puzzle valid
 		{
-			if (puzzleSolutions != null) puzzleSolutions.add(GridUtil.copyOf(sudoku.status));
+			if (puzzleSolutions != null) puzzleSolutions.add(sudoku.getStatus());
 			return ++solutionsFound;
 		}
 
 		// need to guess to be able to solve this puzzle
-		return guess(sudoku, puzzleSolutions, mode, solutionsFound);
+		return guess(sudoku, puzzleSolutions, request, solutionsFound, depth);
+	}
+
+	/**
+	 * Kept for callers that still work with the grid/status representation
+	 */
+	public static int guess(Sudoku sudoku, List<int[][]> puzzleSolutions, int mode, int solutionsFound)
+	{
+		return guess(new CompactSudoku(sudoku), puzzleSolutions, mode, solutionsFound);
+	}
+
+	public static int guess(CompactSudoku sudoku, List<int[][]> puzzleSolutions, int mode, int solutionsFound)
+	{
+		return guess(sudoku, puzzleSolutions, requestFor(mode), solutionsFound);
+	}
+
+	/**
+	 * Same as guess(sudoku, puzzleSolutions, mode, solutionsFound), but with the mode and limits of the request
+	 */
+	public static int guess(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request, int solutionsFound)
+	{
+		request.begin();
+		int result = guess(sudoku, puzzleSolutions, request, solutionsFound, 0);
+		request.finish(result);
+		return result;
 	}
 
 	/**
 	 * Used by solve
-	 * Stops checking for solutions after it exceeds maximum count specified in SolverSettingsPanel.
+	 * Stops checking for solutions after it exceeds request.maxSolutions, or when the request says to stop.
 	 * The final step for solving if all other steps don't work
 	 * Having the least priority in all solving methods
 	 * Recursive function - guesses one possibility of a cell as its supposed number
+	 * Adds its counters directly to the stats of the request, since the whole run is on one thread.
 	 * @param puzzleSolutions where the solutions found are assinged to, can be null
-	 * @param mode one of {@code FIND_ONE_SOLUTION, RETURN_IF_FINDS_SECOND_SOLUTION, KEEP_ON_LOOKING_UNTIL_MAX_REACHED }
 	 * @return number of total solutions found, < 1 = invalid puzzle
 	 */
-	public static int guess(Sudoku sudoku, ArrayList<int[][]> puzzleSolutions, int mode, int solutionsFound)
+	private static int guess(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request, int solutionsFound, int depth)
 	{
-		int solveResult = 0;
-		Sudoku sudokuCopy = sudoku.clone();
-		int[] cellCopy;
+		int solveResult;
+		int i = SolverUtil.cellWithFewestCandidates(sudoku); // locate a cell with the smallest number of possibilities
+		if (i < 0) return -1;
 
-		for (int n = 2; n < 10; n++) // loop through numbers 2 ~ 9, locate a cell with the smallest number of possibilities
+		int possibilities = sudoku.candidates[i];
+		while (possibilities != 0) // loop through all the possibilities of this cell
 		{
-			for (int r = 0; r < 9; r++)
-			{
-				for (int c = 0; c < 9; c++)
-				{
-					if (sudokuCopy.status[r][c] == -n) // if that cell has exactly n possibilities
-					{
-						cellCopy = GridUtil.copyOf(sudokuCopy.grid[r][c]);
+			// each guess is slow enough to check the request every time
+			if (request.checkpoint(1, solutionsFound, depth)) break;
 
-						for (int x = 0; x < 9; x++) // loop through all the possibilities of this cell
-						{
-							if (cellCopy[x] > 0) // set one possibility as that cell's only possibility
-							{
-								sudokuCopy.setValueAt(r, c, x + 1);
-								recursed++;
-								solveResult = solve(sudokuCopy.clone(), puzzleSolutions, mode, solutionsFound, r, c);
+			int n = CompactSudoku.lowestDigit(possibilities);
+			possibilities &= possibilities - 1;
 
-								if (solveResult > 0)
-								{
-									successfulGuess++;
-									solutionsFound = solveResult;
+			// set one possibility as that cell's only possibility
+			CompactSudoku sudokuCopy = sudoku.clone();
+			sudokuCopy.setValueAt(i, n);
+			request.getStats().guesses++;
+			solveResult = solve(sudokuCopy, puzzleSolutions, request, solutionsFound, i, depth + 1);
 
-									if (mode == FIND_ONE_SOLUTION)
-									{
-										assert solutionsFound == 1 : solutionsFound;
-										return solutionsFound;
-									}
-									else if (mode == RETURN_IF_FINDS_SECOND_SOLUTION && solutionsFound > 1)
-									{
-										assert solutionsFound == 2 : solutionsFound;
-										return solutionsFound;
-									}
-									else if (solutionsFound > (Integer) Application.solverSettingsPanel.maxSolutionsForSolveAll.getValue())
-									{
-										assert mode == KEEP_ON_LOOKING_UNTIL_MAX_REACHED : mode;
-										return solutionsFound;
-									}
-								}
-							}
-						}
-						if (solutionsFound > 0) return solutionsFound;
-						else return -1;
-					}
+			if (solveResult <= solutionsFound)
+			{
+				request.getStats().backtracks++;
+			}
+			else
+			{
+				solutionsFound = solveResult;
+
+				if (request.mode == FIND_ONE_SOLUTION)
+				{
+					assert solutionsFound == 1 : solutionsFound;
+					return solutionsFound;
+				}
+				else if (request.mode == RETURN_IF_FINDS_SECOND_SOLUTION && solutionsFound > 1)
+				{
+					assert solutionsFound == 2 : solutionsFound;
+					return solutionsFound;
+				}
+				else if (request.mode == KEEP_ON_LOOKING_UNTIL_MAX_REACHED && solutionsFound > request.maxSolutions)
+				{
+					return solutionsFound;
 				}
 			}
 		}
-		return -1;
+		if (solutionsFound > 0) return solutionsFound;
+		else return -1;
+	}
+
+	/**
+	 * Bitmask version of eliminate, used by solve.
+	 * Finds solved cells in the entire board and calls deleteInUnit recursively
+	 * @return false if the puzzle turns out to be invalid
+	 */
+	public static boolean eliminate(CompactSudoku sudoku)
+	{
+		return eliminate(sudoku, null);
+	}
+
+	/**
+	 * @param stats if != null, the candidates removed are added to its eliminations
+	 */
+	private static boolean eliminate(CompactSudoku sudoku, SolveStats stats)
+	{
+		for (int i = 0; i < 81; i++)
+		{
+			if (sudoku.values[i] > 0)
+			{
+				if (!Checker.checkValid(sudoku, i)) return false;
+				if (!deleteInUnit(sudoku, i, stats)) return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Bitmask version of deleteInUnit, always eliminates recursively and returns if invalid
+	 * Eliminates the value of solved cell i from all unsolved cells in its row, column, and box
+	 * @return false if the puzzle turns out to be invalid
+	 */
+	public static boolean deleteInUnit(CompactSudoku sudoku, int i)
+	{
+		return deleteInUnit(sudoku, i, null);
+	}
+
+	/**
+	 * @param stats if != null, the candidates removed are added to its eliminations
+	 */
+	private static boolean deleteInUnit(CompactSudoku sudoku, int i, SolveStats stats)
+	{
+		int n = sudoku.values[i];
+		assert n > 0 : n;
+		for (int p = i * Topology.PEER_COUNT, end = p + Topology.PEER_COUNT; p < end; p++)
+		{
+			if (!deleteInCell(sudoku, Topology.PEERS[p], n, stats)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Removes candidate n from cell i if it is unsolved, and eliminates recursively if it becomes solved
+	 * Counting each removal here saves recounting the candidates of the whole board around every step.
+	 * @return false if the puzzle turns out to be invalid
+	 */
+	private static boolean deleteInCell(CompactSudoku sudoku, int i, int n, SolveStats stats)
+	{
+		if (sudoku.values[i] > 0 || !sudoku.removeCandidate(i, n)) return true;
+		if (stats != null) stats.eliminations++;
+		if (sudoku.candidates[i] == 0) return false;
+		if (sudoku.values[i] > 0) // cell becomes solved
+		{
+			if (!Checker.checkValid(sudoku, i)) return false;
+			return deleteInUnit(sudoku, i, stats);
+		}
+		return true;
 	}
 
 	public static final int ELIMINATED_INDEX = 0;
@@ -185,32 +305,7 @@ public class Solver
 	 */
 	public static void deleteInRow(int[][][] solverHighlights, Sudoku sudoku, int r, int n, boolean eliminateRecursively, boolean returnIfInvalid, int[] results)
 	{
-		for (int c = 0; c < 9; c++)
-		{
-			if (Util.cellIsUnsolvedAndHasCandidate(sudoku, r, c, n))
-			{
-				results[ELIMINATED_INDEX]++;
-				sudoku.grid[r][c][n - 1] = 0;
-				sudoku.status[r][c] = GridUtil.getStatusForCell(sudoku.grid[r][c], sudoku.status[r][c] == -2);
-				if (solverHighlights != null) solverHighlights[r][c][n - 1] = SolverPanel.ELIMINATED_CANDIDATE;
-
-				if (returnIfInvalid && !Checker.checkValid(sudoku, r, c))
-				{
-					results[VALIDITY_INDEX] = -1;
-					return;
-				}
-
-				if (sudoku.status[r][c] > 0) // cell becomes solved
-				{
-					results[SOLVED_INDEX]++;
-					if (eliminateRecursively)
-					{
-						deleteInUnit(solverHighlights, sudoku, r, c, eliminateRecursively, returnIfInvalid, results);
-						if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return;
-					}
-				}
-			}
-		}
+		deleteInUnitCells(solverHighlights, sudoku, Topology.rowUnit(r), n, eliminateRecursively, returnIfInvalid, results);
 	}
 
 	/**
@@ -219,8 +314,28 @@ public class Solver
 	 */
 	public static void deleteInColumn(int[][][] solverHighlights, Sudoku sudoku, int c, int n, boolean eliminateRecursively, boolean returnIfInvalid, int[] results)
 	{
-		for (int r = 0; r < 9; r++)
+		deleteInUnitCells(solverHighlights, sudoku, Topology.columnUnit(c), n, eliminateRecursively, returnIfInvalid, results);
+	}
+
+	/**
+	 * @param solverHighlights if != null, set deleted places to SolverPanel.ELIMINATED_CANDIDATE
+	 * Eliminates candidate n from all unsolved cells in the the box of the given index r, c
+	 */
+	public static void deleteInBox(int[][][] solverHighlights, Sudoku sudoku, int r, int c, int n, boolean eliminateRecursively, boolean returnIfInvalid, int[] results)
+	{
+		deleteInUnitCells(solverHighlights, sudoku, Topology.boxUnit(r, c), n, eliminateRecursively, returnIfInvalid, results);
+	}
+
+	/**
+	 * Eliminates candidate n from all unsolved cells of unit u (see Topology.UNIT_CELLS)
+	 */
+	private static void deleteInUnitCells(int[][][] solverHighlights, Sudoku sudoku, int u, int n, boolean eliminateRecursively, boolean returnIfInvalid, int[] results)
+	{
+		for (int k = u * 9, end = k + 9; k < end; k++)
 		{
+			int cell = Topology.UNIT_CELLS[k];
+			int r = Topology.ROW_OF[cell];
+			int c = Topology.COLUMN_OF[cell];
 			if (Util.cellIsUnsolvedAndHasCandidate(sudoku, r, c, n))
 			{
 				results[ELIMINATED_INDEX]++;
@@ -247,51 +362,6 @@ public class Solver
 		}
 	}
 
-	/**
-	 * @param solverHighlights if != null, set deleted places to SolverPanel.ELIMINATED_CANDIDATE
-	 * Eliminates candidate n from all unsolved cells in the the box of the given index r, c
-	 */
-	public static void deleteInBox(int[][][] solverHighlights, Sudoku sudoku, int r, int c, int n, boolean eliminateRecursively, boolean returnIfInvalid, int[] results)
-	{
-		int boxTopLeftCellR = Math.floorDiv(r, 3) * 3;
-		int boxTopLeftCellC = Math.floorDiv(c, 3) * 3;
-
-		int tmpRow;
-		int tmpCol;
-
-		for (int ri = 0; ri < 3; ri++)
-		{
-			tmpRow = boxTopLeftCellR + ri;
-			for (int ci = 0; ci < 3; ci++)
-			{
-				tmpCol = boxTopLeftCellC + ci;
-				if (Util.cellIsUnsolvedAndHasCandidate(sudoku, tmpRow, tmpCol, n))
-				{
-					results[ELIMINATED_INDEX]++;
-					sudoku.grid[tmpRow][tmpCol][n - 1] = 0;
-					sudoku.status[tmpRow][tmpCol] = GridUtil.getStatusForCell(sudoku.grid[tmpRow][tmpCol], sudoku.status[tmpRow][tmpCol] == -2);
-					if (solverHighlights != null) solverHighlights[tmpRow][tmpCol][n - 1] = SolverPanel.ELIMINATED_CANDIDATE;
-
-					if (returnIfInvalid && !Checker.checkValid(sudoku, tmpRow, tmpCol))
-					{
-						results[VALIDITY_INDEX] = -1;
-						return;
-					}
-
-					if (sudoku.status[tmpRow][tmpCol] > 0) // cell becomes solved
-					{
-						results[SOLVED_INDEX]++;
-						if (eliminateRecursively)
-						{
-							deleteInUnit(solverHighlights, sudoku, tmpRow, tmpCol, eliminateRecursively, returnIfInvalid, results);
-							if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return;
-						}
-					}
-				}
-			}
-		}
-	}
-
 	/**
 	 * @param solverHighlights if != null, set deleted places to SolverPanel.ELIMINATED_CANDIDATE
 	 * Find Solved cells in the entired board and call deleteInUnit
@@ -314,14 +384,14 @@ public class Solver
 
 	/**
 	 * Used directly by the solving technique tree
+	 * @param options returnFirst is ignored, every solved cell is used
 	 */
-	public static Results eliminate(Board board, boolean eliminateRecursively, boolean returnIfInvalid, boolean compileMessages)
+	public static Results eliminate(Sudoku sudoku, TechniqueOptions options)
 	{
-		int[][] statusCopy = GridUtil.copyOf(board.sudoku.status);
-		Sudoku sudokuCopy = board.sudoku.clone();
-		ArrayList<String> messages = new ArrayList<>();
-		StringBuilder messageBuilder = new StringBuilder();
-		Results solveResults = new Results(sudokuCopy, 0, messages, SolvingTechnique.ELIMINATE);
+		int[][] statusCopy = GridUtil.copyOf(sudoku.status);
+		Sudoku sudokuCopy = sudoku.clone();
+		ArrayList<Finding> findings = new ArrayList<>();
+		Results solveResults = new Results(sudokuCopy, 0, findings, SolvingTechnique.ELIMINATE);
 
 		int[] eliminateResults = new int[3];
 
@@ -329,28 +399,19 @@ public class Solver
 		{
 			for (int c = 0; c < 9; c++)
 			{
-				if (statusCopy[r][c] > 0)
+				if (statusCopy[r][c] > 0 && options.searchesCell(r * 9 + c))
 				{
-					deleteInUnit(board.solverHighlights, sudokuCopy, r, c, eliminateRecursively, returnIfInvalid, eliminateResults);
+					deleteInUnit(options.solverHighlights, sudokuCopy, r, c, options.eliminateRecursively, options.returnIfInvalid, eliminateResults);
 					if (eliminateResults[ELIMINATED_INDEX] > 0)
 					{
 						solveResults.found++;
-						if (compileMessages)
+						if (options.recordFindings)
 						{
-							messageBuilder.append("Solved cell ");
-							messageBuilder.append(digitsAndIndexesPanel.getStringIndex(r, c));
-							messageBuilder.append(" helps eliminate candidate ");
-							messageBuilder.append(digitsAndIndexesPanel.getDigit(statusCopy[r][c]));
-							messageBuilder.append(" from ");
-							messageBuilder.append(eliminateResults[ELIMINATED_INDEX]);
-							messageBuilder.append(eliminateResults[ELIMINATED_INDEX] > 1 ? " other cells" : " other cell");
-							messageBuilder.append(" in its unit.");
-							messages.add(messageBuilder.toString());
-							messageBuilder.delete(0, messageBuilder.length());
+							findings.add(new Finding(Finding.Kind.ELIMINATION, r, c, CompactSudoku.bit(statusCopy[r][c]), 0, eliminateResults[ELIMINATED_INDEX]));
 						}
-						if (board.solverHighlights != null) board.solverHighlights[r][c][sudokuCopy.status[r][c] - 1] = SolverPanel.ONLY_CANDIDATE;
+						if (options.solverHighlights != null) options.solverHighlights[r][c][sudokuCopy.status[r][c] - 1] = SolverPanel.ONLY_CANDIDATE;
 					}
-					if (returnIfInvalid && eliminateResults[VALIDITY_INDEX] < 0) return solveResults;
+					if (options.returnIfInvalid && eliminateResults[VALIDITY_INDEX] < 0) return solveResults;
 					Arrays.fill(eliminateResults, 0);
 				}
 			}
@@ -412,24 +473,17 @@ public class Solver
 	 */
 	public static void deleteCandidatesInBox(int[][][] solverHighlights, Sudoku sudoku, int[] candidates, int[] excludedRowIndexes, int[] excludedColIndexes, int r, int c, boolean eliminateRecursively, boolean returnIfInvalid, boolean inclusive, int[] results)
 	{
-		int boxTopLeftCellR = Math.floorDiv(r, 3) * 3;
-		int boxTopLeftCellC = Math.floorDiv(c, 3) * 3;
-		int tmpRow;
-		int tmpCol;
-
-		for (int ri = 0; ri < 3; ri++)
+		for (int k = Topology.boxUnit(r, c) * 9, end = k + 9; k < end; k++)
 		{
-			tmpRow = boxTopLeftCellR + ri;
-			for (int ci = 0; ci < 3; ci++)
+			int cell = Topology.UNIT_CELLS[k];
+			int tmpRow = Topology.ROW_OF[cell];
+			int tmpCol = Topology.COLUMN_OF[cell];
+			if ((tmpRow != r || tmpCol != c || inclusive) && sudoku.status[tmpRow][tmpCol] < 0)
 			{
-				tmpCol = boxTopLeftCellC + ci;
-				if ((tmpRow != r || tmpCol != c || inclusive) && sudoku.status[tmpRow][tmpCol] < 0)
+				if (Util.findIndex(excludedRowIndexes, excludedColIndexes, tmpRow, tmpCol) < 0)
 				{
-					if (Util.findIndex(excludedRowIndexes, excludedColIndexes, tmpRow, tmpCol) < 0)
-					{
-						deleteCandidatesInCell(solverHighlights, sudoku, candidates, tmpRow, tmpCol, eliminateRecursively, inclusive, results);
-						if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return;
-					}
+					deleteCandidatesInCell(solverHighlights, sudoku, candidates, tmpRow, tmpCol, eliminateRecursively, inclusive, results);
+					if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return;
 				}
 			}
 		}
@@ -472,15 +526,14 @@ public class Solver
 	/**
 	 * Looks for the only cell with a certain candidate in its row, column, or box
 	 * Makes that caandidate the only value of that cell
-     * @param returnFirst returns the first match, else return all
-	 * @param compileMessages if true, compute string descriptions, else don't
+     * @param options what to do besides finding matches, see TechniqueOptions
 	 */
-	public static Results hiddenSingles(Board board, boolean returnFirst, boolean eliminateRecursively, boolean returnIfInvalid, int[] results, boolean compileMessages)
+	public static Results hiddenSingles(Sudoku sudoku, TechniqueOptions options)
 	{
-		Sudoku sudokuCopy = board.sudoku.clone();
-		ArrayList<String> messages = new ArrayList<>();
-		StringBuilder messageBuilder = new StringBuilder();
-		Results solveResults = new Results(sudokuCopy, 0, messages, SolvingTechnique.HIDDEN_SINGLES);
+		int[] results = new int[3]; // totals of all matches, see ELIMINATED_INDEX
+		Sudoku sudokuCopy = sudoku.clone();
+		ArrayList<Finding> findings = new ArrayList<>();
+		Results solveResults = new Results(sudokuCopy, 0, findings, SolvingTechnique.HIDDEN_SINGLES);
 
 		int[] rowCountResults = null;
 		int[][] colCountResults = new int[9][];
@@ -488,63 +541,46 @@ public class Solver
 
 		//to record why a cell is a hidden single
 		boolean[] uniqueInUnit = new boolean[3];
-		int unqueInUnitCount; // unique in how many small units (row, col, box)
 
 		for (int r = 0; r < 9; r++)
 		{
-			rowCountResults = UnitCheck.rowCountX(sudokuCopy, r, 1, UnitCheck.OCCURS_EXACTLY_X_TIMES);
+			// only count the units that are searched
+			if (options.searchesUnit(Topology.rowUnit(r))) rowCountResults = UnitCheck.rowCountX(sudokuCopy, r, 1, UnitCheck.OCCURS_EXACTLY_X_TIMES);
 			for (int c = 0; c < 9; c++)
 			{
 				int box_index = DigitsAndIndexesPanel.getBoxNumberFromRC(r, c);
-				if (r == 0) colCountResults[c] = UnitCheck.colCountX(sudokuCopy, c, 1, UnitCheck.OCCURS_EXACTLY_X_TIMES);
-				if (r % 3 == 0 && c % 3 == 0) boxCountResults[box_index] = UnitCheck.boxCountX(sudokuCopy, r, c, 1, UnitCheck.OCCURS_EXACTLY_X_TIMES);
+				if (r == 0 && options.searchesUnit(Topology.columnUnit(c))) colCountResults[c] = UnitCheck.colCountX(sudokuCopy, c, 1, UnitCheck.OCCURS_EXACTLY_X_TIMES);
+				if (r % 3 == 0 && c % 3 == 0 && options.searchesUnit(Topology.boxUnit(r, c))) boxCountResults[box_index] = UnitCheck.boxCountX(sudokuCopy, r, c, 1, UnitCheck.OCCURS_EXACTLY_X_TIMES);
 
-				if (sudokuCopy.status[r][c] < 0)
+				if (sudokuCopy.status[r][c] < 0 && options.searchesUnitsOf(r * 9 + c))
 				{
 					for (int x = 0; x < 9; x++)
 					{
 						if (sudokuCopy.grid[r][c][x] > 0)
 						{
-							uniqueInUnit[0] = Util.contains(rowCountResults, x + 1) > -1;
-							uniqueInUnit[1] = Util.contains(colCountResults[c], x + 1) > -1;
-							uniqueInUnit[2] = Util.contains(boxCountResults[box_index], x + 1) > -1;
+							uniqueInUnit[0] = options.searchesUnit(Topology.rowUnit(r)) && Util.contains(rowCountResults, x + 1) > -1;
+							uniqueInUnit[1] = options.searchesUnit(Topology.columnUnit(c)) && Util.contains(colCountResults[c], x + 1) > -1;
+							uniqueInUnit[2] = options.searchesUnit(Topology.boxUnit(r, c)) && Util.contains(boxCountResults[box_index], x + 1) > -1;
 
 							if (uniqueInUnit[0] || uniqueInUnit[1] || uniqueInUnit[2]) // found it
 							{
 								solveResults.found++;
-								if (board.solverHighlights != null) board.solverHighlights[r][c][x] = SolverPanel.ONLY_CANDIDATE;
+								if (options.solverHighlights != null) options.solverHighlights[r][c][x] = SolverPanel.ONLY_CANDIDATE;
 
-								if (compileMessages)
+								if (options.recordFindings)
 								{
-									unqueInUnitCount = 0; for (int i = 0; i < 3; i++) if (uniqueInUnit[i]) unqueInUnitCount++;
-									messageBuilder.append("Hidden single found:");
-									messageBuilder.append(System.lineSeparator());
-									messageBuilder.append(Solver.messageOutputIndent);
-
-									messageBuilder.append("Since ");
-									messageBuilder.append(digitsAndIndexesPanel.getStringIndex(r, c));
-									messageBuilder.append(" is the only cell with a candidate of ");
-									messageBuilder.append(digitsAndIndexesPanel.getDigit(x + 1));
-									messageBuilder.append(" in its ");
-									messageBuilder.append(uniqueInUnit[0] ? unqueInUnitCount == 2 ? "row and " : "row, " : "");
-									messageBuilder.append(uniqueInUnit[1] ? unqueInUnitCount == 2 && !uniqueInUnit[0] ? "column and " : "column, " : "");
-									messageBuilder.append(uniqueInUnit[2] ? unqueInUnitCount == 3 ? "and box, " : "box, " : "");
-									messageBuilder.append("it must be a ");
-									messageBuilder.append(digitsAndIndexesPanel.getDigit(x + 1));
-									messageBuilder.append(".");
-									messages.add(messageBuilder.toString());
-									messageBuilder.delete(0, messageBuilder.length());
+									findings.add(new Finding(Finding.Kind.HIDDEN_SINGLE, r, c, CompactSudoku.bit(x + 1), Finding.unitsOf(r, c, uniqueInUnit[0], uniqueInUnit[1], uniqueInUnit[2]), sudokuCopy.status[r][c] * -1 - 1));
 								}
 
 								sudokuCopy.setValueAt(r, c, x + 1);
-								if (returnIfInvalid && !Checker.checkValid(sudokuCopy, r, c)) return solveResults;
+								if (options.returnIfInvalid && !Checker.checkValid(sudokuCopy, r, c)) return solveResults;
 
-								if (eliminateRecursively)
+								if (options.eliminateRecursively)
 								{
-									deleteInUnit(board.solverHighlights, sudokuCopy, r, c, eliminateRecursively, returnIfInvalid, results);
+									deleteInUnit(options.solverHighlights, sudokuCopy, r, c, options.eliminateRecursively, options.returnIfInvalid, results);
 								}
 
-								if (returnFirst) return solveResults;
+								if (options.returnFirst) return solveResults;
 								break; // for loop
 							}
 						}
@@ -555,20 +591,27 @@ public class Solver
 		return solveResults;
 	}
 
+	/**
+	 * @return one of {@code UnitCheck.SAME_ROW, UnitCheck.SAME_COLUMN, UnitCheck.SAME_BOX} for unit u of Topology
+	 */
+	static int unitType(int u)
+	{
+		if (u < Topology.FIRST_COLUMN_UNIT) return UnitCheck.SAME_ROW;
+		return u < Topology.FIRST_BOX_UNIT ? UnitCheck.SAME_COLUMN : UnitCheck.SAME_BOX;
+	}
+
 	/**
      * Looks for the entire board for a group of n cells inthat are in the same unit
      * such that altogether they have n unique candidates in total
-     * @param returnFirst returns the first match, else return all
-     * @param compileMessages if true, compute string descriptions
+     * @param options what to do besides finding matches, see TechniqueOptions
      */
-    public static Results nakedCandidates(Board board, int n, boolean returnFirst, boolean eliminateRecursively, boolean returnIfInvalid, int[] results, boolean compileMessages)
+    public static Results nakedCandidates(Sudoku sudoku, int n, TechniqueOptions options)
     {
+        int[] results = new int[3]; // totals of all matches, see ELIMINATED_INDEX
         // for searching a combo of n cells in the same unit that meet the requirements
-        ArrayList<Integer> possibleRowIndexes = new ArrayList<>();
-        ArrayList<Integer> possibleColIndexes = new ArrayList<>();
-        ArrayList<int[]> possibleCandidates = new ArrayList<>();
+        SubsetSearch search = new SubsetSearch();
 
-		Sudoku sudokuCopy = board.sudoku.clone();
+		Sudoku sudokuCopy = sudoku.clone();
 
 		SolvingTechnique technique;
 		switch (n)
@@ -578,79 +621,28 @@ public class Solver
 			case 4: technique = SolvingTechnique.NAKED_QUADS; break;
 			default: technique = SolvingTechnique.NAKED_CANDIDATES;
 		}
-		Results solveResults = new Results(sudokuCopy, 0, new ArrayList<String>(), technique);
-
-        for (int r = 0; r < 9; r++)
-        {
-            possibleRowIndexes.clear();
-            possibleColIndexes.clear();
-            possibleCandidates.clear();
-            for (int c = 0; c < 9; c++)
-            {
-                if (board.sudoku.status[r][c] < 0 && board.sudoku.status[r][c] * -1 <= n)
-                {
-                    possibleRowIndexes.add(r);
-                    possibleColIndexes.add(c);
-                    possibleCandidates.add(SolverUtil.getCandidates(sudokuCopy, r, c));
-                }
-            }
-            if (possibleRowIndexes.size() >= n)
-            {
-            	SolverUtil.findNakedCandidates(board, possibleRowIndexes, possibleColIndexes, possibleCandidates, n, UnitCheck.SAME_ROW, returnFirst, eliminateRecursively, returnIfInvalid, compileMessages, results, solveResults);
-				if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return  solveResults;
-            	if (returnFirst && solveResults.found > 0) return solveResults;
-            }
-        }
+		Results solveResults = new Results(sudokuCopy, 0, new ArrayList<Finding>(), technique);
 
-        for (int c = 0; c < 9; c++)
-        {
-            possibleRowIndexes.clear();
-            possibleColIndexes.clear();
-            possibleCandidates.clear();
-            for (int r = 0; r < 9; r++)
-            {
-                if (board.sudoku.status[r][c] < 0 && board.sudoku.status[r][c] * -1 <= n)
-                {
-                    possibleRowIndexes.add(r);
-                    possibleColIndexes.add(c);
-                    possibleCandidates.add(SolverUtil.getCandidates(sudokuCopy, r, c));
-                }
-            }
-			if (possibleRowIndexes.size() >= n)
+		for (int u = 0; u < Topology.UNIT_COUNT; u++)
+		{
+			if (!options.searchesUnit(u)) continue;
+			search.reset(n);
+			for (int k = u * 9; k < u * 9 + 9; k++)
 			{
-				SolverUtil.findNakedCandidates(board, possibleRowIndexes, possibleColIndexes, possibleCandidates, n, UnitCheck.SAME_COLUMN, returnFirst, eliminateRecursively, returnIfInvalid, compileMessages, results, solveResults);
-				if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return  solveResults;
-				if (returnFirst && solveResults.found > 0) return solveResults;
-			}
-        }
-
-        for (int boxTopLeftCellR = 0; boxTopLeftCellR < 9; boxTopLeftCellR += 3)
-        {
-            for (int boxTopLeftCellC = 0; boxTopLeftCellC < 9; boxTopLeftCellC += 3)
-            {
-                possibleRowIndexes.clear();
-                possibleColIndexes.clear();
-                possibleCandidates.clear();
-                for (int ri = 0; ri < 3; ri++)
-                {
-                    for (int ci = 0; ci < 3; ci++)
-                    {
-                        if (board.sudoku.status[boxTopLeftCellR + ri][boxTopLeftCellC + ci] < 0 && board.sudoku.status[boxTopLeftCellR + ri][boxTopLeftCellC + ci] * -1 <= n)
-                        {
-                            possibleRowIndexes.add(boxTopLeftCellR + ri);
-                            possibleColIndexes.add(boxTopLeftCellC + ci);
-                            possibleCandidates.add(SolverUtil.getCandidates(sudokuCopy, boxTopLeftCellR + ri, boxTopLeftCellC + ci));
-                        }
-                    }
-                }
-				if (possibleRowIndexes.size() >= n)
+				int r = Topology.ROW_OF[Topology.UNIT_CELLS[k]];
+				int c = Topology.COLUMN_OF[Topology.UNIT_CELLS[k]];
+				if (sudoku.status[r][c] < 0 && sudoku.status[r][c] * -1 <= n)
 				{
-					SolverUtil.findNakedCandidates(board, possibleRowIndexes, possibleColIndexes, possibleCandidates, n, UnitCheck.SAME_BOX, returnFirst, eliminateRecursively, returnIfInvalid, compileMessages, results, solveResults);
-					if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return  solveResults;
-					if (returnFirst && solveResults.found > 0) return solveResults;
+					search.add(Topology.UNIT_CELLS[k], SolverUtil.getCandidateMask(sudokuCopy, r, c));
 				}
-            }
-        }
+			}
+			if (search.size() >= n)
+			{
+				SolverUtil.findNakedCandidates(options.solverHighlights, search, n, unitType(u), options.returnFirst, options.eliminateRecursively, options.returnIfInvalid, options.recordFindings, results, solveResults);
+				if (options.returnIfInvalid && results[VALIDITY_INDEX] < 0) return solveResults;
+				if (options.returnFirst && solveResults.found > 0) return solveResults;
+			}
+		}
         return solveResults;
     }
 
@@ -660,17 +652,15 @@ public class Solver
      * such that altogether they have more than n different candidates (not a naked group)
      * and share n candidates unique to their unit while some of
      * Their other candidates then can be eliminated
-     * @param returnFirst returns the first match, else return all
-	 * @param compileMessages if true, compute string descriptions, else don't
+     * @param options what to do besides finding matches, see TechniqueOptions
      */
-    public static Results hiddenCandidates(Board board, int n, boolean returnFirst, boolean eliminateRecursively, boolean returnIfInvalid, int[] results, boolean compileMessages)
+    public static Results hiddenCandidates(Sudoku sudoku, int n, TechniqueOptions options)
     {
+		int[] results = new int[3]; // totals of all matches, see ELIMINATED_INDEX
 		// for searching a combo of n cells in the same unit that meet the requirements
-        ArrayList<Integer> possibleRowIndexes = new ArrayList<>();
-        ArrayList<Integer> possibleColIndexes = new ArrayList<>();
-        ArrayList<int[]> possibleCandidates = new ArrayList<>();
+		SubsetSearch search = new SubsetSearch();
 
-		Sudoku sudokuCopy = board.sudoku.clone();
+		Sudoku sudokuCopy = sudoku.clone();
 
 		SolvingTechnique technique;
 		switch (n)
@@ -681,77 +671,26 @@ public class Solver
 			case 1: technique = SolvingTechnique.HIDDEN_SINGLES; break;
 			default: technique = SolvingTechnique.HIDDEN_CANDIDATES;
 		}
-		Results solveResults = new Results(sudokuCopy, 0, new ArrayList<String>(), technique);
-
-        for (int r = 0; r < 9; r++)
-        {
-			possibleRowIndexes.clear();
-			possibleColIndexes.clear();
-			possibleCandidates.clear();
-			for (int c = 0; c < 9; c++)
-			{
-				if (board.sudoku.status[r][c] < 0)
-				{
-					possibleRowIndexes.add(r);
-					possibleColIndexes.add(c);
-					possibleCandidates.add(SolverUtil.getCandidates(sudokuCopy, r, c));
-				}
-			}
-			if (possibleRowIndexes.size() >= n)
-			{
-				SolverUtil.findHiddenCandidates(board, possibleRowIndexes, possibleColIndexes, possibleCandidates, n, UnitCheck.SAME_ROW, returnFirst, eliminateRecursively, returnIfInvalid, compileMessages, results, solveResults);
-				if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return  solveResults;
-				if (returnFirst && solveResults.found > 0) return solveResults;
-			}
-		}
+		Results solveResults = new Results(sudokuCopy, 0, new ArrayList<Finding>(), technique);
 
-        for (int c = 0; c < 9; c++)
-        {
-			possibleRowIndexes.clear();
-			possibleColIndexes.clear();
-			possibleCandidates.clear();
-			for (int r = 0; r < 9; r++)
+		for (int u = 0; u < Topology.UNIT_COUNT; u++)
+		{
+			if (!options.searchesUnit(u)) continue;
+			search.reset(n);
+			for (int k = u * 9; k < u * 9 + 9; k++)
 			{
-				if (board.sudoku.status[r][c] < 0)
+				int r = Topology.ROW_OF[Topology.UNIT_CELLS[k]];
+				int c = Topology.COLUMN_OF[Topology.UNIT_CELLS[k]];
+				if (sudoku.status[r][c] < 0)
 				{
-					possibleRowIndexes.add(r);
-					possibleColIndexes.add(c);
-					possibleCandidates.add(SolverUtil.getCandidates(sudokuCopy, r, c));
+					search.add(Topology.UNIT_CELLS[k], SolverUtil.getCandidateMask(sudokuCopy, r, c));
 				}
 			}
-			if (possibleRowIndexes.size() >= n)
-			{
-				SolverUtil.findHiddenCandidates(board, possibleRowIndexes, possibleColIndexes, possibleCandidates, n, UnitCheck.SAME_COLUMN, returnFirst, eliminateRecursively, returnIfInvalid, compileMessages, results, solveResults);
-				if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return  solveResults;
-				if (returnFirst && solveResults.found > 0) return solveResults;
-			}
-        }
-
-		for (int boxTopLeftCellR = 0; boxTopLeftCellR < 9; boxTopLeftCellR += 3)
-		{
-			for (int boxTopLeftCellC = 0; boxTopLeftCellC < 9; boxTopLeftCellC += 3)
+			if (search.size() >= n)
 			{
-				possibleRowIndexes.clear();
-				possibleColIndexes.clear();
-				possibleCandidates.clear();
-				for (int ri = 0; ri < 3; ri++)
-				{
-					for (int ci = 0; ci < 3; ci++)
-					{
-						if (board.sudoku.status[boxTopLeftCellR + ri][boxTopLeftCellC + ci] < 0)
-						{
-							possibleRowIndexes.add(boxTopLeftCellR + ri);
-							possibleColIndexes.add(boxTopLeftCellC + ci);
-							possibleCandidates.add(SolverUtil.getCandidates(sudokuCopy, boxTopLeftCellR + ri, boxTopLeftCellC + ci));
-						}
-					}
-				}
-				if (possibleRowIndexes.size() >= n)
-				{
-					SolverUtil.findHiddenCandidates(board, possibleRowIndexes, possibleColIndexes, possibleCandidates, n, UnitCheck.SAME_BOX, returnFirst, eliminateRecursively, returnIfInvalid, compileMessages, results, solveResults);
-					if (returnIfInvalid && results[VALIDITY_INDEX] < 0) return  solveResults;
-					if (returnFirst && solveResults.found > 0) return solveResults;
-				}
+				SolverUtil.findHiddenCandidates(options.solverHighlights, search, n, unitType(u), options.returnFirst, options.eliminateRecursively, options.returnIfInvalid, options.recordFindings, results, solveResults);
+				if (options.returnIfInvalid && results[VALIDITY_INDEX] < 0) return solveResults;
+				if (options.returnFirst && solveResults.found > 0) return solveResults;
 			}
 		}
 		return solveResults;
@@ -761,15 +700,14 @@ public class Solver
      * Searches each box in the whole board for instances
      * where all of a box's candidate x are located in the same row/col (only pointing pairs and triples)
      * then will remove all of candidate x from that row/column's other cells not in the box
-     * @param returnFirst returns the first match, else return all
-     * @param computeMessages if true, compute String descriptions, else don't
+     * @param options what to do besides finding matches, see TechniqueOptions
      */
-    public static Results pointingCandidates(Board board, boolean returnFirst, boolean eliminateRecursively,  boolean returnIfInvalid, int[] results, boolean compileMessages)
+    public static Results pointingCandidates(Sudoku sudoku, TechniqueOptions options)
     {
-    	Sudoku sudokuCopy = board.sudoku.clone();
-		StringBuilder messageBuilder = new StringBuilder();
-		ArrayList<String> messages = new ArrayList<>();
-        Results solveResults = new Results(sudokuCopy, 0, messages, SolvingTechnique.POINTING_CANDIDATES);
+    	int[] results = new int[3]; // totals of all matches, see ELIMINATED_INDEX
+    	Sudoku sudokuCopy = sudoku.clone();
+		ArrayList<Finding> findings = new ArrayList<>();
+        Results solveResults = new Results(sudokuCopy, 0, findings, SolvingTechnique.POINTING_CANDIDATES);
 
         boolean sameRow;
         boolean sameColumn;
@@ -782,7 +720,8 @@ public class Solver
         {
             for (int boxc = 0; boxc < 3; boxc++)
             {
-                boxCountResults = UnitCheck.boxCount(board.sudoku, boxr * 3, boxc * 3);
+                if (!options.searchesUnit(Topology.boxUnit(boxr * 3, boxc * 3))) continue;
+                boxCountResults = UnitCheck.boxCount(sudoku, boxr * 3, boxc * 3);
                 if (boxCountResults != null)
                 {
                     for (int n = 0; n < 9; n++)
@@ -799,8 +738,8 @@ public class Solver
 
 								// to see if this group helps eliminate
 								Arrays.fill(eliminateResults, 0);
-								if (sameRow) { Solver.deleteCandidatesInRow(board.solverHighlights, sudokuCopy, new int[] {n + 1}, foundColIndexes, foundRowIndexes[0], foundColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults); }
-								else { Solver.deleteCandidatesInCol(board.solverHighlights, sudokuCopy, new int[] {n + 1}, foundRowIndexes, foundRowIndexes[0], foundColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults); }
+								if (sameRow) { Solver.deleteCandidatesInRow(options.solverHighlights, sudokuCopy, new int[] {n + 1}, foundColIndexes, foundRowIndexes[0], foundColIndexes[0], options.eliminateRecursively, options.returnIfInvalid, false, eliminateResults); }
+								else { Solver.deleteCandidatesInCol(options.solverHighlights, sudokuCopy, new int[] {n + 1}, foundRowIndexes, foundRowIndexes[0], foundColIndexes[0], options.eliminateRecursively, options.returnIfInvalid, false, eliminateResults); }
 
 								results[0] += eliminateResults[0];
 								results[1] += eliminateResults[1];
@@ -809,53 +748,21 @@ public class Solver
                                 if (eliminateResults[ELIMINATED_INDEX] > 0) // found it
                                 {
                                 	solveResults.found++;
-									if (board.solverHighlights != null)
+									if (options.solverHighlights != null)
 									{
 										for (int i = 0; i < foundRowIndexes.length; i++)
 										{
-											board.solverHighlights[foundRowIndexes[i]][foundColIndexes[i]][n] = SolverPanel.ONLY_CANDIDATE;
+											options.solverHighlights[foundRowIndexes[i]][foundColIndexes[i]][n] = SolverPanel.ONLY_CANDIDATE;
 										}
 									}
 
-                                    if (compileMessages)
+                                    if (options.recordFindings)
                                     {
-										messageBuilder.append("Pointing ");
-										messageBuilder.append(((int[]) boxCountResults[0])[n] == 2 ? "Pair" : "Triple");
-										messageBuilder.append(" found in box ");
-										messageBuilder.append(digitsAndIndexesPanel.getBoxIndex(boxr, boxc));
-										messageBuilder.append(":");
-										messageBuilder.append(System.lineSeparator());
-										messageBuilder.append(Solver.messageOutputIndent);
-
-										messageBuilder.append("Since all of the digit ");
-										messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-										messageBuilder.append("s of this box are in ");
-										messageBuilder.append(sameRow ? "row " : "column ");
-										messageBuilder.append(sameRow ? digitsAndIndexesPanel.getRowIndex(foundRowIndexes[0]) : digitsAndIndexesPanel.getColIndex(foundColIndexes[0]));
-										messageBuilder.append(", digit ");
-										messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-										messageBuilder.append(" in this ");
-										messageBuilder.append(sameRow ? "row" : "column");
-										messageBuilder.append(" has to be in box ");
-										messageBuilder.append(digitsAndIndexesPanel.getBoxIndex(boxr, boxc));
-										messageBuilder.append(".");
-										messageBuilder.append(System.lineSeparator());
-										messageBuilder.append(Solver.messageOutputIndent);
-
-										messageBuilder.append("This eliminates the rest of the digit ");
-										messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-										messageBuilder.append("s not in box ");
-										messageBuilder.append(digitsAndIndexesPanel.getBoxIndex(boxr, boxc));
-										messageBuilder.append(" from ");
-										messageBuilder.append(sameRow ? "row " : "column ");
-										messageBuilder.append(sameRow ? digitsAndIndexesPanel.getRowIndex(foundRowIndexes[0]) : digitsAndIndexesPanel.getColIndex(foundColIndexes[0]));
-										messageBuilder.append(".");
-										messages.add(messageBuilder.toString());
-										messageBuilder.delete(0, messageBuilder.length());
+                                    	findings.add(new Finding(Finding.Kind.POINTING, foundRowIndexes, foundColIndexes, CompactSudoku.bit(n + 1), Finding.unitsOf(foundRowIndexes[0], foundColIndexes[0], sameRow, !sameRow, true), eliminateResults[ELIMINATED_INDEX]));
                                     }
-									if (returnFirst) return solveResults;
+									if (options.returnFirst) return solveResults;
                                 }
-								if (returnIfInvalid && eliminateResults[VALIDITY_INDEX] < 0) return solveResults;
+								if (options.returnIfInvalid && eliminateResults[VALIDITY_INDEX] < 0) return solveResults;
                             }
                         }
                     }
@@ -869,24 +776,24 @@ public class Solver
      * Searches each row and column of board for instances
      * where all of row/column's candidate x are located in one box (only pairs and triples),
      * then will remove all of candidate x in that box that are not in that row/column.
-     * @param returnFirst returns the first match, else return all matches.
-     * @param compileMessages if true, compute String messages, else don't
+     * @param options what to do besides finding matches, see TechniqueOptions
      */
-    public static Results boxLineReduction(Board board, boolean returnFirst, boolean eliminateRecursively, boolean returnIfInvalid, int[] results, boolean compileMessages)
+    public static Results boxLineReduction(Sudoku sudoku, TechniqueOptions options)
     {
+        int[] results = new int[3]; // totals of all matches, see ELIMINATED_INDEX
         int[] foundRowIndexes;
         int[] foundColIndexes;
 		int[] eliminateResults = new int[3];
         Object[] unitCheckResults;
 
-		Sudoku sudokuCopy = board.sudoku.clone();
-		StringBuilder messageBuilder = new StringBuilder();
-		ArrayList<String> messages = new ArrayList<>();
-		Results solveResults = new Results(sudokuCopy, 0, messages, SolvingTechnique.BOX_LINE_REDUCTION);
+		Sudoku sudokuCopy = sudoku.clone();
+		ArrayList<Finding> findings = new ArrayList<>();
+		Results solveResults = new Results(sudokuCopy, 0, findings, SolvingTechnique.BOX_LINE_REDUCTION);
 
         for (int r = 0; r < 9; r++) // see if all candidate n in row r are in the same box
         {
-			unitCheckResults = UnitCheck.rowCount(board.sudoku, r);
+			if (!options.searchesUnit(Topology.rowUnit(r))) continue;
+			unitCheckResults = UnitCheck.rowCount(sudoku, r);
             for (int n = 0; n < 9; n++)
             {
                 if (((int[]) unitCheckResults[0])[n] == 2 || ((int[]) unitCheckResults[0])[n] == 3) // a box can only fit up to 3 candidates in a row
@@ -897,7 +804,7 @@ public class Solver
                         foundColIndexes = ((int[][]) unitCheckResults[2])[n];
 
                         Arrays.fill(eliminateResults, 0);
-						deleteCandidatesInBox(board.solverHighlights, sudokuCopy, new int[] {n + 1}, foundRowIndexes, foundColIndexes, foundRowIndexes[0], foundColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults);
+						deleteCandidatesInBox(options.solverHighlights, sudokuCopy, new int[] {n + 1}, foundRowIndexes, foundColIndexes, foundRowIndexes[0], foundColIndexes[0], options.eliminateRecursively, options.returnIfInvalid, false, eliminateResults);
 						results[0] += eliminateResults[0];
 						results[1] += eliminateResults[1];
 						results[2] += eliminateResults[2];
@@ -905,47 +812,21 @@ public class Solver
                         if (eliminateResults[ELIMINATED_INDEX] > 0) // found it
 						{
 							solveResults.found++;
-							if (board.solverHighlights != null)
+							if (options.solverHighlights != null)
 							{
 								for (int i = 0; i < foundRowIndexes.length; i++)
 								{
-									board.solverHighlights[foundRowIndexes[i]][foundColIndexes[i]][n] = SolverPanel.ONLY_CANDIDATE;
+									options.solverHighlights[foundRowIndexes[i]][foundColIndexes[i]][n] = SolverPanel.ONLY_CANDIDATE;
 								}
 							}
 
-							if (compileMessages)
+							if (options.recordFindings)
 							{
-								messageBuilder.append("Box Line Reduction found:");
-								messageBuilder.append(System.lineSeparator());
-								messageBuilder.append(Solver.messageOutputIndent);
-
-								messageBuilder.append("since all of the digit ");
-								messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-								messageBuilder.append("s of row ");
-								messageBuilder.append(digitsAndIndexesPanel.getRowIndex(r));
-								messageBuilder.append(" are in box ");
-								messageBuilder.append(digitsAndIndexesPanel.getBoxIndexFromRC(foundRowIndexes[0], foundColIndexes[0]));
-								messageBuilder.append(", digit ");
-								messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-								messageBuilder.append(" of that box has to be in row ");
-								messageBuilder.append(digitsAndIndexesPanel.getRowIndex(r));
-								messageBuilder.append(".");
-								messageBuilder.append(System.lineSeparator());
-								messageBuilder.append(Solver.messageOutputIndent);
-
-								messageBuilder.append("This eliminates the rest of the digit ");
-								messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-								messageBuilder.append(" from box ");
-								messageBuilder.append(digitsAndIndexesPanel.getBoxIndexFromRC(foundRowIndexes[0], foundColIndexes[0]));
-								messageBuilder.append(" that are not in row ");
-								messageBuilder.append(digitsAndIndexesPanel.getRowIndex(r));
-								messageBuilder.append(".");
-								messages.add(messageBuilder.toString());
-								messageBuilder.delete(0, messageBuilder.length());
+								findings.add(new Finding(Finding.Kind.BOX_LINE_REDUCTION, foundRowIndexes, foundColIndexes, CompactSudoku.bit(n + 1), Finding.unitsOf(r, foundColIndexes[0], true, false, true), eliminateResults[ELIMINATED_INDEX]));
 							}
-							if (returnFirst) return solveResults;
+							if (options.returnFirst) return solveResults;
 						}
-						if (returnIfInvalid && eliminateResults[VALIDITY_INDEX] < 0) return solveResults;
+						if (options.returnIfInvalid && eliminateResults[VALIDITY_INDEX] < 0) return solveResults;
                     }
                 }
             }
@@ -953,7 +834,8 @@ public class Solver
 
         for (int c = 0; c < 9; c++) // see if all candidate n in column c are in the same box
         {
-			unitCheckResults = UnitCheck.colCount(board.sudoku, c);
+			if (!options.searchesUnit(Topology.columnUnit(c))) continue;
+			unitCheckResults = UnitCheck.colCount(sudoku, c);
             for (int n = 0; n < 9; n++)
             {
                 if (((int[]) unitCheckResults[0])[n] == 2 || ((int[]) unitCheckResults[0])[n] == 3) // a box can only fit up to 3 candidates in a column
@@ -964,7 +846,7 @@ public class Solver
                         foundColIndexes = ((int[][]) unitCheckResults[2])[n];
 
 						Arrays.fill(eliminateResults, 0);
-						deleteCandidatesInBox(board.solverHighlights, sudokuCopy, new int[] {n + 1}, foundRowIndexes, foundColIndexes, foundRowIndexes[0], foundColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults);
+						deleteCandidatesInBox(options.solverHighlights, sudokuCopy, new int[] {n + 1}, foundRowIndexes, foundColIndexes, foundRowIndexes[0], foundColIndexes[0], options.eliminateRecursively, options.returnIfInvalid, false, eliminateResults);
 						results[0] += eliminateResults[0];
 						results[1] += eliminateResults[1];
 						results[2] += eliminateResults[2];
@@ -972,51 +854,90 @@ public class Solver
 						if (eliminateResults[ELIMINATED_INDEX] > 0) // found it
                         {
                         	solveResults.found++;
-							if (board.solverHighlights != null)
+							if (options.solverHighlights != null)
 							{
 								for (int i = 0; i < foundRowIndexes.length; i++)
 								{
-									board.solverHighlights[foundRowIndexes[i]][foundColIndexes[i]][n] = SolverPanel.ONLY_CANDIDATE;
+									options.solverHighlights[foundRowIndexes[i]][foundColIndexes[i]][n] = SolverPanel.ONLY_CANDIDATE;
 								}
 							}
 
-                            if (compileMessages)
+                            if (options.recordFindings)
                             {
-								messageBuilder.append("Box Line Reduction found:");
-								messageBuilder.append(System.lineSeparator());
-								messageBuilder.append(Solver.messageOutputIndent);
-
-								messageBuilder.append("Since all of the digit ");
-								messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-								messageBuilder.append("s of column ");
-								messageBuilder.append(digitsAndIndexesPanel.getColIndex(c));
-								messageBuilder.append(" are in box ");
-								messageBuilder.append(digitsAndIndexesPanel.getBoxIndexFromRC(foundRowIndexes[0], foundColIndexes[0]));
-								messageBuilder.append(", digit ");
-								messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-								messageBuilder.append(" of that box has to be in column ");
-								messageBuilder.append(digitsAndIndexesPanel.getColIndex(c));
-								messageBuilder.append(".");
-								messageBuilder.append(System.lineSeparator());
-								messageBuilder.append(Solver.messageOutputIndent);
-
-								messageBuilder.append("This eliminates the rest of the digit ");
-								messageBuilder.append(digitsAndIndexesPanel.getDigit(n + 1));
-								messageBuilder.append(" from box ");
-								messageBuilder.append(digitsAndIndexesPanel.getBoxIndexFromRC(foundRowIndexes[0], foundColIndexes[0]));
-								messageBuilder.append(" that are not in column ");
-								messageBuilder.append(digitsAndIndexesPanel.getColIndex(c));
-								messageBuilder.append(".");
-								messages.add(messageBuilder.toString());
-								messageBuilder.delete(0, messageBuilder.length());
+                            	findings.add(new Finding(Finding.Kind.BOX_LINE_REDUCTION, foundRowIndexes, foundColIndexes, CompactSudoku.bit(n + 1), Finding.unitsOf(foundRowIndexes[0], c, false, true, true), eliminateResults[ELIMINATED_INDEX]));
                             }
-							if (returnFirst) return solveResults;
+							if (options.returnFirst) return solveResults;
                         }
-						if (returnIfInvalid && eliminateResults[VALIDITY_INDEX] < 0) return solveResults;
+						if (options.returnIfInvalid && eliminateResults[VALIDITY_INDEX] < 0) return solveResults;
                     }
                 }
             }
         }
         return solveResults;
     }
+
+	/**
+	 * Looks for X-Wings, Swordfish and Jellyfish, see Fish
+	 * @param n number of base lines, 2 ~ 4
+	 * @param finned if true, only looks for finned and sashimi fish, else only for basic fish
+	 * @param options what to do besides finding matches, see TechniqueOptions
+	 */
+	public static Results fish(Sudoku sudoku, int n, boolean finned, TechniqueOptions options)
+	{
+		return Fish.search(sudoku, n, finned, options);
+	}
+
+	/**
+	 * Looks for a pivot with candidates x, y that sees 2 cells with candidates x, z and y, z, see Wings
+	 * @param options what to do besides finding matches, see TechniqueOptions
+	 */
+	public static Results xyWing(Sudoku sudoku, TechniqueOptions options)
+	{
+		return Wings.xyWing(sudoku, options);
+	}
+
+	/**
+	 * Looks for a pivot with candidates x, y, z that sees 2 cells with candidates x, z and y, z, see Wings
+	 * @param options what to do besides finding matches, see TechniqueOptions
+	 */
+	public static Results xyzWing(Sudoku sudoku, TechniqueOptions options)
+	{
+		return Wings.xyzWing(sudoku, options);
+	}
+
+	/**
+	 * Looks for 2 cells with the same 2 candidates joined by a conjugate pair of one of them, see Wings
+	 * @param options what to do besides finding matches, see TechniqueOptions
+	 */
+	public static Results wWing(Sudoku sudoku, TechniqueOptions options)
+	{
+		return Wings.wWing(sudoku, options);
+	}
+
+	/**
+	 * Colours the conjugate pairs of each digit, see Chains
+	 * @param options what to do besides finding matches, see TechniqueOptions
+	 */
+	public static Results simpleColouring(Sudoku sudoku, TechniqueOptions options)
+	{
+		return Chains.simpleColouring(sudoku, options);
+	}
+
+	/**
+	 * Looks for chains of strong and weak links of one digit, see Chains
+	 * @param options what to do besides finding matches, see TechniqueOptions
+	 */
+	public static Results xChain(Sudoku sudoku, TechniqueOptions options)
+	{
+		return Chains.xChain(sudoku, options);
+	}
+
+	/**
+	 * Looks for chains of strong and weak links between any candidates, see Chains
+	 * @param options what to do besides finding matches, see TechniqueOptions
+	 */
+	public static Results alternatingInferenceChain(Sudoku sudoku, TechniqueOptions options)
+	{
+		return Chains.alternatingInferenceChain(sudoku, options);
+	}
 }
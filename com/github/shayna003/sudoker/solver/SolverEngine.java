@@ -0,0 +1,59 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A way of finding the solutions of a puzzle, e.g. the backtracking of Solver or the dancing links of DancingLinks.
+ * Engines are found with ServiceLoader, see SolverEngines, and the one selected in SolverSettingsPanel
+ * is used for Quick Solve, Check Validity Fully and the uniqueness checks of the generator.
+ * An engine can be used by several threads at once, e.g. by keeping its search state per thread.
+ * @since 10-17-2026
+ */
+public interface SolverEngine
+{
+    /**
+     * @return the name shown in SolverSettingsPanel and saved in the preferences, different for each engine
+     */
+    String getName();
+
+    /**
+     * Finds the solutions of a puzzle. The given sudoku is not changed.
+     * @param puzzleSolutions where the solutions found are added, can be null
+     * @param request the mode and limits of this run, check request.getOutcome() to see if it stopped early
+     * @return number of total solutions found, < 1 = invalid puzzle or no solutions found before stopping
+     */
+    int solve(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request);
+
+    /**
+     * @return a solution of the puzzle, or null if it has none
+     */
+    default int[][] solveOne(CompactSudoku sudoku)
+    {
+        List<int[][]> solutions = new ArrayList<>(1);
+        return solve(sudoku, solutions, new SolveRequest(Solver.FIND_ONE_SOLUTION, 1)) > 0 ? solutions.get(0) : null;
+    }
+
+    /**
+     * @return the number of solutions, maxSolutions + 1 if there are more than maxSolutions, < 1 if there are none
+     */
+    default int countSolutions(CompactSudoku sudoku, int maxSolutions)
+    {
+        return solve(sudoku, null, new SolveRequest(Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED, maxSolutions));
+    }
+
+    /**
+     * Same as countSolutions(), but also adds the solutions found to puzzleSolutions
+     */
+    default int enumerate(CompactSudoku sudoku, List<int[][]> puzzleSolutions, int maxSolutions)
+    {
+        return solve(sudoku, puzzleSolutions, new SolveRequest(Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED, maxSolutions));
+    }
+
+    default boolean hasUniqueSolution(CompactSudoku sudoku)
+    {
+        return solve(sudoku, null, new SolveRequest(Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1)) == 1;
+    }
+}
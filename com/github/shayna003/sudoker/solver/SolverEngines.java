@@ -0,0 +1,300 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.IO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * The solver engines found with ServiceLoader, listed in META-INF/services/com.github.shayna003.sudoker.solver.SolverEngine,
+ * and the one that is selected.
+ * An engine can be selected by name, or AUTO, in which case the engines are timed on a warm-up corpus
+ * on a background thread and the fastest one is used. Until that finishes, DEFAULT_ENGINE is used.
+ * Which engine is fastest depends on the computer and the JVM, so it is timed again every time the application starts.
+ *
+ * To add an engine, implement SolverEngine with a public no-argument constructor and add its class name to the services file.
+ * @since 10-17-2026
+ */
+public class SolverEngines
+{
+    public static final String AUTO = "Auto";
+    public static final String DEFAULT_ENGINE = "Trail Backtracking";
+
+    // the puzzles of resources/benchmark timed by auto selection, so that both easy and hard puzzles count
+    static final String[] WARM_UP_CORPORA = { "easy", "hard", "minimal" };
+    static final int WARM_UP_PUZZLES = 50; // solved by each engine before timing, so that they are compiled by the JIT
+    static final int WARM_UP_ROUNDS = 1; // rounds over the corpus that are not timed, but can drop slow engines
+    static final int TIMED_ROUNDS = 3; // the fastest of these rounds counts
+    static final int DROP_FACTOR = 3; // an engine that takes this many times as long as the fastest one is not timed any further
+    static final int DROP_CHECK_INTERVAL = 32; // puzzles between checks for engines to drop
+
+    private static List<SolverEngine> engines;
+    private static volatile String selectedName = AUTO;
+    private static volatile SolverEngine fastest; // picked by auto selection, null until it finishes
+    private static CompletableFuture<SolverEngine> autoSelection;
+    private static volatile Map<String, Double> nanosPerPuzzle = Collections.emptyMap(); // timings of the last auto selection
+
+    /**
+     * @return all engines, in the order of the services file
+     */
+    public static synchronized List<SolverEngine> getEngines()
+    {
+        if (engines == null)
+        {
+            List<SolverEngine> found = new ArrayList<>();
+            for (SolverEngine engine : ServiceLoader.load(SolverEngine.class, SolverEngines.class.getClassLoader()))
+            {
+                found.add(engine);
+            }
+            if (found.isEmpty()) // e.g. a build that left out META-INF
+            {
+                Collections.addAll(found, new Backtracking(), new Trail(), new DLX());
+            }
+            engines = Collections.unmodifiableList(found);
+        }
+        return engines;
+    }
+
+    /**
+     * @return the engine with the given name, or null if there is none
+     */
+    public static SolverEngine getEngine(String name)
+    {
+        for (SolverEngine engine : getEngines())
+        {
+            if (engine.getName().equals(name)) return engine;
+        }
+        return null;
+    }
+
+    /**
+     * @param name the name of an engine, or AUTO. An unknown name, e.g. of an engine that has been removed, selects AUTO.
+     */
+    public static void select(String name)
+    {
+        if (!name.equals(AUTO) && getEngine(name) == null)
+        {
+            if (Application.exceptionLogger != null) Application.exceptionLogger.log(Level.WARNING, "Unknown solver engine " + name + ", using " + AUTO);
+            name = AUTO;
+        }
+        selectedName = name;
+        if (name.equals(AUTO)) startAutoSelection();
+    }
+
+    /**
+     * @return the name of the selected engine, or AUTO
+     */
+    public static String getSelectedName()
+    {
+        return selectedName;
+    }
+
+    /**
+     * @return the engine to use. Never waits for auto selection to finish.
+     */
+    public static SolverEngine getSelected()
+    {
+        String name = selectedName;
+        SolverEngine engine = name.equals(AUTO) ? fastest : getEngine(name);
+        if (engine == null) engine = getEngine(DEFAULT_ENGINE);
+        if (engine == null) engine = getEngines().get(0);
+        return engine;
+    }
+
+    /**
+     * Times the engines on a background thread, if that hasn't been started yet
+     * @return completes with the fastest engine
+     */
+    public static synchronized CompletableFuture<SolverEngine> startAutoSelection()
+    {
+        if (autoSelection == null)
+        {
+            autoSelection = new CompletableFuture<>();
+            Thread thread = new Thread(() ->
+            {
+                try
+                {
+                    SolverEngine engine = pickFastest(getEngines(), loadWarmUpCorpus());
+                    fastest = engine;
+                    autoSelection.complete(engine);
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    if (Application.exceptionLogger != null) Application.exceptionLogger.log(Level.WARNING, "Could not time the solver engines", e);
+                    autoSelection.completeExceptionally(e);
+                }
+            }, "Solver Engine Auto Selection");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+        return autoSelection;
+    }
+
+    /**
+     * @return nanoseconds per puzzle of each engine in the last auto selection, empty if it hasn't finished.
+     * For engines that were too slow to be timed to the end, this is estimated from the puzzles they solved in their last round.
+     */
+    public static Map<String, Double> getTimings()
+    {
+        return nanosPerPuzzle;
+    }
+
+    /**
+     * Times a uniqueness check of each puzzle of the corpus, the most common use of an engine, with each engine.
+     * The engines take turns solving each puzzle, and an engine that is much slower than the fastest one so far in a round
+     * is not timed any further, so that a slow engine doesn't hold up the selection.
+     * @return the engine with the fastest round
+     */
+    static SolverEngine pickFastest(List<SolverEngine> candidates, List<CompactSudoku> corpus)
+    {
+        int count = candidates.size();
+        long[] bestNanos = new long[count];
+        Arrays.fill(bestNanos, Long.MAX_VALUE);
+        boolean[] dropped = new boolean[count];
+        boolean[] slowAtLastCheck = new boolean[count]; // an engine is dropped if it is too slow at 2 checks in a row, not for one slow puzzle
+        long sink = 0; // so that the solving can't be optimized away
+        for (SolverEngine engine : candidates)
+        {
+            for (int i = 0; i < Math.min(WARM_UP_PUZZLES, corpus.size()); i++)
+            {
+                sink += engine.solve(corpus.get(i), null, new SolveRequest(Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1));
+            }
+        }
+
+        for (int round = 0; round < WARM_UP_ROUNDS + TIMED_ROUNDS; round++)
+        {
+            long[] roundNanos = new long[count];
+            for (int i = 0; i < corpus.size(); i++)
+            {
+                long fastestSoFar = Long.MAX_VALUE;
+                for (int e = 0; e < count; e++)
+                {
+                    if (dropped[e]) continue;
+                    long start = System.nanoTime();
+                    sink += candidates.get(e).solve(corpus.get(i), null, new SolveRequest(Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1));
+                    roundNanos[e] += System.nanoTime() - start;
+                    fastestSoFar = Math.min(fastestSoFar, roundNanos[e]);
+                }
+                if ((i + 1) % DROP_CHECK_INTERVAL != 0) continue;
+                for (int e = 0; e < count; e++)
+                {
+                    if (dropped[e]) continue;
+                    boolean slow = roundNanos[e] > fastestSoFar * DROP_FACTOR;
+                    if (slow && slowAtLastCheck[e])
+                    {
+                        dropped[e] = true;
+                        bestNanos[e] = roundNanos[e] * corpus.size() / (i + 1);
+                    }
+                    slowAtLastCheck[e] = slow;
+                }
+            }
+            for (int e = 0; e < count; e++)
+            {
+                if (!dropped[e] && round >= WARM_UP_ROUNDS) bestNanos[e] = Math.min(bestNanos[e], roundNanos[e]);
+            }
+        }
+
+        Map<String, Double> timings = new LinkedHashMap<>();
+        SolverEngine best = null;
+        long bestTime = Long.MAX_VALUE;
+        for (int e = 0; e < count; e++)
+        {
+            timings.put(candidates.get(e).getName(), (double) bestNanos[e] / corpus.size());
+            if (!dropped[e] && bestNanos[e] < bestTime)
+            {
+                bestTime = bestNanos[e];
+                best = candidates.get(e);
+            }
+        }
+        nanosPerPuzzle = Collections.unmodifiableMap(timings);
+        if (Application.timeLogger != null) Application.timeLogger.log(Level.INFO, "Solver engine timings in ns per puzzle: " + timings + ", picked " + best.getName() + " (" + sink + " solutions)");
+        return best;
+    }
+
+    /**
+     * @return the puzzles of the WARM_UP_CORPORA in a fixed random order, so that any part of it has easy and hard puzzles.
+     * Lines starting with # are comments.
+     */
+    static List<CompactSudoku> loadWarmUpCorpus() throws IOException
+    {
+        List<CompactSudoku> puzzles = new ArrayList<>();
+        for (String name : WARM_UP_CORPORA)
+        {
+            InputStream in = ApplicationLauncher.class.getResourceAsStream("resources/benchmark/" + name + ".txt");
+            if (in == null) throw new FileNotFoundException("resources/benchmark/" + name + ".txt");
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+            {
+                String line;
+                while ((line = reader.readLine()) != null)
+                {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) continue;
+                    CompactSudoku puzzle = IO.readCompact81String(line);
+                    if (puzzle != null) puzzles.add(puzzle);
+                }
+            }
+        }
+        Collections.shuffle(puzzles, new Random(WARM_UP_CORPORA.length));
+        return puzzles;
+    }
+
+    /**
+     * The backtracking of Solver, which copies the board for each guess
+     */
+    public static class Backtracking implements SolverEngine
+    {
+        @Override
+        public String getName()
+        {
+            return "Backtracking";
+        }
+
+        @Override
+        public int solve(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request)
+        {
+            return Solver.solve(sudoku, puzzleSolutions, request);
+        }
+    }
+
+    /**
+     * The backtracking of TrailSolver, which undoes guesses with a trail instead of copying the board
+     */
+    public static class Trail implements SolverEngine
+    {
+        @Override
+        public String getName()
+        {
+            return DEFAULT_ENGINE;
+        }
+
+        @Override
+        public int solve(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request)
+        {
+            return TrailSolver.forCurrentThread().solve(sudoku, puzzleSolutions, request);
+        }
+    }
+
+    /**
+     * Knuth's Algorithm X with dancing links, see DancingLinks
+     */
+    public static class DLX implements SolverEngine
+    {
+        @Override
+        public String getName()
+        {
+            return "Dancing Links";
+        }
+
+        @Override
+        public int solve(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request)
+        {
+            return DancingLinks.forCurrentThread().solve(sudoku, puzzleSolutions, request);
+        }
+    }
+}
@@ -15,6 +15,8 @@ import java.awt.event.KeyEvent;
 import java.security.Key;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
 
 /**
  * @since 5-23-2021
@@ -30,6 +32,10 @@ public class SolverPanel extends JPanel
     JButton solveAll;
     JButton takeStep;
     JButton options;
+    JButton stopSolving;
+    JLabel solvingProgress;
+
+    SolveRequest runningRequest; // the request of the solution count or solve all run in the background, if any
 
     JPopupMenu optionsPopup;
     JMenuItem clearValidityHighlights;
@@ -86,7 +92,28 @@ public class SolverPanel extends JPanel
                 if (shouldStartSolving())
                 {
                     ArrayList<int[][]> answers = new ArrayList<>(1);
-                    int result = Solver.solve(owner.board.sudoku, answers, Solver.FIND_ONE_SOLUTION);
+                    CompactSudoku puzzle = new CompactSudoku(owner.board.sudoku);
+                    SolutionCache.Key key = SolutionCache.keyOf(puzzle);
+                    int[][] cachedSolution = key == null ? null : SolutionCache.getShared().getSolution(key);
+                    int result;
+                    if (cachedSolution != null)
+                    {
+                        answers.add(cachedSolution);
+                        result = 1;
+                    }
+                    else if (key != null && SolutionCache.getShared().getSolutionCount(key, Solver.FIND_ONE_SOLUTION, 1) == 0)
+                    {
+                        result = 0;
+                    }
+                    else
+                    {
+                        result = SolverEngines.getSelected().solve(puzzle, answers, new SolveRequest(Solver.FIND_ONE_SOLUTION, 1));
+                        if (key != null)
+                        {
+                            SolutionCache.getShared().putSolutionCount(key, Solver.FIND_ONE_SOLUTION, 1, result);
+                            if (result > 0) SolutionCache.getShared().putSolution(key, answers.get(0));
+                        }
+                    }
                     if (result > 0)
                     {
                         assert result == 1 : result;
@@ -112,17 +139,18 @@ public class SolverPanel extends JPanel
                 owner.board.cellEditor.endEdit();
                 if (shouldStartSolving())
                 {
-                    ArrayList<int[][]> results = new ArrayList<>();
-                    int found = Solver.solve(owner.board.sudoku, results, Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED);
-                    if (found > 0)
-                    {
-                        Application.getAllSolutionsFrame().addTab(owner, results);
-                        Application.allSolutionsFrame.setVisible(true);
-                    }
-                    else
+                    SolveRequest request = new SolveRequest(Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED, (Integer) Application.solverSettingsPanel.maxSolutionsForSolveAll.getValue());
+                    PackedSolutions solutions = new PackedSolutions();
+                    AllSolutionsFrame.AllSolutionsTab resultsTab = Application.getAllSolutionsFrame().addTab(owner, request, solutions);
+                    Application.allSolutionsFrame.setVisible(true);
+                    request.setProgressListener((nodesVisited, solutionsFound, depth) -> SwingUtilities.invokeLater(() ->
                     {
-                        appendMessage("This board has no valid solutions.", true);
-                    }
+                        showProgress(request, nodesVisited, solutionsFound);
+                        resultsTab.showProgress(nodesVisited, solutionsFound);
+                    }), PROGRESS_INTERVAL);
+
+                    startRunning(request);
+                    new SolveAllWorker(new CompactSudoku(owner.board.sudoku), request, solutions, resultsTab).execute();
                 }
             }
         };
@@ -146,6 +174,22 @@ public class SolverPanel extends JPanel
         takeStep.setToolTipText("Take one step using the checked solving techniques");
         Application.keyboardSettingsPanel.registerOtherShortcut("takeStep", KeyboardSettingsPanel.getMenuItemString("Solver", "Take Step"), true, KeyEvent.VK_T, Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx(), takeStepAction, SolverPanel.this, JComponent.WHEN_IN_FOCUSED_WINDOW);
 
+        AbstractAction stopSolvingAction = new AbstractAction("Stop")
+        {
+            @Override
+            public void actionPerformed(ActionEvent e)
+            {
+                if (runningRequest != null) runningRequest.cancel();
+            }
+        };
+        stopSolving = new JButton(stopSolvingAction);
+        stopSolving.setToolTipText("Stop counting solutions, or stop finding all solutions");
+        stopSolving.setEnabled(false);
+        Application.keyboardSettingsPanel.registerOtherShortcut("stopSolving", KeyboardSettingsPanel.getMenuItemString("Solver", "Stop"), false, 0, 0, stopSolvingAction, SolverPanel.this, JComponent.WHEN_IN_FOCUSED_WINDOW);
+
+        solvingProgress = new JLabel();
+        solvingProgress.setHorizontalAlignment(SwingConstants.CENTER);
+
         options = new JButton("Options...");
         options.addActionListener(event ->
         {
@@ -226,13 +270,15 @@ public class SolverPanel extends JPanel
         optionsPopup.add(solverSettings);
         optionsPopup.add(solverColorSettings);
 
-        buttonsPanel = new JPanel(new GridLayout(3, 2));
+        buttonsPanel = new JPanel(new GridLayout(4, 2));
         buttonsPanel.add(checkValidity);
         buttonsPanel.add(checkValidityAndSolutions);
         buttonsPanel.add(quickSolve);
         buttonsPanel.add(solveAll);
         buttonsPanel.add(takeStep);
         buttonsPanel.add(options);
+        buttonsPanel.add(stopSolving);
+        buttonsPanel.add(solvingProgress);
         buttonsPanel.setBorder(BorderFactory.createTitledBorder("Options"));
 
         output = new JTextArea(10, 10);
@@ -325,8 +371,26 @@ public class SolverPanel extends JPanel
             return;
         }
 
-        int solutionCount = Solver.solve(owner.board.sudoku, null, Solver.RETURN_IF_FINDS_SECOND_SOLUTION);
-        if (solutionCount <= 0)
+        SolveRequest request = new SolveRequest(Solver.RETURN_IF_FINDS_SECOND_SOLUTION, 1);
+        CompactSudoku puzzle = new CompactSudoku(owner.board.sudoku);
+        request.setProgressListener((nodesVisited, solutionsFound, depth) -> SwingUtilities.invokeLater(() -> showProgress(request, nodesVisited, solutionsFound)), PROGRESS_INTERVAL);
+        startRunning(request);
+        new SolutionCountWorker(puzzle, request).execute();
+    }
+
+    /**
+     * Appends the result of the solution count of Check Validity Fully
+     */
+    void showSolutionCount(int solutionCount, SolveRequest request)
+    {
+        StringBuilder b = new StringBuilder();
+        if (request.stoppedEarly())
+        {
+            b.append("Solution count ");
+            b.append(getStopReason(request));
+            b.append(solutionCount > 0 ? ", but the board has at least 1 solution." : " before finding any solutions.");
+        }
+        else if (solutionCount <= 0)
         {
             b.append("Board is invalid: ");
             b.append(System.lineSeparator());
@@ -343,6 +407,160 @@ public class SolverPanel extends JPanel
         appendMessage(b.toString(), true);
     }
 
+    // how often the progress of a running request is shown, in milliseconds
+    static final int PROGRESS_INTERVAL = 200;
+
+    void startRunning(SolveRequest request)
+    {
+        runningRequest = request;
+        stopSolving.setEnabled(true);
+        checkValidityAndSolutions.setEnabled(false);
+        solveAll.setEnabled(false);
+        solvingProgress.setText("Solving...");
+    }
+
+    void finishRunning()
+    {
+        runningRequest = null;
+        stopSolving.setEnabled(false);
+        checkValidityAndSolutions.setEnabled(true);
+        solveAll.setEnabled(true);
+        solvingProgress.setText("");
+    }
+
+    void showProgress(SolveRequest request, long nodesVisited, int solutionsFound)
+    {
+        if (request == runningRequest) solvingProgress.setText(getProgressString(request, nodesVisited, solutionsFound));
+    }
+
+    static String getProgressString(SolveRequest request, long nodesVisited, int solutionsFound)
+    {
+        return String.format("%,d solutions, %,d nodes (%,d/s)", solutionsFound, nodesVisited, request.getNodesPerSecond());
+    }
+
+    /**
+     * @return why a request stopped early, e.g. "stopped by user"
+     */
+    static String getStopReason(SolveRequest request)
+    {
+        switch (request.getOutcome())
+        {
+            case CANCELLED:
+                return "stopped by user";
+            case DEADLINE_REACHED:
+                return "ran out of time";
+            case NODE_BUDGET_EXHAUSTED:
+                return "ran out of search nodes";
+            default:
+                return "completed";
+        }
+    }
+
+    /**
+     * Counts the solutions of a copy of the board in the background, for Check Validity Fully
+     */
+    private class SolutionCountWorker extends SwingWorker<Integer, Object>
+    {
+        CompactSudoku sudoku;
+        SolveRequest request;
+
+        SolutionCountWorker(CompactSudoku sudoku, SolveRequest request)
+        {
+            this.sudoku = sudoku;
+            this.request = request;
+        }
+
+        @Override
+        public Integer doInBackground()
+        {
+            // canonicalizing can take a while too, so the cache is looked up here rather than on the event dispatch thread
+            SolutionCache.Key key = SolutionCache.keyOf(sudoku);
+            int cachedCount = key == null ? SolutionCache.UNKNOWN : SolutionCache.getShared().getSolutionCount(key, request.mode, request.maxSolutions);
+            if (cachedCount != SolutionCache.UNKNOWN) return cachedCount;
+
+            int found = SolverEngines.getSelected().solve(sudoku, null, request);
+            if (key != null && !request.stoppedEarly()) SolutionCache.getShared().putSolutionCount(key, request.mode, request.maxSolutions, found);
+            return found;
+        }
+
+        /**
+         * Executes in the event dispatch thread
+         */
+        public void done()
+        {
+            finishRunning();
+            try
+            {
+                showSolutionCount(get(), request);
+            }
+            catch (InterruptedException | ExecutionException e)
+            {
+                Application.exceptionLogger.logp(Level.SEVERE, getClass().toString(), "done", "Error when counting solutions", e);
+            }
+        }
+    }
+
+    /**
+     * Finds all solutions of a copy of the board in the background, for Solution Count.
+     * The solutions go straight into the PackedSolutions shown by resultsTab, which adds rows for them as the search progresses.
+     */
+    private class SolveAllWorker extends SwingWorker<Integer, Object>
+    {
+        CompactSudoku sudoku;
+        SolveRequest request;
+        AllSolutionsFrame.AllSolutionsTab resultsTab;
+        PackedSolutions results;
+
+        SolveAllWorker(CompactSudoku sudoku, SolveRequest request, PackedSolutions results, AllSolutionsFrame.AllSolutionsTab resultsTab)
+        {
+            this.sudoku = sudoku;
+            this.request = request;
+            this.results = results;
+            this.resultsTab = resultsTab;
+        }
+
+        @Override
+        public Integer doInBackground()
+        {
+            return ParallelSolutionEnumerator.enumerate(sudoku, results, request);
+        }
+
+        /**
+         * Executes in the event dispatch thread
+         */
+        public void done()
+        {
+            finishRunning();
+            int found;
+            try
+            {
+                found = get();
+            }
+            catch (InterruptedException | ExecutionException e)
+            {
+                Application.exceptionLogger.logp(Level.SEVERE, getClass().toString(), "done", "Error when finding all solutions", e);
+                found = -1;
+            }
+
+            if (found > 0)
+            {
+                resultsTab.showSolutions(results, request.maxSolutions, request);
+            }
+            else
+            {
+                Application.allSolutionsFrame.removeTab(resultsTab);
+                if (request.stoppedEarly())
+                {
+                    appendMessage("Solution Count " + getStopReason(request) + " before finding any solutions.", true);
+                }
+                else
+                {
+                    appendMessage("This board has no valid solutions.", true);
+                }
+            }
+        }
+    }
+
     /*
      * @return if board is invalid, return the messages describing what is invalid
      */
@@ -3,7 +3,6 @@ package com.github.shayna003.sudoker.solver;
 import com.github.shayna003.sudoker.*;
 import com.github.shayna003.sudoker.prefs.DigitsAndIndexesPanel;
 import com.github.shayna003.sudoker.util.*;
-import static com.github.shayna003.sudoker.Application.digitsAndIndexesPanel;
 
 import java.util.*;
 import java.util.logging.*;
@@ -47,6 +46,39 @@ public class SolverUtil
          return candidates;
      }
 
+     /**
+      * Bitmask version of getCandidates
+      * @return an array of the candidates of cell i
+      */
+     public static int[] getCandidates(CompactSudoku sudoku, int i)
+     {
+         assert sudoku.candidates[i] != 0 : "candidates[" + i + "]: 0";
+         return CompactSudoku.digits(sudoku.candidates[i]);
+     }
+
+     /**
+      * @return index of an unsolved cell with the fewest candidates, -1 if all cells are solved
+      */
+     public static int cellWithFewestCandidates(CompactSudoku sudoku)
+     {
+         int bestCell = -1;
+         int bestCount = 10;
+         for (int i = 0; i < 81; i++)
+         {
+             if (sudoku.values[i] == 0)
+             {
+                 int count = Integer.bitCount(sudoku.candidates[i]);
+                 if (count < bestCount)
+                 {
+                     bestCount = count;
+                     bestCell = i;
+                     if (count <= 2) return bestCell;
+                 }
+             }
+         }
+         return bestCell;
+     }
+
      /**
       * @return [0] array of how many times each candidate [1, 9] appeared
       * @return [1] an array of the different candidates of the cells
@@ -83,7 +115,7 @@ public class SolverUtil
      }
 
      /**
-      * Used by findHiddenCandidates to generate precise messages
+      * Used by findHiddenCandidates to record precisely which units a group is unique in
       * @param selected only count the selected column indexes
       * @return [0] array of how many times each candidate (1 ~ 9) appeared
       * @return [1] an array of the different candidates of the cells
@@ -198,24 +230,19 @@ public class SolverUtil
       */
      public static int[][] candidateCountBox(Sudoku sudoku, int r, int c)
      {
-         int boxTopLeftCellR = Math.floorDiv(r, 3) * 3;
-         int boxTopLeftCellC = Math.floorDiv(c, 3) * 3;
-
          int[] record = new int[9];
          int[][] results;
          int numberOfUniqueCandidates = 0;
          int index = 0;
-         for (int ri = 0; ri < 3; ri++)
+         for (int k = Topology.boxUnit(r, c) * 9, end = k + 9; k < end; k++)
          {
-             for (int ci = 0; ci < 3; ci++)
+             int cell = Topology.UNIT_CELLS[k];
+             for (int n = 0; n < 9; n++)
              {
-                 for (int n = 0; n < 9; n++)
+                 if (sudoku.grid[Topology.ROW_OF[cell]][Topology.COLUMN_OF[cell]][n] > 0)
                  {
-                     if (sudoku.grid[boxTopLeftCellR + ri][boxTopLeftCellC + ci][n] > 0)
-                     {
-                         if (record[n] == 0) numberOfUniqueCandidates++;
-                         record[n]++;
-                     }
+                     if (record[n] == 0) numberOfUniqueCandidates++;
+                     record[n]++;
                  }
              }
          }
@@ -245,8 +272,7 @@ public class SolverUtil
      public static int[][] candidateCountBox(Sudoku sudoku, int[] selected, int r, int c)
      {
          assert selected != null;
-         int boxTopLeftCellR = Math.floorDiv(r, 3) * 3;
-         int boxTopLeftCellC = Math.floorDiv(c, 3) * 3;
+         int firstCell = Topology.boxUnit(r, c) * 9;
 
          int[] record = new int[9];
          int[][] results;
@@ -254,9 +280,10 @@ public class SolverUtil
          int index = 0;
          for (int i = 0; i < selected.length; i++)
          {
+             int cell = Topology.UNIT_CELLS[firstCell + selected[i]];
              for (int n = 0; n < 9; n++)
              {
-                 if (sudoku.grid[boxTopLeftCellR + Math.floorDiv(selected[i], 3)][boxTopLeftCellC + selected[i] % 3][n] > 0)
+                 if (sudoku.grid[Topology.ROW_OF[cell]][Topology.COLUMN_OF[cell]][n] > 0)
                  {
                      if (record[n] == 0) numberOfUniqueCandidates++;
                      record[n]++;
@@ -417,14 +444,25 @@ public class SolverUtil
          return results;
      }
 
+    /**
+     * @return the 9-bit candidate mask of status[r][c]
+     */
+    public static int getCandidateMask(Sudoku sudoku, int r, int c)
+    {
+        if (sudoku.status[r][c] > 0) return CompactSudoku.bit(sudoku.status[r][c]);
+        return GridUtil.getMaskForCell(sudoku.grid[r][c]);
+    }
+
     /**
      * Used by Solver.nakedCandidates
+     * @param solverHighlights if != null, set the group's candidates to SolverPanel.ONLY_CANDIDATE and deleted places to SolverPanel.ELIMINATED_CANDIDATE
+     * @param search the cells of one unit that have at most n candidates, groups of n of them are searched
      * @param n select a group of n cells such that together they hav n unique candidates in total
      * @param unit one of {@code UnitCheck.SAME_ROW, UnitCheck.SAME_COLUMN, UnitCheck.SAME_BOX}
      * @param returnFirst returns the first match, else return all
-     * @param compileMessages if true, compute messages for SolverPanel's console, else don't
+     * @param recordFindings if true, add a Finding to solveResults for each match, else don't
      */
-    public static void findNakedCandidates(Board board, ArrayList<Integer> possibleRowIndexes, ArrayList<Integer> possibleColIndexes, ArrayList<int[]> possibleCandidates, int n, int unit, boolean returnFirst, boolean eliminateRecursively, boolean returnIfInvalid, boolean compileMessages, int[] results, Results solveResults)
+    public static void findNakedCandidates(int[][][] solverHighlights, SubsetSearch search, int n, int unit, boolean returnFirst, boolean eliminateRecursively, boolean returnIfInvalid, boolean recordFindings, int[] results, Results solveResults)
     {
         boolean sameRow;
         boolean sameColumn;
@@ -434,136 +472,60 @@ public class SolverUtil
         int[] selectedColIndexes;
         int[] foundCandidates;
 
-        int[][] candidateCountResults;
-        int sameUnitCount;
-
         int[] eliminateResults = new int[3];
-        StringBuilder messageBuilder = new StringBuilder();
-
-        int[] indexCombo = new int[n];
-        Arrays.fill(indexCombo, -1);
-        int indexToIncrement = 0;
 
-        while (true) // find all unique combos of the given possible indexes
+        // in a box, skip groups in the same row or column to prevent checking repeats: searching their row or column finds the same results
+        search.start();
+        while (search.nextNaked(unit == UnitCheck.SAME_BOX)) // find all combos of n cells with at most n candidates
         {
-            if (indexCombo[indexToIncrement] + (n - indexToIncrement) > possibleCandidates.size() - 1)
-            {
-                if (indexToIncrement == 0) return; // all combos tested
-                indexToIncrement--;
-            }
-            else
+            if (Integer.bitCount(search.getCandidates()) == n) // found
             {
-                indexCombo[indexToIncrement]++;
-                for (int k = indexToIncrement + 1; k < n; k++)
+                selectedRowIndexes = search.getRowIndexes();
+                selectedColIndexes = search.getColIndexes();
+                foundCandidates = CompactSudoku.digits(search.getCandidates());
+
+                sameRow = unit == UnitCheck.SAME_ROW;
+                sameColumn = unit == UnitCheck.SAME_COLUMN;
+                sameBox = unit == UnitCheck.SAME_BOX ? true : search.inSameBox();
+
+                // see if it helps eliminate candidates
+                Arrays.fill(eliminateResults, 0);
+                if (sameRow) Solver.deleteCandidatesInRow(solverHighlights, solveResults.sudoku, foundCandidates, selectedColIndexes, selectedRowIndexes[0], selectedColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults);
+                if (sameColumn) Solver.deleteCandidatesInCol(solverHighlights, solveResults.sudoku, foundCandidates, selectedRowIndexes, selectedRowIndexes[0], selectedColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults);
+                if (sameBox) Solver.deleteCandidatesInBox(solverHighlights, solveResults.sudoku, foundCandidates, selectedRowIndexes, selectedColIndexes, selectedRowIndexes[0], selectedColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults);
+                results[0] += eliminateResults[0];
+                results[1] += eliminateResults[1];
+                results[2] += eliminateResults[2];
+
+                if (eliminateResults[Solver.ELIMINATED_INDEX] > 0) // found it
                 {
-                    indexCombo[k] = indexCombo[k - 1] + 1;
-                }
-                indexToIncrement = n - 1;
-
-                selectedRowIndexes = Util.getArray(possibleRowIndexes, indexCombo);
-                selectedColIndexes = Util.getArray(possibleColIndexes, indexCombo);
-
-                sameRow = unit == UnitCheck.SAME_ROW ? true : (unit == UnitCheck.SAME_COLUMN ? false : Util.sameIndex(selectedRowIndexes));
-                sameColumn = unit == UnitCheck.SAME_ROW  ? false : (unit == UnitCheck.SAME_COLUMN ? true : Util.sameIndex(selectedColIndexes));
-                sameBox = unit == UnitCheck.SAME_BOX ? true : UnitCheck.sameBox(selectedRowIndexes, selectedColIndexes);
-
-                // to prevent checking repeats: this function would be called with unit = SAME_ROW or SAME_COLUMN and find the same results
-                if (unit != UnitCheck.SAME_BOX || (!sameRow && !sameColumn))
-                {
-                    // [0] how many times each candidate appeared
-                    // [1] an array of the different candidates of the cells
-                    candidateCountResults = candidateCount(possibleCandidates, indexCombo);
-
-                    if (candidateCountResults[1].length == n) // found
+                    solveResults.found++;
+                    if (solverHighlights != null) // mark highlights
                     {
-                        foundCandidates = candidateCountResults[1];
-
-                        // see if it helps eliminate candidates
-                        Arrays.fill(eliminateResults, 0);
-                        if (sameRow) Solver.deleteCandidatesInRow(board.solverHighlights, solveResults.sudoku, foundCandidates, selectedColIndexes, selectedRowIndexes[0], selectedColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults);
-                        if (sameColumn) Solver.deleteCandidatesInCol(board.solverHighlights, solveResults.sudoku, foundCandidates, selectedRowIndexes, selectedRowIndexes[0], selectedColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults);
-                        if (sameBox) Solver.deleteCandidatesInBox(board.solverHighlights, solveResults.sudoku, foundCandidates, selectedRowIndexes, selectedColIndexes, selectedRowIndexes[0], selectedColIndexes[0], eliminateRecursively, returnIfInvalid, false, eliminateResults);
-                        results[0] += eliminateResults[0];
-                        results[1] += eliminateResults[1];
-                        results[2] += eliminateResults[2];
-
-                        if (eliminateResults[Solver.ELIMINATED_INDEX] > 0) // found it
+                        for (int i = 0; i < selectedRowIndexes.length; i++)
                         {
-                            solveResults.found++;
-                            if (board.solverHighlights != null) // mark highlights
+                            for (int x = 0; x < n; x++)
                             {
-                                for (int i = 0; i < selectedRowIndexes.length; i++)
+                                if (solveResults.sudoku.grid[selectedRowIndexes[i]][selectedColIndexes[i]][foundCandidates[x] - 1] > 0)
                                 {
-                                    for (int x = 0; x < n; x++)
-                                    {
-                                        if (solveResults.sudoku.grid[selectedRowIndexes[i]][selectedColIndexes[i]][foundCandidates[x] - 1] > 0)
-                                        {
-                                            board.solverHighlights[selectedRowIndexes[i]][selectedColIndexes[i]][foundCandidates[x] - 1] = SolverPanel.ONLY_CANDIDATE;
-                                        }
-                                    }
+                                    solverHighlights[selectedRowIndexes[i]][selectedColIndexes[i]][foundCandidates[x] - 1] = SolverPanel.ONLY_CANDIDATE;
                                 }
                             }
-
-                            if (compileMessages)
-                            {
-                                sameUnitCount = 0;
-                                if (sameRow) sameUnitCount++;
-                                if (sameColumn) sameUnitCount++;
-                                if (sameBox) sameUnitCount++;
-
-                                switch (n)
-                                {
-                                    case 2:
-                                        messageBuilder.append("Naked Pair"); break;
-                                    case 3:
-                                        messageBuilder.append("Naked Triple"); break;
-                                    case 4:
-                                        messageBuilder.append("Naked Quadruple"); break;
-                                    default:
-                                        messageBuilder.append("Naked Candidates of a group of ");
-                                        messageBuilder.append(n);
-                                        break;
-                                }
-                                messageBuilder.append(" found:");
-                                messageBuilder.append(System.lineSeparator());
-                                messageBuilder.append(Solver.messageOutputIndent);
-
-                                messageBuilder.append("Since the ");
-                                messageBuilder.append(n);
-                                messageBuilder.append(" cells ");
-                                messageBuilder.append(digitsAndIndexesPanel.getStringIndexes(selectedRowIndexes, selectedColIndexes));
-                                messageBuilder.append(" altogether have only ");
-                                messageBuilder.append(n);
-                                messageBuilder.append(" candidates and are in the same ");
-                                messageBuilder.append(sameRow ? sameUnitCount > 1 ? "row and " : "row, " : "");
-                                messageBuilder.append(sameColumn ? sameUnitCount > 1 ? "column and " : "column, " : "");
-                                messageBuilder.append(sameBox ? "box, " : "");
-                                messageBuilder.append("they each have to be one of the candidates of ");
-                                messageBuilder.append(digitsAndIndexesPanel.getStringCandidates(foundCandidates));
-                                messageBuilder.append(".");
-
-                                messageBuilder.append(System.lineSeparator());
-                                messageBuilder.append(Solver.messageOutputIndent);
-                                messageBuilder.append("Therefore the other cells in their ");
-                                messageBuilder.append(sameRow ? sameUnitCount > 1 ? "row and " : "row " : "");
-                                messageBuilder.append(sameColumn ? sameUnitCount > 1 ? "column and " : "column " : "");
-                                messageBuilder.append(sameBox ? "box " : "");
-                                messageBuilder.append("cannot have ");
-                                messageBuilder.append(digitsAndIndexesPanel.getStringCandidates(foundCandidates));
-                                messageBuilder.append(" as their candidates.");
-                                solveResults.messages.add(messageBuilder.toString());
-                                messageBuilder.delete(0, messageBuilder.length());
-                            }
-                            if (returnFirst) return;
                         }
-                        if (returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return;
                     }
-                    else if (candidateCountResults[1].length < n)
+
+                    if (recordFindings)
                     {
-                        Application.exceptionLogger.log(Level.WARNING, "Error in findNakedCandidates(): " + n + " cells end up with only " + candidateCountResults[1].length + " total different candidates!");
-                        if (returnIfInvalid) return;
+                        solveResults.findings.add(new Finding(Finding.Kind.NAKED_GROUP, selectedRowIndexes, selectedColIndexes, search.getCandidates(), Finding.unitsOf(selectedRowIndexes[0], selectedColIndexes[0], sameRow, sameColumn, sameBox), eliminateResults[Solver.ELIMINATED_INDEX]));
                     }
+                    if (returnFirst) return;
                 }
+                if (returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return;
+            }
+            else
+            {
+                Application.exceptionLogger.log(Level.WARNING, "Error in findNakedCandidates(): " + n + " cells end up with only " + Integer.bitCount(search.getCandidates()) + " total different candidates!");
+                if (returnIfInvalid) return;
             }
         }
     }
@@ -572,13 +534,14 @@ public class SolverUtil
      * Used by Solver.hiddenCandidates
      * Find n unsolved cells so that together they have > n candidates and no other cell in their row/col/box have n of their candidates
      * Only at least one cell needs to have an extra candidate, and a cell can even have less candidates than n
+     * @param solverHighlights if != null, set the group's candidates to SolverPanel.ONLY_CANDIDATE and deleted places to SolverPanel.ELIMINATED_CANDIDATE
+     * @param search the unsolved cells of one unit, groups of n of them are searched
      * @param n select a group of n cells
      * @param unit one of {@code UnitCheck.SAME_ROW, UnitCheck.SAME_COLUMN, UnitCheck.SAME_BOX}
      * @param returnFirst returns the first match, else return all
-     * @param compileMessages if true, compute messages for SolverPanel's console, else don't
+     * @param recordFindings if true, add a Finding to solveResults for each match, else don't
      */
-    public static void findHiddenCandidates(Board board, ArrayList<Integer> possibleRowIndexes, ArrayList<Integer> possibleColIndexes, ArrayList<int[]> possibleCandidates,
-    int n, int unit, boolean returnFirst, boolean eliminateRecursively, boolean returnIfInvalid, boolean compileMessages, int[] results, Results solveResults)
+    public static void findHiddenCandidates(int[][][] solverHighlights, SubsetSearch search, int n, int unit, boolean returnFirst, boolean eliminateRecursively, boolean returnIfInvalid, boolean recordFindings, int[] results, Results solveResults)
     {
         boolean sameRow;
         boolean sameColumn;
@@ -587,163 +550,92 @@ public class SolverUtil
         boolean uniqueInRow;
         boolean uniqueInCol;
         boolean uniqueInBox;
-        int uniqueInUnitCount;
+        int units = 0;
 
         int[] selectedRowIndexes;
         int[] selectedColIndexes;
-        int[] foundCandidates;
-
-        int[][] candidateCountResults;
-        int[][] candidateCountResultsForOtherCells;
+        int[] groupCandidates;
         int[] candidatesNotIncludedInOtherCells;
         int[] candidatesNotIncludedInOtherCellsForMessageGeneration;
-        int sameUnitCount;
 
         int[] eliminateResults = new int[3];
-        StringBuilder messageBuilder = new StringBuilder();
 
-        int[] indexCombo = new int[n];
-        int[] otherIndexesInSameUnit;
-
-        Arrays.fill(indexCombo, -1);
-        int indexToIncrement = 0;
-
-        while (true) // find all unique combos of the given possible indexes
+        search.start();
+        while (search.nextHidden()) // find all combos of n cells that are the only ones in the unit with n of their candidates
         {
-            if (indexCombo[indexToIncrement] + (n - indexToIncrement) > possibleCandidates.size() - 1)
-            {
-                if (indexToIncrement == 0) return; // all combos tested
-                indexToIncrement--;
-            }
-            else
+            selectedRowIndexes = search.getRowIndexes();
+            selectedColIndexes = search.getColIndexes();
+            groupCandidates = CompactSudoku.digits(search.getCandidates());
+            candidatesNotIncludedInOtherCells = CompactSudoku.digits(search.getHiddenCandidates());
+
+            solveResults.found++;
+            if (recordFindings)
             {
-                indexCombo[indexToIncrement]++;
-                for (int k = indexToIncrement + 1; k < n; k++)
+                // which units the group is unique in has to be worked out before its other candidates are eliminated
+                sameRow = unit == UnitCheck.SAME_ROW ? true : (unit == UnitCheck.SAME_COLUMN ? false : search.inSameRow());
+                sameColumn = unit == UnitCheck.SAME_ROW  ? false : (unit == UnitCheck.SAME_COLUMN ? true : search.inSameColumn());
+                sameBox = unit == UnitCheck.SAME_BOX ? true : search.inSameBox();
+
+                // for precise message generation
+                if (unit == UnitCheck.SAME_BOX && sameRow)
+                {
+                    candidatesNotIncludedInOtherCellsForMessageGeneration = Util.returnCandidatesNotIncluded(candidateCountRow(solveResults.sudoku, Util.getNotIncludedIndexes(selectedColIndexes, 0, 8), selectedRowIndexes[0])[0], groupCandidates);
+                    uniqueInRow = candidatesNotIncludedInOtherCellsForMessageGeneration.length == n;
+                }
+                else
                 {
-                    indexCombo[k] = indexCombo[k - 1] + 1;
+                    uniqueInRow = unit == UnitCheck.SAME_ROW;
                 }
-                indexToIncrement = n - 1;
 
-                selectedRowIndexes = Util.getArray(possibleRowIndexes, indexCombo);
-                selectedColIndexes = Util.getArray(possibleColIndexes, indexCombo);
+                if (unit == UnitCheck.SAME_BOX && sameColumn)
+                {
+                    candidatesNotIncludedInOtherCellsForMessageGeneration = Util.returnCandidatesNotIncluded(candidateCountCol(solveResults.sudoku, Util.getNotIncludedIndexes(selectedRowIndexes, 0, 8), selectedColIndexes[0])[0], groupCandidates);
+                    uniqueInCol = candidatesNotIncludedInOtherCellsForMessageGeneration.length == n;
+                }
+                else
+                {
+                    uniqueInCol = unit == UnitCheck.SAME_COLUMN;
+                }
 
-                sameRow = unit == UnitCheck.SAME_ROW ? true : (unit == UnitCheck.SAME_COLUMN ? false : Util.sameIndex(selectedRowIndexes));
-                sameColumn = unit == UnitCheck.SAME_ROW  ? false : (unit == UnitCheck.SAME_COLUMN ? true : Util.sameIndex(selectedColIndexes));
-                sameBox = unit == UnitCheck.SAME_BOX ? true : UnitCheck.sameBox(selectedRowIndexes, selectedColIndexes);
+                if (unit != UnitCheck.SAME_BOX && sameBox)
+                {
+                    candidatesNotIncludedInOtherCellsForMessageGeneration = Util.returnCandidatesNotIncluded(candidateCountBox(solveResults.sudoku, Util.getNotIncludedIndexes(DigitsAndIndexesPanel.getWithinBoxIndexes(selectedRowIndexes, selectedColIndexes), 0, 8), selectedRowIndexes[0], selectedColIndexes[0])[0], groupCandidates);
+                    uniqueInBox = candidatesNotIncludedInOtherCellsForMessageGeneration.length == n;
+                }
+                else
+                {
+                    uniqueInBox = unit == UnitCheck.SAME_BOX;
+                }
 
-                // [0] how many times each candidate appeared
-                // [1] an array of the different candidates of the cells
-                candidateCountResults = candidateCount(possibleCandidates, indexCombo);
+                units = Finding.unitsOf(selectedRowIndexes[0], selectedColIndexes[0], uniqueInRow, uniqueInCol, uniqueInBox);
+            }
 
-                if (candidateCountResults[1].length > n ) // if total candidates == n, then it would be a naked group instead of hidden group
+            // remove candidates other than the "hidden" ones in the hidden candidate cell group
+            Arrays.fill(eliminateResults, 0);
+            for (int k = 0; k < selectedRowIndexes.length; k++)
+            {
+                // mark only candidates
+                if (solverHighlights != null)
                 {
-                    // to see if no other cell in their row/col/box (according to param unit) have n of their candidates
-                    otherIndexesInSameUnit = Util.getNotIncludedIndexes(indexCombo, 0, possibleCandidates.size() - 1);
-                    candidateCountResultsForOtherCells = candidateCount(possibleCandidates, otherIndexesInSameUnit);
-
-                    candidatesNotIncludedInOtherCells = Util.returnCandidatesNotIncluded(candidateCountResultsForOtherCells[0], candidateCountResults[1]);
-                    if (candidatesNotIncludedInOtherCells.length == n) // found it
+                    for (int x = 0; x < candidatesNotIncludedInOtherCells.length; x++)
                     {
-                        solveResults.found++;
-                        if (compileMessages)
+                        if (solveResults.sudoku.grid[selectedRowIndexes[k]][selectedColIndexes[k]][candidatesNotIncludedInOtherCells[x] - 1] > 0)
                         {
-                            // for precise message generation
-                            if (unit == UnitCheck.SAME_BOX && sameRow)
-                            {
-                                candidatesNotIncludedInOtherCellsForMessageGeneration = Util.returnCandidatesNotIncluded(candidateCountRow(solveResults.sudoku, Util.getNotIncludedIndexes(selectedColIndexes, 0, 8), possibleRowIndexes.get(indexCombo[0]))[0], candidateCountResults[1]);
-                                uniqueInRow = candidatesNotIncludedInOtherCellsForMessageGeneration.length == n;
-                            }
-                            else
-                            {
-                                uniqueInRow = unit == UnitCheck.SAME_ROW;
-                            }
-
-                            if (unit == UnitCheck.SAME_BOX && sameColumn)
-                            {
-                                candidatesNotIncludedInOtherCellsForMessageGeneration = Util.returnCandidatesNotIncluded(candidateCountCol(solveResults.sudoku, Util.getNotIncludedIndexes(selectedRowIndexes, 0, 8), possibleColIndexes.get(indexCombo[0]))[0], candidateCountResults[1]);
-                                uniqueInCol = candidatesNotIncludedInOtherCellsForMessageGeneration.length == n;
-                            }
-                            else
-                            {
-                                uniqueInCol = unit == UnitCheck.SAME_COLUMN;
-                            }
-
-                            if (unit != UnitCheck.SAME_BOX && sameBox)
-                            {
-                                candidatesNotIncludedInOtherCellsForMessageGeneration = Util.returnCandidatesNotIncluded(candidateCountBox(solveResults.sudoku, Util.getNotIncludedIndexes(DigitsAndIndexesPanel.getWithinBoxIndexes(selectedRowIndexes, selectedColIndexes), 0, 8), possibleRowIndexes.get(indexCombo[0]), possibleColIndexes.get(indexCombo[0]))[0], candidateCountResults[1]);
-                                uniqueInBox = candidatesNotIncludedInOtherCellsForMessageGeneration.length == n;
-                            }
-                            else
-                            {
-                                uniqueInBox = unit == UnitCheck.SAME_BOX;
-                            }
-
-                            uniqueInUnitCount = 0;
-                            if (uniqueInRow) uniqueInUnitCount++;
-                            if (uniqueInCol) uniqueInUnitCount++;
-                            if (uniqueInBox) uniqueInUnitCount++;
-
-                            switch(n)
-                            {
-                                case 2:
-                                    messageBuilder.append("Hidden Pair"); break;
-                                case 3:
-                                    messageBuilder.append("Hidden Triple"); break;
-                                case 4:
-                                    messageBuilder.append("Hidden Quadruple"); break;
-                                case 1:
-                                    messageBuilder.append("Hidden Single"); break;
-                                default:
-                                    messageBuilder.append("Hidden candidates of a group of ");
-                                    messageBuilder.append(n);
-                                    break;
-                            }
-                            messageBuilder.append(" found:");
-                            messageBuilder.append(System.lineSeparator());
-                            messageBuilder.append(Solver.messageOutputIndent);
-                            
-                            messageBuilder.append("Since the ");
-                            messageBuilder.append(n);
-                            messageBuilder.append(" cells ");
-                            messageBuilder.append(digitsAndIndexesPanel.getStringIndexes(selectedRowIndexes, selectedColIndexes));
-                            messageBuilder.append(" are the only cells in their ");
-                            messageBuilder.append(uniqueInRow ? uniqueInUnitCount > 1 ? "row and " : "row " : "");
-                            messageBuilder.append(uniqueInCol ? uniqueInUnitCount > 1 ? "column and " : "column " : "");
-                            messageBuilder.append(uniqueInBox ? "box " : "");
-                            messageBuilder.append("that contain the ");
-                            messageBuilder.append(n);
-                            messageBuilder.append(" candidates ");
-                            messageBuilder.append(digitsAndIndexesPanel.getStringCandidates(candidatesNotIncludedInOtherCells));
-                            messageBuilder.append(", these cells each have to be one of them.");
-                            solveResults.messages.add(messageBuilder.toString());
-                            messageBuilder.delete(0, messageBuilder.length());
+                            solverHighlights[selectedRowIndexes[k]][selectedColIndexes[k]][candidatesNotIncludedInOtherCells[x] - 1] = SolverPanel.ONLY_CANDIDATE;
                         }
-
-                        // remove candidates other than the "hidden" ones in the hidden candidate cell group
-                        Arrays.fill(eliminateResults, 0);
-                        for (int k = 0; k < selectedRowIndexes.length; k++)
-                        {
-                            // mark only candidates
-                            if (board.solverHighlights != null)
-                            {
-                                for (int x = 0; x < candidatesNotIncludedInOtherCells.length; x++)
-                                {
-                                    if (solveResults.sudoku.grid[selectedRowIndexes[k]][selectedColIndexes[k]][candidatesNotIncludedInOtherCells[x] - 1] > 0)
-                                    {
-                                        board.solverHighlights[selectedRowIndexes[k]][selectedColIndexes[k]][candidatesNotIncludedInOtherCells[x] - 1] = SolverPanel.ONLY_CANDIDATE;
-                                    }
-                                }
-                            }
-                            Solver.deleteCandidatesInCell(board.solverHighlights, solveResults.sudoku, Util.getNotIncludedIndexes(candidatesNotIncludedInOtherCells, 1, 9), selectedRowIndexes[k], selectedColIndexes[k], eliminateRecursively, returnIfInvalid, eliminateResults);
-                        }
-                        results[0] += eliminateResults[0];
-                        results[1] += eliminateResults[1];
-                        results[2] += eliminateResults[2];
-                        if (returnFirst) return;
                     }
-                    if (returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return;
                 }
+                Solver.deleteCandidatesInCell(solverHighlights, solveResults.sudoku, Util.getNotIncludedIndexes(candidatesNotIncludedInOtherCells, 1, 9), selectedRowIndexes[k], selectedColIndexes[k], eliminateRecursively, returnIfInvalid, eliminateResults);
+            }
+            results[0] += eliminateResults[0];
+            results[1] += eliminateResults[1];
+            results[2] += eliminateResults[2];
+            if (recordFindings)
+            {
+                solveResults.findings.add(new Finding(Finding.Kind.HIDDEN_GROUP, selectedRowIndexes, selectedColIndexes, search.getHiddenCandidates(), units, eliminateResults[Solver.ELIMINATED_INDEX]));
             }
+            if (returnFirst) return;
+            if (returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return;
         }
     }
 }
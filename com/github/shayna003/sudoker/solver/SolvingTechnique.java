@@ -11,6 +11,17 @@ import java.util.*;
 @SuppressWarnings("CanBeFinal")
 public class SolvingTechnique
 {
+	/**
+	 * What the matches of a technique depend on, so that TechniqueScheduler knows where a technique could find new matches
+	 */
+	public enum Scope
+	{
+		SOLVED_CELLS, // a match only depends on a solved cell and its peers, the technique only uses the solved cells of TechniqueOptions.cellsLow and cellsHigh
+		UNITS, // a match only depends on the candidates of one unit, the technique only searches TechniqueOptions.units
+		DIGITS, // a match only depends on the candidates of one digit, the technique only searches TechniqueOptions.digits
+		GRID // a match can depend on any candidate
+	}
+
 	public String name;
 	public Difficulty difficulty;
 	
@@ -22,6 +33,11 @@ public class SolvingTechnique
 	// If Results.found > 0, results will be recorded in the board.
 	// And if takeStep of the tree is invoked again, will set the Board's Sudoku to the sudoku recorded in the Results object.
 	public BiFunction<Board, SolvingTechniqueNode, Results> takeStep;
+
+	// the technique itself, works on a copy of the Sudoku it is given and needs no Board, null for a technique group
+	public BiFunction<Sudoku, TechniqueOptions, Results> step;
+
+	public Scope scope = Scope.GRID;
 	
 	public static EnumMap<Difficulty, ArrayList<SolvingTechnique>> techniques_byDifficulty = new EnumMap<>(Difficulty.class);
 
@@ -42,6 +58,27 @@ public class SolvingTechnique
 
 	public static final SolvingTechnique INTERSECTION_REMOVAL;
 
+	public static final SolvingTechnique BASIC_FISH;
+	public static final SolvingTechnique X_WING;
+	public static final SolvingTechnique SWORDFISH;
+	public static final SolvingTechnique JELLYFISH;
+
+	public static final SolvingTechnique FINNED_FISH;
+	public static final SolvingTechnique FINNED_X_WING;
+	public static final SolvingTechnique FINNED_SWORDFISH;
+	public static final SolvingTechnique FINNED_JELLYFISH;
+
+	public static final SolvingTechnique WINGS;
+	public static final SolvingTechnique XY_WING;
+	public static final SolvingTechnique XYZ_WING;
+	public static final SolvingTechnique W_WING;
+
+	public static final SolvingTechnique SIMPLE_COLOURING;
+
+	public static final SolvingTechnique CHAINS;
+	public static final SolvingTechnique X_CHAIN;
+	public static final SolvingTechnique ALTERNATING_INFERENCE_CHAIN;
+
 	static
 	{
 		ArrayList<SolvingTechnique> basic = new ArrayList<>();
@@ -54,10 +91,11 @@ public class SolvingTechnique
 		techniques_byDifficulty.put(Difficulty.MODERATE, moderate);
 		techniques_byDifficulty.put(Difficulty.HARD, hard);
 
-		ELIMINATE = new SolvingTechnique("Find New Solved Cells and Eliminate", Difficulty.BASIC, (board, node) ->
+		ELIMINATE = new SolvingTechnique("Find New Solved Cells and Eliminate", Difficulty.BASIC, (sudoku, options) ->
 		{
-			return Solver.eliminate(board, false, false, true);
+			return Solver.eliminate(sudoku, options);
 		});
+		ELIMINATE.scope = Scope.SOLVED_CELLS;
 		addTechnique(ELIMINATE);
 
 		// easy techniques
@@ -65,67 +103,172 @@ public class SolvingTechnique
 		// naked candidates
 		NAKED_CANDIDATES = new SolvingTechnique("Naked Candidates", Difficulty.EASY);
 
-		NAKED_PAIRS = new SolvingTechnique("Naked Pairs", Difficulty.EASY, (board, node) ->
+		NAKED_PAIRS = new SolvingTechnique("Naked Pairs", Difficulty.EASY, (sudoku, options) ->
 		{
-			return Solver.nakedCandidates(board, 2, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.nakedCandidates(sudoku, 2, options);
 		}, NAKED_CANDIDATES);
 
-		NAKED_TRIPLES = new SolvingTechnique("Naked Triples", Difficulty.EASY, (board, node) ->
+		NAKED_TRIPLES = new SolvingTechnique("Naked Triples", Difficulty.EASY, (sudoku, options) ->
 		{
-			return Solver.nakedCandidates(board, 3, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.nakedCandidates(sudoku, 3, options);
 		}, NAKED_CANDIDATES);
 
-		NAKED_QUADS = new SolvingTechnique("Naked Quads", Difficulty.EASY,(board, node) ->
+		NAKED_QUADS = new SolvingTechnique("Naked Quads", Difficulty.EASY,(sudoku, options) ->
 		{
-			return Solver.nakedCandidates(board, 4, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.nakedCandidates(sudoku, 4, options);
 		}, NAKED_CANDIDATES);
 
 		NAKED_CANDIDATES.members = new SolvingTechnique[] { NAKED_PAIRS, NAKED_TRIPLES, NAKED_QUADS };
+		setScope(NAKED_CANDIDATES, Scope.UNITS);
 		addTechnique(NAKED_CANDIDATES);
 
 		// hidden candidates
 		HIDDEN_CANDIDATES = new SolvingTechnique("Hidden Candidates", Difficulty.EASY);
 		
-		HIDDEN_SINGLES = new SolvingTechnique("Hidden Singles", Difficulty.EASY, (board, node) ->
+		HIDDEN_SINGLES = new SolvingTechnique("Hidden Singles", Difficulty.EASY, (sudoku, options) ->
 		{
-			return Solver.hiddenSingles(board, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.hiddenSingles(sudoku, options);
 		}, HIDDEN_CANDIDATES);
 
-		HIDDEN_PAIRS = new SolvingTechnique("Hidden Pairs", Difficulty.EASY, (board, node) ->
+		HIDDEN_PAIRS = new SolvingTechnique("Hidden Pairs", Difficulty.EASY, (sudoku, options) ->
 		{
-			return Solver.hiddenCandidates(board, 2, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.hiddenCandidates(sudoku, 2, options);
 		}, HIDDEN_CANDIDATES);
 
-		HIDDEN_TRIPLES = new SolvingTechnique("Hidden Triples", Difficulty.EASY, (board, node) ->
+		HIDDEN_TRIPLES = new SolvingTechnique("Hidden Triples", Difficulty.EASY, (sudoku, options) ->
 		{
-			return Solver.hiddenCandidates(board, 3, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.hiddenCandidates(sudoku, 3, options);
 		}, HIDDEN_CANDIDATES);
 
-		HIDDEN_QUADS = new SolvingTechnique("Hidden Quads", Difficulty.EASY, (board, node) ->
+		HIDDEN_QUADS = new SolvingTechnique("Hidden Quads", Difficulty.EASY, (sudoku, options) ->
 		{
-			return Solver.hiddenCandidates(board, 4, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.hiddenCandidates(sudoku, 4, options);
 		}, HIDDEN_CANDIDATES);
 
 		HIDDEN_CANDIDATES.members = new SolvingTechnique[] { HIDDEN_SINGLES, HIDDEN_PAIRS, HIDDEN_TRIPLES, HIDDEN_QUADS };
+		setScope(HIDDEN_CANDIDATES, Scope.UNITS);
 		addTechnique(HIDDEN_CANDIDATES);
 		
 		// intersection removal
 		INTERSECTION_REMOVAL = new SolvingTechnique("Intersection Removal", Difficulty.EASY);
 		
-		POINTING_CANDIDATES = new SolvingTechnique("Pointing Candidates", Difficulty.EASY, (board, node) ->
+		POINTING_CANDIDATES = new SolvingTechnique("Pointing Candidates", Difficulty.EASY, (sudoku, options) ->
 		{
-			return Solver.pointingCandidates(board, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.pointingCandidates(sudoku, options);
 		}, INTERSECTION_REMOVAL);
 
-		BOX_LINE_REDUCTION = new SolvingTechnique("Box Line Reduction", Difficulty.EASY, (board, node) ->
+		BOX_LINE_REDUCTION = new SolvingTechnique("Box Line Reduction", Difficulty.EASY, (sudoku, options) ->
 		{
-			return Solver.boxLineReduction(board, Application.solverSettingsPanel.returnFirstMatch.isSelected(), false, false, new int[3], true);
+			return Solver.boxLineReduction(sudoku, options);
 		}, INTERSECTION_REMOVAL);
 
 		INTERSECTION_REMOVAL.members = new SolvingTechnique[] { POINTING_CANDIDATES, BOX_LINE_REDUCTION };
+		setScope(INTERSECTION_REMOVAL, Scope.UNITS);
 		addTechnique(INTERSECTION_REMOVAL);
+
+		// moderate techniques
+
+		// fish, in rows or columns
+		BASIC_FISH = new SolvingTechnique("Fish", Difficulty.MODERATE);
+
+		X_WING = new SolvingTechnique("X-Wing", Difficulty.MODERATE, (sudoku, options) ->
+		{
+			return Solver.fish(sudoku, 2, false, options);
+		}, BASIC_FISH);
+
+		SWORDFISH = new SolvingTechnique("Swordfish", Difficulty.MODERATE, (sudoku, options) ->
+		{
+			return Solver.fish(sudoku, 3, false, options);
+		}, BASIC_FISH);
+
+		JELLYFISH = new SolvingTechnique("Jellyfish", Difficulty.MODERATE, (sudoku, options) ->
+		{
+			return Solver.fish(sudoku, 4, false, options);
+		}, BASIC_FISH);
+
+		BASIC_FISH.members = new SolvingTechnique[] { X_WING, SWORDFISH, JELLYFISH };
+		setScope(BASIC_FISH, Scope.DIGITS);
+		addTechnique(BASIC_FISH);
+
+		// wings, short chains of bivalue cells
+		WINGS = new SolvingTechnique("Wings", Difficulty.MODERATE);
+
+		XY_WING = new SolvingTechnique("XY-Wing", Difficulty.MODERATE, (sudoku, options) ->
+		{
+			return Solver.xyWing(sudoku, options);
+		}, WINGS);
+
+		XYZ_WING = new SolvingTechnique("XYZ-Wing", Difficulty.MODERATE, (sudoku, options) ->
+		{
+			return Solver.xyzWing(sudoku, options);
+		}, WINGS);
+
+		W_WING = new SolvingTechnique("W-Wing", Difficulty.MODERATE, (sudoku, options) ->
+		{
+			return Solver.wWing(sudoku, options);
+		}, WINGS);
+
+		WINGS.members = new SolvingTechnique[] { XY_WING, XYZ_WING, W_WING };
+		addTechnique(WINGS);
+
+		SIMPLE_COLOURING = new SolvingTechnique("Simple Colouring", Difficulty.MODERATE, (sudoku, options) ->
+		{
+			return Solver.simpleColouring(sudoku, options);
+		});
+		SIMPLE_COLOURING.scope = Scope.DIGITS;
+		addTechnique(SIMPLE_COLOURING);
+
+		// hard techniques
+
+		// finned fish, sashimi fish are included
+		FINNED_FISH = new SolvingTechnique("Finned Fish", Difficulty.HARD);
+
+		FINNED_X_WING = new SolvingTechnique("Finned X-Wing", Difficulty.HARD, (sudoku, options) ->
+		{
+			return Solver.fish(sudoku, 2, true, options);
+		}, FINNED_FISH);
+
+		FINNED_SWORDFISH = new SolvingTechnique("Finned Swordfish", Difficulty.HARD, (sudoku, options) ->
+		{
+			return Solver.fish(sudoku, 3, true, options);
+		}, FINNED_FISH);
+
+		FINNED_JELLYFISH = new SolvingTechnique("Finned Jellyfish", Difficulty.HARD, (sudoku, options) ->
+		{
+			return Solver.fish(sudoku, 4, true, options);
+		}, FINNED_FISH);
+
+		FINNED_FISH.members = new SolvingTechnique[] { FINNED_X_WING, FINNED_SWORDFISH, FINNED_JELLYFISH };
+		setScope(FINNED_FISH, Scope.DIGITS);
+		addTechnique(FINNED_FISH);
+
+		// chains of strong and weak links
+		CHAINS = new SolvingTechnique("Chains", Difficulty.HARD);
+
+		X_CHAIN = new SolvingTechnique("X-Chain", Difficulty.HARD, (sudoku, options) ->
+		{
+			return Solver.xChain(sudoku, options);
+		}, CHAINS);
+
+		ALTERNATING_INFERENCE_CHAIN = new SolvingTechnique("Alternating Inference Chain", Difficulty.HARD, (sudoku, options) ->
+		{
+			return Solver.alternatingInferenceChain(sudoku, options);
+		}, CHAINS);
+
+		CHAINS.members = new SolvingTechnique[] { X_CHAIN, ALTERNATING_INFERENCE_CHAIN };
+		X_CHAIN.scope = Scope.DIGITS;
+		addTechnique(CHAINS);
 	}
 	
+	/**
+	 * Sets the scope of a technique group and of all its members
+	 */
+	static void setScope(SolvingTechnique group, Scope scope)
+	{
+		group.scope = scope;
+		for (SolvingTechnique member : group.members) member.scope = scope;
+	}
+
 	static void addTechnique(SolvingTechnique st)
 	{
 		techniques_byDifficulty.get(st.difficulty).add(st);
@@ -144,27 +287,56 @@ public class SolvingTechnique
 		this(name, difficulty, (board, node) ->
 		{
 			return node.returnResultsOfAChildNode();
-		});
-		this.isTechniqueGroup = true;
+		}, true);
 	}
 
 	/*
 	 * For a child technique
 	 */
-	private SolvingTechnique(String name, Difficulty difficulty, BiFunction<Board, SolvingTechniqueNode, Results> takeStep, SolvingTechnique group)
+	private SolvingTechnique(String name, Difficulty difficulty, BiFunction<Sudoku, TechniqueOptions, Results> step, SolvingTechnique group)
 	{
-		this(name, difficulty, takeStep);
+		this(name, difficulty, step);
 		this.group = group;
 	}
 
 	/**
 	 * Called by single techniques that don't belong to a group/have child techniques
+	 * In the solving technique tree, the technique runs on the Board's sudoku with the options of the Board.
 	 */
-	private SolvingTechnique(String name, Difficulty difficulty, BiFunction<Board, SolvingTechniqueNode, Results> takeStep)
+	private SolvingTechnique(String name, Difficulty difficulty, BiFunction<Sudoku, TechniqueOptions, Results> step)
+	{
+		this(name, difficulty, (board, node) ->
+		{
+			return step.apply(board.sudoku, board.getTechniqueOptions());
+		}, false);
+		this.step = step;
+	}
+
+	private SolvingTechnique(String name, Difficulty difficulty, BiFunction<Board, SolvingTechniqueNode, Results> takeStep, boolean isTechniqueGroup)
 	{
 		this.name = name;
 		this.difficulty = difficulty;
 		this.takeStep = takeStep;
+		this.isTechniqueGroup = isTechniqueGroup;
+	}
+
+	/**
+	 * Runs the technique without a Board, e.g. in a worker thread or a batch job.
+	 * A technique group runs its members in order, and returns the results of the first one that finds a match,
+	 * or of its last member if none does.
+	 * @param sudoku is not changed, the results have a changed copy
+	 */
+	public Results apply(Sudoku sudoku, TechniqueOptions options)
+	{
+		if (!isTechniqueGroup) return step.apply(sudoku, options);
+
+		Results results = null;
+		for (SolvingTechnique member : members)
+		{
+			results = member.apply(sudoku, options);
+			if (results.found > 0) break;
+		}
+		return results;
 	}
 	
 	@Override
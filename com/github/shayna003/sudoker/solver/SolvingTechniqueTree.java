@@ -998,6 +998,9 @@ public class SolvingTechniqueTree extends JTree implements PrefsComponent, Clone
 
 	public Results takeStepResult; // result of the last "take step"
 
+	// skips techniques that found nothing on the board before, if nothing they depend on changed since
+	final TechniqueScheduler scheduler = new TechniqueScheduler();
+
 	// for top-down traversal of solving technique nodes
 	boolean isLastTechnique;
 	Difficulty currentDifficulty;
@@ -1044,7 +1047,14 @@ public class SolvingTechniqueTree extends JTree implements PrefsComponent, Clone
 		{
 			SolvingTechniqueNode techniqueNode = getCurrentSolvingTechniqueNode();
 			lastFoundTechniqueNode = techniqueNode;
-			takeStepResult = techniqueNode.technique.takeStep.apply(board, techniqueNode);
+			if (techniqueNode.technique.isTechniqueGroup)
+			{
+				takeStepResult = techniqueNode.technique.takeStep.apply(board, techniqueNode);
+			}
+			else
+			{
+				takeStepResult = scheduler.apply(techniqueNode.technique, board.sudoku, board.getTechniqueOptions());
+			}
 			assert takeStepResult != null;
 
 			techniqueNode.setSuffix(takeStepResult.found);
@@ -1067,7 +1077,7 @@ public class SolvingTechniqueTree extends JTree implements PrefsComponent, Clone
 					clearSelection();
 				}
 				board.repaint();
-				return flattenMessages(takeStepResult.messages);
+				return flattenMessages(takeStepResult.findings);
 			}
 
 			if (!traverseToNextSelected())
@@ -1082,12 +1092,15 @@ public class SolvingTechniqueTree extends JTree implements PrefsComponent, Clone
 		return "Cannot find a case to use selected solving techniques.";
 	}
 
-	public static String flattenMessages(ArrayList<String> messages)
+	/**
+	 * Renders the findings of a technique as lines of text for the solver panel
+	 */
+	public static String flattenMessages(ArrayList<Finding> findings)
 	{
 		StringBuilder b = new StringBuilder();
-		for (String  s : messages)
+		for (Finding finding : findings)
 		{
-			b.append(s);
+			b.append(finding.getMessage());
 			b.append(System.lineSeparator());
 		}
 		// remove the last line separator
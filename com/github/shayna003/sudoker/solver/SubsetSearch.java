@@ -0,0 +1,218 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.util.Topology;
+
+/**
+ * Enumerates the groups of n cells within one unit for naked and hidden candidates, using 9-bit masks.
+ * Every cell of the unit that may be part of a group is added with its candidate mask,
+ * then next() moves to the next group of n of them, and nextNaked()/nextHidden() skip to the next group that is a finding.
+ * The current group is described by primitive masks, so searching a unit allocates nothing.
+ *
+ * Groups are visited in the same order as listing all combinations of n indexes in increasing order,
+ * (0, 1, 2), (0, 1, 3) ... (1, 2, 3) ..., so that returnFirst finds the same group as before.
+ * To get that order from Gosper's hack, which visits masks in increasing numeric order,
+ * the cells are stored at bit positions in reverse order of adding them,
+ * and the hack walks the masks of the cells that are not in the group.
+ * @since 10-17-2026
+ */
+public class SubsetSearch
+{
+    // cell k of the unit in reverse order of adding, see the class comment
+    final int[] cells = new int[9];
+    final int[] masks = new int[9];
+    int size;
+    int n;
+
+    int rest; // the cells not in the current group
+    int end;
+
+    /**
+     * The cells of the current group, bit b is cells[b]
+     */
+    int group;
+
+    /**
+     * Union of the candidates of the cells of the current group
+     */
+    int candidates;
+
+    /**
+     * For hidden candidates, the candidates of the current group that no other cell in the unit has
+     */
+    int hiddenCandidates;
+
+    /**
+     * Starts collecting the cells of a unit for a search of groups of n cells
+     */
+    public void reset(int n)
+    {
+        this.n = n;
+        size = 0;
+    }
+
+    public void add(int cell, int mask)
+    {
+        cells[size] = cell;
+        masks[size] = mask;
+        size++;
+    }
+
+    /**
+     * @return the number of cells added
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Starts enumerating the groups of the added cells, call after adding all of them
+     */
+    public void start()
+    {
+        assert size >= n : size;
+        for (int i = 0, j = size - 1; i < j; i++, j--)
+        {
+            int cell = cells[i];
+            cells[i] = cells[j];
+            cells[j] = cell;
+            int mask = masks[i];
+            masks[i] = masks[j];
+            masks[j] = mask;
+        }
+        end = 1 << size;
+        rest = -1; // before the first group
+    }
+
+    /**
+     * Moves to the next group of n cells
+     * @return false if all groups were visited
+     */
+    public boolean next()
+    {
+        if (rest == -1) rest = (1 << (size - n)) - 1;
+        else if (rest == 0) rest = end; // only one group of all cells
+        else rest = nextCombination(rest);
+        if (rest >= end) return false;
+
+        group = (end - 1) ^ rest;
+        candidates = unionOf(group);
+        return true;
+    }
+
+    /**
+     * Moves to the next group whose cells have at most n candidates altogether,
+     * for a unit where every added cell has at most n candidates
+     * @param skipLines if true, skip groups whose cells are all in the same row or column, as for a box they would have been found already
+     * @return false if all groups were visited
+     */
+    public boolean nextNaked(boolean skipLines)
+    {
+        while (next())
+        {
+            if (Integer.bitCount(candidates) <= n && !(skipLines && (inSameRow() || inSameColumn()))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Moves to the next group with more than n candidates altogether, of which exactly n do not appear in the other cells of the unit
+     * @return false if all groups were visited
+     */
+    public boolean nextHidden()
+    {
+        while (next())
+        {
+            if (Integer.bitCount(candidates) > n)
+            {
+                hiddenCandidates = candidates & ~unionOf(rest);
+                if (Integer.bitCount(hiddenCandidates) == n) return true;
+            }
+        }
+        return false;
+    }
+
+    int unionOf(int cellBits)
+    {
+        int mask = 0;
+        while (cellBits != 0)
+        {
+            mask |= masks[Integer.numberOfTrailingZeros(cellBits)];
+            cellBits &= cellBits - 1;
+        }
+        return mask;
+    }
+
+    /**
+     * Gosper's hack
+     * @return the next larger int with the same number of set bits
+     */
+    static int nextCombination(int x)
+    {
+        int lowest = x & -x;
+        int ripple = x + lowest;
+        return ripple | (((x ^ ripple) >>> 2) / lowest);
+    }
+
+    /**
+     * @return the candidate mask of the current group
+     */
+    public int getCandidates()
+    {
+        return candidates;
+    }
+
+    public int getHiddenCandidates()
+    {
+        return hiddenCandidates;
+    }
+
+    public boolean inSameRow()
+    {
+        return sameIn(Topology.ROW_OF);
+    }
+
+    public boolean inSameColumn()
+    {
+        return sameIn(Topology.COLUMN_OF);
+    }
+
+    public boolean inSameBox()
+    {
+        return sameIn(Topology.BOX_OF);
+    }
+
+    private boolean sameIn(int[] unitOf)
+    {
+        int first = unitOf[cells[31 - Integer.numberOfLeadingZeros(group)]];
+        for (int bits = group; bits != 0; bits &= bits - 1)
+        {
+            if (unitOf[cells[Integer.numberOfTrailingZeros(bits)]] != first) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the row indexes of the cells of the current group, in the order they were added
+     */
+    public int[] getRowIndexes()
+    {
+        return getIndexes(Topology.ROW_OF);
+    }
+
+    public int[] getColIndexes()
+    {
+        return getIndexes(Topology.COLUMN_OF);
+    }
+
+    private int[] getIndexes(int[] indexOf)
+    {
+        int[] indexes = new int[n];
+        int k = 0;
+        for (int b = size - 1; b >= 0; b--)
+        {
+            if ((group & (1 << b)) != 0) indexes[k++] = indexOf[cells[b]];
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.util.Topology;
+
+/**
+ * How a solving technique should run, so that techniques only need a Sudoku and this,
+ * and can run in a worker thread, a batch job or a benchmark without a Board or the solver settings.
+ * The Board builds one from the solver settings for the solving technique tree, see Board.getTechniqueOptions().
+ * The techniques don't change an instance, so one without solverHighlights can be shared by threads.
+ * @since 10-17-2026
+ */
+public class TechniqueOptions
+{
+    public static final int ALL_UNITS = (1 << Topology.UNIT_COUNT) - 1;
+    public static final int ALL_DIGITS = 0x1FF;
+    public static final long ALL_CELLS_LOW = -1L; // cells 0 ~ 63
+    public static final long ALL_CELLS_HIGH = (1L << 17) - 1; // cells 64 ~ 80
+
+    public boolean returnFirst; // return after the first match, else find all matches
+    public boolean eliminateRecursively; // also eliminate the values of cells that become solved
+    public boolean returnIfInvalid; // stop as soon as the puzzle turns out to be invalid
+    public boolean recordFindings; // add a Finding to the results for each match
+
+    /**
+     * If != null, candidates a technique uses are set to SolverPanel.ONLY_CANDIDATE
+     * and candidates it deletes are set to SolverPanel.ELIMINATED_CANDIDATE
+     */
+    public int[][][] solverHighlights;
+
+    /**
+     * Techniques of SolvingTechnique.Scope.UNITS only look for matches in these units, bit u is unit u of Topology.
+     * TechniqueScheduler leaves out the units that can't have a match.
+     */
+    public int units = ALL_UNITS;
+
+    /**
+     * Techniques of SolvingTechnique.Scope.DIGITS only look for matches of these digits, bit d - 1 is digit d
+     */
+    public int digits = ALL_DIGITS;
+
+    /**
+     * Techniques of SolvingTechnique.Scope.SOLVED_CELLS only use these solved cells, bit i of cellsLow is cell i,
+     * bit i of cellsHigh is cell 64 + i
+     */
+    public long cellsLow = ALL_CELLS_LOW;
+    public long cellsHigh = ALL_CELLS_HIGH;
+
+    /**
+     * Finds all matches, without recording findings or highlights
+     */
+    public TechniqueOptions()
+    {
+    }
+
+    public TechniqueOptions setReturnFirst(boolean returnFirst)
+    {
+        this.returnFirst = returnFirst;
+        return this;
+    }
+
+    public TechniqueOptions setEliminateRecursively(boolean eliminateRecursively)
+    {
+        this.eliminateRecursively = eliminateRecursively;
+        return this;
+    }
+
+    public TechniqueOptions setReturnIfInvalid(boolean returnIfInvalid)
+    {
+        this.returnIfInvalid = returnIfInvalid;
+        return this;
+    }
+
+    public TechniqueOptions setRecordFindings(boolean recordFindings)
+    {
+        this.recordFindings = recordFindings;
+        return this;
+    }
+
+    public TechniqueOptions setSolverHighlights(int[][][] solverHighlights)
+    {
+        this.solverHighlights = solverHighlights;
+        return this;
+    }
+
+    public TechniqueOptions setUnits(int units)
+    {
+        this.units = units;
+        return this;
+    }
+
+    public TechniqueOptions setDigits(int digits)
+    {
+        this.digits = digits;
+        return this;
+    }
+
+    public TechniqueOptions setCells(long cellsLow, long cellsHigh)
+    {
+        this.cellsLow = cellsLow;
+        this.cellsHigh = cellsHigh;
+        return this;
+    }
+
+    public boolean searchesUnit(int u)
+    {
+        return (units & (1 << u)) != 0;
+    }
+
+    public boolean searchesCell(int cell)
+    {
+        return cell < 64 ? (cellsLow & (1L << cell)) != 0 : (cellsHigh & (1L << (cell - 64))) != 0;
+    }
+
+    /**
+     * @return true if one of the units of the cell is searched
+     */
+    public boolean searchesUnitsOf(int cell)
+    {
+        return searchesUnit(Topology.CELL_UNITS[cell * 3]) || searchesUnit(Topology.CELL_UNITS[cell * 3 + 1]) || searchesUnit(Topology.CELL_UNITS[cell * 3 + 2]);
+    }
+
+    public boolean searchesDigit(int d)
+    {
+        return (digits & (1 << (d - 1))) != 0;
+    }
+}
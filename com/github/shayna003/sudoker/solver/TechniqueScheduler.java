@@ -0,0 +1,200 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.GridUtil;
+import com.github.shayna003.sudoker.util.Topology;
+
+import java.util.*;
+
+/**
+ * Runs solving techniques on the successive states of one puzzle, e.g. for Take Step or a whole logical solve,
+ * without searching again where a technique already found nothing.
+ * Candidates only ever get removed while solving, and a match of a technique only depends on the candidates of a unit,
+ * a digit or the whole grid, see SolvingTechnique.Scope. So if a technique found nothing,
+ * it can only find something where candidates were removed since.
+ *
+ * The scheduler remembers the candidates of the last state it saw, and the units and digits that changed
+ * since each technique last found nothing. A technique is skipped if nothing it depends on changed,
+ * and techniques of Scope.UNITS and Scope.DIGITS only search the units or digits that changed,
+ * those of Scope.SOLVED_CELLS only the cells solved since.
+ * Searches for all matches rather than the first one still search everything, as a match applied during the search
+ * can make new matches where nothing had changed before it.
+ * If a candidate comes back, e.g. after an undo, another puzzle is loaded or the user edits a cell,
+ * the scheduler forgets what it knows and every technique searches everything again.
+ *
+ * The matches found are the same as running the techniques on the whole grid, in the same order.
+ * An instance is not thread safe.
+ * @since 10-17-2026
+ */
+public class TechniqueScheduler
+{
+    static final int SOLVED = 1 << 9; // in states, set for solved cells
+
+    /**
+     * What changed since a technique last found nothing, or everything for a technique that hasn't run yet
+     */
+    static class Memo
+    {
+        int units = TechniqueOptions.ALL_UNITS;
+        int digits = TechniqueOptions.ALL_DIGITS;
+        long solvedLow = TechniqueOptions.ALL_CELLS_LOW; // the cells that were solved, see TechniqueOptions.cellsLow
+        long solvedHigh = TechniqueOptions.ALL_CELLS_HIGH;
+    }
+
+    final HashMap<SolvingTechnique, Memo> memos = new HashMap<>();
+
+    // the candidates of each cell in the last state seen, and SOLVED for solved cells
+    final int[] states = new int[81];
+    boolean hasState;
+
+    // options with the units and digits to search, copied from the caller's options for each run
+    final TechniqueOptions scopedOptions = new TechniqueOptions();
+
+    long runs;
+    long skips;
+
+    /**
+     * Runs a technique, or the members of a technique group in order until one finds a match,
+     * like SolvingTechnique.apply(), skipping the searches that can't find anything
+     * @param sudoku is not changed. If nothing is found, the results may have sudoku itself rather than a copy.
+     * @param options are not changed, the units and digits are replaced by those the technique needs to search
+     */
+    public Results apply(SolvingTechnique technique, Sudoku sudoku, TechniqueOptions options)
+    {
+        sync(sudoku);
+        if (!technique.isTechniqueGroup) return run(technique, sudoku, options);
+
+        Results results = null;
+        for (SolvingTechnique member : technique.members)
+        {
+            results = run(member, sudoku, options);
+            if (results.found > 0) break;
+        }
+        return results;
+    }
+
+    Results run(SolvingTechnique technique, Sudoku sudoku, TechniqueOptions options)
+    {
+        Memo memo = memos.computeIfAbsent(technique, t -> new Memo());
+        int units = TechniqueOptions.ALL_UNITS;
+        int digits = TechniqueOptions.ALL_DIGITS;
+        long cellsLow = TechniqueOptions.ALL_CELLS_LOW;
+        long cellsHigh = TechniqueOptions.ALL_CELLS_HIGH;
+        boolean changed;
+        switch (technique.scope)
+        {
+            case SOLVED_CELLS:
+                cellsLow = memo.solvedLow;
+                cellsHigh = memo.solvedHigh;
+                changed = (cellsLow | cellsHigh) != 0;
+                break;
+            case UNITS:
+                units = memo.units;
+                changed = units != 0;
+                break;
+            case DIGITS:
+                digits = memo.digits;
+                changed = digits != 0;
+                break;
+            default:
+                changed = memo.units != 0;
+        }
+        if (!changed)
+        {
+            skips++;
+            return new Results(sudoku, 0, new ArrayList<Finding>(), technique);
+        }
+
+        runs++;
+        if (!options.returnFirst)
+        {
+            // the matches a technique applies can make new matches anywhere later in the same search
+            units = TechniqueOptions.ALL_UNITS;
+            digits = TechniqueOptions.ALL_DIGITS;
+            cellsLow = TechniqueOptions.ALL_CELLS_LOW;
+            cellsHigh = TechniqueOptions.ALL_CELLS_HIGH;
+        }
+        scopedOptions.setReturnFirst(options.returnFirst)
+            .setEliminateRecursively(options.eliminateRecursively)
+            .setReturnIfInvalid(options.returnIfInvalid)
+            .setRecordFindings(options.recordFindings)
+            .setSolverHighlights(options.solverHighlights)
+            .setUnits(units & options.units)
+            .setDigits(digits & options.digits)
+            .setCells(cellsLow & options.cellsLow, cellsHigh & options.cellsHigh);
+        Results results = technique.step.apply(sudoku, scopedOptions);
+
+        // only a search that found nothing searched everything it was given
+        if (results.found == 0 && options.units == TechniqueOptions.ALL_UNITS && options.digits == TechniqueOptions.ALL_DIGITS && options.cellsLow == TechniqueOptions.ALL_CELLS_LOW && options.cellsHigh == TechniqueOptions.ALL_CELLS_HIGH)
+        {
+            memo.units = 0;
+            memo.digits = 0;
+            memo.solvedLow = 0;
+            memo.solvedHigh = 0;
+        }
+        return results;
+    }
+
+    /**
+     * Adds the units and digits that changed since the last state to the memos of all techniques
+     */
+    void sync(Sudoku sudoku)
+    {
+        int changedUnits = 0;
+        int changedDigits = 0;
+        long solvedLow = 0;
+        long solvedHigh = 0;
+        boolean added = false;
+        for (int i = 0; i < 81; i++)
+        {
+            int r = Topology.ROW_OF[i];
+            int c = Topology.COLUMN_OF[i];
+            int state = GridUtil.getMaskForCell(sudoku.grid[r][c]) | (sudoku.status[r][c] > 0 ? SOLVED : 0);
+            int old = states[i];
+            states[i] = state;
+            if (state == old || !hasState) continue;
+
+            if ((state & ~old & ~SOLVED) != 0 || (old & ~state & SOLVED) != 0) added = true;
+            changedDigits |= ((state ^ old) & SOLVED) != 0 ? (state | old) & TechniqueOptions.ALL_DIGITS : (state ^ old) & TechniqueOptions.ALL_DIGITS;
+            for (int j = 0; j < 3; j++)
+            {
+                changedUnits |= 1 << Topology.CELL_UNITS[i * 3 + j];
+            }
+            if ((state & ~old & SOLVED) != 0)
+            {
+                if (i < 64) solvedLow |= 1L << i;
+                else solvedHigh |= 1L << (i - 64);
+            }
+        }
+
+        if (!hasState || added)
+        {
+            hasState = true;
+            reset();
+        }
+        else if (changedUnits != 0)
+        {
+            for (Memo memo : memos.values())
+            {
+                memo.units |= changedUnits;
+                memo.digits |= changedDigits;
+                memo.solvedLow |= solvedLow;
+                memo.solvedHigh |= solvedHigh;
+            }
+        }
+    }
+
+    /**
+     * Forgets what the techniques found nothing on
+     */
+    public void reset()
+    {
+        memos.clear();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TechniqueScheduler[runs=" + runs + ", skips=" + skips + "]";
+    }
+}
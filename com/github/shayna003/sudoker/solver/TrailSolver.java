@@ -0,0 +1,335 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.Topology;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A backtracking solver that works on one CompactSudoku in place instead of cloning the board for each guess.
+ * Every change to a cell's candidate mask is recorded on a primitive trail stack,
+ * and backtracking pops the trail back to the mark taken before the guess.
+ * After construction, searching allocates nothing except the int[9][9] arrays of the solutions it records.
+ * An instance is not thread safe, use forCurrentThread() to get one per thread.
+ * @since 10-17-2026
+ */
+public class TrailSolver
+{
+	// each candidate of each cell can be removed at most once on a path, and each cell can be assigned at most once
+	static final int TRAIL_CAPACITY = 729 + 81;
+
+	private static final ThreadLocal<TrailSolver> instances = ThreadLocal.withInitial(TrailSolver::new);
+
+	/**
+	 * @return the instance of the calling thread
+	 */
+	public static TrailSolver forCurrentThread()
+	{
+		return instances.get();
+	}
+
+	final CompactSudoku board = new CompactSudoku(); // the working board
+	final int[] trail = new int[TRAIL_CAPACITY]; // entries are cell << 9 | candidate mask before the change
+	int trailSize;
+
+	final int[] queue = new int[81]; // newly solved cells whose value still needs to be eliminated from their peers
+	int queueHead;
+	int queueTail;
+	int solvedCount;
+
+	// state of the current search
+	List<int[][]> puzzleSolutions;
+	SolveRequest request;
+	int solutionsFound;
+	boolean stop;
+	int uncheckedNodes; // nodes visited since the last SolveRequest.checkpoint()
+
+	// statistics of the current search, added to the SolveStats of the request when it finishes
+	long nodes;
+	long guesses;
+	long backtracks;
+	long eliminations;
+	int maxDepth;
+	AtomicInteger sharedSolutionCount; // set when several solvers enumerate parts of the same puzzle
+
+	public int solve(Sudoku sudoku, List<int[][]> puzzleSolutions, int mode, int maxSolutions)
+	{
+		return solve(new CompactSudoku(sudoku), puzzleSolutions, new SolveRequest(mode, maxSolutions));
+	}
+
+	public int solve(CompactSudoku sudoku, List<int[][]> puzzleSolutions, int mode, int maxSolutions)
+	{
+		return solve(sudoku, puzzleSolutions, new SolveRequest(mode, maxSolutions));
+	}
+
+	/**
+	 * Finds the solutions of a puzzle. The given sudoku is copied into the working board and is not changed.
+	 * @param puzzleSolutions where the solutions found are assinged to, can be null
+	 * @param request the mode and limits of this run, check request.getOutcome() to see if it stopped early
+	 * @return number of total solutions found, < 1 = invalid puzzle or no solutions found before stopping
+	 */
+	public int solve(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request)
+	{
+		request.begin();
+		int result = run(sudoku, puzzleSolutions, request, 0);
+		request.finish(result);
+		return result;
+	}
+
+	/**
+	 * Enumerates the solutions of one part of a puzzle in KEEP_ON_LOOKING_UNTIL_MAX_REACHED mode,
+	 * counting them in a cap shared with other solvers working on the other parts.
+	 * Stops as soon as the shared count goes over request.maxSolutions, whichever solver found them.
+	 * @param puzzleSolutions a thread safe list, only the first maxSolutions + 1 solutions of all solvers are added to it
+	 * @param depth depth of this part in the search tree of the whole puzzle
+	 */
+	void enumerate(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request, AtomicInteger sharedSolutionCount, int depth)
+	{
+		this.sharedSolutionCount = sharedSolutionCount;
+		try
+		{
+			run(sudoku, puzzleSolutions, request, depth);
+		}
+		finally
+		{
+			this.sharedSolutionCount = null;
+		}
+	}
+
+	private int run(CompactSudoku sudoku, List<int[][]> puzzleSolutions, SolveRequest request, int depth)
+	{
+		this.puzzleSolutions = puzzleSolutions;
+		this.request = request;
+		solutionsFound = 0;
+		stop = false;
+		uncheckedNodes = 0;
+		nodes = 0;
+		guesses = 0;
+		backtracks = 0;
+		eliminations = 0;
+		maxDepth = depth;
+
+		if (load(sudoku)) search(depth);
+
+		request.addNodes(uncheckedNodes);
+		request.getStats().add(nodes, guesses, backtracks, eliminations, maxDepth);
+		this.puzzleSolutions = null;
+		this.request = null;
+		return solutionsFound > 0 ? solutionsFound : -1;
+	}
+
+	/**
+	 * Copies a puzzle into the working board and eliminates the values of its solved cells
+	 * @return false if the puzzle turns out to be invalid
+	 */
+	boolean load(CompactSudoku sudoku)
+	{
+		board.copyFrom(sudoku);
+		trailSize = 0;
+		queueHead = 0;
+		queueTail = 0;
+		solvedCount = 0;
+		for (int i = 0; i < 81; i++)
+		{
+			if (board.candidates[i] == 0) return false;
+			if (board.values[i] > 0)
+			{
+				solvedCount++;
+				queue[queueTail++] = i;
+			}
+		}
+		return propagate() && fillHiddenSingles();
+	}
+
+	void search(int depth)
+	{
+		nodes++;
+		if (depth > maxDepth) maxDepth = depth;
+		if (++uncheckedNodes >= SolveRequest.CHECK_INTERVAL)
+		{
+			int solutions = sharedSolutionCount == null ? solutionsFound : sharedSolutionCount.get();
+			stop = request.checkpoint(uncheckedNodes, solutions, depth);
+			uncheckedNodes = 0;
+			if (stop) return;
+		}
+
+		int maxSolutions = request.maxSolutions;
+		if (sharedSolutionCount != null)
+		{
+			if (sharedSolutionCount.get() > maxSolutions)
+			{
+				stop = true;
+				return;
+			}
+			if (solvedCount == 81)
+			{
+				solutionsFound++;
+				int total = sharedSolutionCount.incrementAndGet();
+				if (puzzleSolutions != null && total <= maxSolutions + 1) recordSolution();
+				stop = total > maxSolutions;
+				return;
+			}
+		}
+		else if (solvedCount == 81)
+		{
+			solutionsFound++;
+			if (puzzleSolutions != null) recordSolution();
+			stop = request.mode == Solver.FIND_ONE_SOLUTION
+				|| (request.mode == Solver.RETURN_IF_FINDS_SECOND_SOLUTION && solutionsFound > 1)
+				|| (request.mode == Solver.KEEP_ON_LOOKING_UNTIL_MAX_REACHED && solutionsFound > maxSolutions);
+			return;
+		}
+
+		int cell = SolverUtil.cellWithFewestCandidates(board);
+		int possibilities = board.candidates[cell];
+		int mark = trailSize;
+
+		while (possibilities != 0 && !stop)
+		{
+			int n = CompactSudoku.lowestDigit(possibilities);
+			possibilities &= possibilities - 1;
+
+			guesses++;
+			int solutionsBefore = solutionsFound;
+			if (assign(cell, n) && propagate() && fillHiddenSingles())
+			{
+				search(depth + 1);
+			}
+			queueHead = 0;
+			queueTail = 0;
+			undo(mark);
+			if (solutionsFound == solutionsBefore) backtracks++;
+		}
+	}
+
+	/**
+	 * Adds the solved board to puzzleSolutions, packed right away if it is a PackedSolutions
+	 */
+	private void recordSolution()
+	{
+		if (puzzleSolutions instanceof PackedSolutions) ((PackedSolutions) puzzleSolutions).add(board);
+		else puzzleSolutions.add(board.getStatus());
+	}
+
+	/**
+	 * Makes n the only candidate of an unsolved cell
+	 */
+	boolean assign(int cell, int n)
+	{
+		trail[trailSize++] = cell << 9 | board.candidates[cell];
+		board.setValueAt(cell, n);
+		solvedCount++;
+		queue[queueTail++] = cell;
+		return true;
+	}
+
+	/**
+	 * Removes candidate n from an unsolved cell, queueing the cell if it becomes solved
+	 * @return false if the cell has no candidates left
+	 */
+	boolean eliminate(int cell, int n)
+	{
+		int mask = board.candidates[cell];
+		if ((mask & CompactSudoku.bit(n)) == 0) return true;
+
+		trail[trailSize++] = cell << 9 | mask;
+		eliminations++;
+		mask &= ~CompactSudoku.bit(n);
+		board.setCandidates(cell, mask);
+		if (mask == 0) return false;
+		if (board.values[cell] > 0)
+		{
+			solvedCount++;
+			queue[queueTail++] = cell;
+		}
+		return true;
+	}
+
+	/**
+	 * Eliminates the values of the queued solved cells from their peers, until no new cells become solved
+	 * @return false if the puzzle turns out to be invalid
+	 */
+	boolean propagate()
+	{
+		while (queueHead < queueTail)
+		{
+			int cell = queue[queueHead++];
+			int n = board.values[cell];
+			for (int p = cell * Topology.PEER_COUNT, end = p + Topology.PEER_COUNT; p < end; p++)
+			{
+				if (!eliminateFromPeer(Topology.PEERS[p], n)) return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Assigns every candidate that is possible in only one cell of a unit, and propagates the assignments,
+	 * until there are no more hidden singles
+	 * @return false if the puzzle turns out to be invalid
+	 */
+	boolean fillHiddenSingles()
+	{
+		boolean changed = true;
+		while (changed)
+		{
+			changed = false;
+			for (int u = 0; u < Topology.UNIT_COUNT; u++)
+			{
+				int once = 0;
+				int twice = 0;
+				int solved = 0;
+				for (int k = u * 9; k < u * 9 + 9; k++)
+				{
+					int mask = board.candidates[Topology.UNIT_CELLS[k]];
+					twice |= once & mask;
+					once |= mask;
+					if (board.values[Topology.UNIT_CELLS[k]] > 0) solved |= mask;
+				}
+				if (once != CompactSudoku.ALL_CANDIDATES) return false; // some digit has no place in this unit
+
+				int hidden = once & ~twice & ~solved;
+				while (hidden != 0)
+				{
+					int n = CompactSudoku.lowestDigit(hidden);
+					hidden &= hidden - 1;
+					for (int k = u * 9; k < u * 9 + 9; k++)
+					{
+						int cell = Topology.UNIT_CELLS[k];
+						if (board.hasCandidate(cell, n))
+						{
+							// an earlier assignment in this loop could have removed n from the unit
+							if (board.values[cell] == 0) assign(cell, n);
+							break;
+						}
+					}
+					if (!propagate()) return false;
+					changed = true;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean eliminateFromPeer(int peer, int n)
+	{
+		if (board.values[peer] > 0) return board.values[peer] != n; // a solved peer with the same value is a conflict
+		return eliminate(peer, n);
+	}
+
+	/**
+	 * Pops the trail back to mark, restoring every candidate mask changed since then
+	 */
+	void undo(int mark)
+	{
+		while (trailSize > mark)
+		{
+			int entry = trail[--trailSize];
+			int cell = entry >>> 9;
+			int mask = entry & CompactSudoku.ALL_CANDIDATES;
+			if (board.values[cell] > 0 && Integer.bitCount(mask) != 1) solvedCount--;
+			board.setCandidates(cell, mask);
+		}
+	}
+}
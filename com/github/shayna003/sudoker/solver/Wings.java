@@ -0,0 +1,168 @@
+package com.github.shayna003.sudoker.solver;
+
+import com.github.shayna003.sudoker.*;
+import com.github.shayna003.sudoker.util.Topology;
+
+import java.util.ArrayList;
+
+import static com.github.shayna003.sudoker.solver.LinkGraph.node;
+
+/**
+ * Finds XY-Wings, XYZ-Wings and W-Wings, short chains of bivalue cells, on the link graph of the thread.
+ * In an XY-Wing, a pivot with candidates x and y sees 2 pincers with x, z and y, z, whichever the pivot is, one of the pincers is z.
+ * An XYZ-Wing is the same with a pivot that also has z, so one of the 3 cells is z.
+ * In a W-Wing, 2 cells with the same candidates x and y are joined by a conjugate pair of x, so one of them is y.
+ * Either way, cells that see all the cells that can be z (or y) can't be z.
+ * @since 10-17-2026
+ */
+public class Wings
+{
+    static Results xyWing(Sudoku sudoku, TechniqueOptions options)
+    {
+        LinkGraph graph = LinkGraph.forCurrentThread();
+        graph.build(sudoku);
+        Sudoku sudokuCopy = sudoku.clone();
+        Results solveResults = new Results(sudokuCopy, 0, new ArrayList<Finding>(), SolvingTechnique.XY_WING);
+        int[] eliminateResults = new int[3];
+
+        for (int pivot = 0; pivot < 81; pivot++)
+        {
+            int pivotCandidates = graph.getCandidates(pivot);
+            if (Integer.bitCount(pivotCandidates) != 2) continue;
+
+            for (int a = pivot * Topology.PEER_COUNT; a < (pivot + 1) * Topology.PEER_COUNT; a++)
+            {
+                int pincerA = Topology.PEERS[a];
+                int candidatesA = graph.getCandidates(pincerA);
+                int shared = candidatesA & pivotCandidates;
+                if (Integer.bitCount(candidatesA) != 2 || Integer.bitCount(shared) != 1) continue;
+                int z = candidatesA & ~shared;
+                int y = pivotCandidates & ~shared;
+
+                for (int b = a + 1; b < (pivot + 1) * Topology.PEER_COUNT; b++)
+                {
+                    int pincerB = Topology.PEERS[b];
+                    if (graph.getCandidates(pincerB) != (y | z)) continue;
+
+                    int digitX = CompactSudoku.lowestDigit(shared);
+                    int digitY = CompactSudoku.lowestDigit(y);
+                    int digitZ = CompactSudoku.lowestDigit(z);
+                    int[] chain = { node(pincerA, digitZ), node(pincerA, digitX), node(pivot, digitX), node(pivot, digitY), node(pincerB, digitY), node(pincerB, digitZ) };
+                    eliminateSeenByAll(graph, solveResults, options, eliminateResults, Finding.Kind.XY_WING, chain, digitZ, pincerA, pincerB);
+
+                    if (options.returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return solveResults;
+                    if (options.returnFirst && solveResults.found > 0) return solveResults;
+                }
+            }
+        }
+        return solveResults;
+    }
+
+    static Results xyzWing(Sudoku sudoku, TechniqueOptions options)
+    {
+        LinkGraph graph = LinkGraph.forCurrentThread();
+        graph.build(sudoku);
+        Sudoku sudokuCopy = sudoku.clone();
+        Results solveResults = new Results(sudokuCopy, 0, new ArrayList<Finding>(), SolvingTechnique.XYZ_WING);
+        int[] eliminateResults = new int[3];
+
+        for (int pivot = 0; pivot < 81; pivot++)
+        {
+            int pivotCandidates = graph.getCandidates(pivot);
+            if (Integer.bitCount(pivotCandidates) != 3) continue;
+
+            for (int a = pivot * Topology.PEER_COUNT; a < (pivot + 1) * Topology.PEER_COUNT; a++)
+            {
+                int pincerA = Topology.PEERS[a];
+                int candidatesA = graph.getCandidates(pincerA);
+                if (Integer.bitCount(candidatesA) != 2 || (candidatesA & ~pivotCandidates) != 0) continue;
+
+                for (int b = a + 1; b < (pivot + 1) * Topology.PEER_COUNT; b++)
+                {
+                    int pincerB = Topology.PEERS[b];
+                    int candidatesB = graph.getCandidates(pincerB);
+                    if (Integer.bitCount(candidatesB) != 2 || (candidatesB & ~pivotCandidates) != 0 || candidatesB == candidatesA) continue;
+
+                    int digitZ = CompactSudoku.lowestDigit(candidatesA & candidatesB);
+                    int[] chain = { node(pivot, digitZ), node(pincerA, digitZ), node(pincerB, digitZ) };
+                    eliminateSeenByAll(graph, solveResults, options, eliminateResults, Finding.Kind.XYZ_WING, chain, digitZ, pivot, pincerA, pincerB);
+
+                    if (options.returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return solveResults;
+                    if (options.returnFirst && solveResults.found > 0) return solveResults;
+                }
+            }
+        }
+        return solveResults;
+    }
+
+    static Results wWing(Sudoku sudoku, TechniqueOptions options)
+    {
+        LinkGraph graph = LinkGraph.forCurrentThread();
+        graph.build(sudoku);
+        Sudoku sudokuCopy = sudoku.clone();
+        Results solveResults = new Results(sudokuCopy, 0, new ArrayList<Finding>(), SolvingTechnique.W_WING);
+        int[] eliminateResults = new int[3];
+
+        for (int cellA = 0; cellA < 81; cellA++)
+        {
+            int candidates = graph.getCandidates(cellA);
+            if (Integer.bitCount(candidates) != 2) continue;
+
+            for (int cellB = cellA + 1; cellB < 81; cellB++)
+            {
+                if (graph.getCandidates(cellB) != candidates || Topology.isPeer(cellA, cellB)) continue;
+
+                for (int bits = candidates; bits != 0; bits &= bits - 1)
+                {
+                    int digitX = Integer.numberOfTrailingZeros(bits) + 1;
+                    int digitY = CompactSudoku.lowestDigit(candidates & ~CompactSudoku.bit(digitX));
+
+                    for (int u = 0; u < Topology.UNIT_COUNT; u++)
+                    {
+                        int places = graph.getPlaces(u, digitX);
+                        if (Integer.bitCount(places) != 2) continue;
+                        int p = Topology.UNIT_CELLS[u * 9 + Integer.numberOfTrailingZeros(places)];
+                        int q = Topology.UNIT_CELLS[u * 9 + 31 - Integer.numberOfLeadingZeros(places)];
+                        if (Topology.isPeer(q, cellA) && Topology.isPeer(p, cellB))
+                        {
+                            int swap = p;
+                            p = q;
+                            q = swap;
+                        }
+                        else if (!Topology.isPeer(p, cellA) || !Topology.isPeer(q, cellB)) continue;
+
+                        int[] chain = { node(cellA, digitY), node(cellA, digitX), node(p, digitX), node(q, digitX), node(cellB, digitX), node(cellB, digitY) };
+                        eliminateSeenByAll(graph, solveResults, options, eliminateResults, Finding.Kind.W_WING, chain, digitY, cellA, cellB);
+
+                        if (options.returnIfInvalid && eliminateResults[Solver.VALIDITY_INDEX] < 0) return solveResults;
+                        if (options.returnFirst && solveResults.found > 0) return solveResults;
+                    }
+                }
+            }
+        }
+        return solveResults;
+    }
+
+    /**
+     * Removes candidate d from the cells that see all of cells, and records the finding if that eliminated something
+     */
+    static void eliminateSeenByAll(LinkGraph graph, Results solveResults, TechniqueOptions options, int[] eliminateResults, Finding.Kind kind, int[] chain, int d, int... cells)
+    {
+        int[] eliminated = new int[3];
+        for (int p = cells[0] * Topology.PEER_COUNT; p < (cells[0] + 1) * Topology.PEER_COUNT; p++)
+        {
+            int target = Topology.PEERS[p];
+            if (!graph.hasCandidate(target, d)) continue;
+            boolean seesAll = true;
+            for (int k = 1; k < cells.length; k++)
+            {
+                if (!Topology.isPeer(target, cells[k])) seesAll = false;
+            }
+            if (!seesAll) continue;
+
+            graph.eliminate(solveResults.sudoku, target, d, options, eliminated);
+            if (options.returnIfInvalid && eliminated[Solver.VALIDITY_INDEX] < 0) break;
+        }
+        Chains.addFinding(solveResults, options, eliminateResults, eliminated, kind, chain);
+    }
+}
@@ -0,0 +1,349 @@
+package com.github.shayna003.sudoker.util;
+
+import com.github.shayna003.sudoker.CompactSudoku;
+
+import java.util.Arrays;
+
+/**
+ * Finds the canonical form of a puzzle: the smallest 81 digit string, 0 for empty cells, over everything
+ * a SudokuTransform can do to it, i.e. 2 * 6^8 = 3,359,232 cell permutations times 9! digit relabelings.
+ * Two puzzles are essentially the same puzzle if and only if they have the same canonical form,
+ * so fingerprint() can be used to deduplicate puzzles and to share results between equivalent puzzles.
+ *
+ * Only the relabeling that numbers digits in order of first appearance can give the smallest string for a cell permutation,
+ * so only cell permutations are searched. They are built one row at a time:
+ * a partial permutation is kept only if the rows it has placed so far are the smallest found,
+ * which leaves very few of the 2 * 9 * 1296 choices for the first row alive after a few rows for most puzzles.
+ * Puzzles with many empty rows keep more alive, the empty grid keeps all of them,
+ * which takes about half a second and over 100 MB of states, so callers that don't need to handle such puzzles should skip them.
+ *
+ * An instance is not thread safe, use forCurrentThread() to get one per thread.
+ * @since 10-17-2026
+ */
+public class Canonicalizer
+{
+    /**
+     * The 1296 orders of the 9 columns that keep stacks together, same for rows
+     */
+    static final int[][] LINE_PERMUTATIONS = new int[1296][];
+
+    static
+    {
+        int[][] threes = { { 0, 1, 2 }, { 0, 2, 1 }, { 1, 0, 2 }, { 1, 2, 0 }, { 2, 0, 1 }, { 2, 1, 0 } };
+        int k = 0;
+        for (int[] stacks : threes)
+        {
+            for (int[] first : threes)
+            {
+                for (int[] second : threes)
+                {
+                    for (int[] third : threes)
+                    {
+                        int[][] within = { first, second, third };
+                        int[] p = new int[9];
+                        for (int s = 0; s < 3; s++)
+                        {
+                            for (int j = 0; j < 3; j++) p[s * 3 + j] = stacks[s] * 3 + within[s][j];
+                        }
+                        LINE_PERMUTATIONS[k++] = p;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final ThreadLocal<Canonicalizer> instances = ThreadLocal.withInitial(Canonicalizer::new);
+
+    /**
+     * @return the instance of the calling thread
+     */
+    public static Canonicalizer forCurrentThread()
+    {
+        return instances.get();
+    }
+
+    // states the work arrays start with, enough for all but very sparse puzzles; larger arrays are released after each call
+    static final int INITIAL_CAPACITY = 4096;
+
+    // the puzzle and its transposition
+    final byte[][] grids = new byte[2][81];
+
+    /*
+     * The partial permutations still alive, as parallel arrays.
+     * A state is a transposition, a column order, the source rows placed so far, 4 bits each,
+     * and the digit labels handed out so far, 4 bits for each digit 1 ~ 9.
+     */
+    int count;
+    int[] columnOrders = new int[INITIAL_CAPACITY];
+    boolean[] transposedFlags = new boolean[INITIAL_CAPACITY];
+    long[] rows = new long[INITIAL_CAPACITY];
+    long[] labels = new long[INITIAL_CAPACITY];
+
+    int nextCount;
+    int[] nextColumnOrders = new int[INITIAL_CAPACITY];
+    boolean[] nextTransposedFlags = new boolean[INITIAL_CAPACITY];
+    long[] nextRows = new long[INITIAL_CAPACITY];
+    long[] nextLabels = new long[INITIAL_CAPACITY];
+
+    final int[] best = new int[9]; // smallest row found at the current level
+    final int[] row = new int[9];
+    final int[] rowLabels = new int[10];
+
+    /**
+     * @param values 81 values in row major order, 0 for empty cells
+     * @return a transform that maps the puzzle to its canonical form.
+     * If the puzzle has symmetries, several transforms give the canonical form and which one is returned is unspecified.
+     */
+    public SudokuTransform canonicalize(byte[] values)
+    {
+        for (int i = 0; i < 81; i++)
+        {
+            grids[0][i] = values[i];
+            grids[1][i] = values[Topology.COLUMN_OF[i] * 9 + Topology.ROW_OF[i]];
+        }
+
+        count = 0;
+        for (int t = 0; t < 2; t++)
+        {
+            for (int p = 0; p < LINE_PERMUTATIONS.length; p++)
+            {
+                ensureCapacity(count + 1);
+                columnOrders[count] = p;
+                transposedFlags[count] = t == 1;
+                rows[count] = 0;
+                labels[count] = 0;
+                count++;
+            }
+        }
+
+        for (int level = 0; level < 9; level++)
+        {
+            nextLevel(level);
+        }
+
+        int[] rowMap = new int[9];
+        for (int r = 0; r < 9; r++) rowMap[r] = (int) (rows[0] >>> (r * 4)) & 0xF;
+        int[] digitMap = new int[10];
+        int next = 0;
+        for (int d = 1; d <= 9; d++)
+        {
+            digitMap[d] = (int) (labels[0] >>> (d * 4)) & 0xF;
+            next = Math.max(next, digitMap[d]);
+        }
+        // digits that are not in the puzzle get the labels left over
+        for (int d = 1; d <= 9; d++)
+        {
+            if (digitMap[d] == 0) digitMap[d] = ++next;
+        }
+        SudokuTransform transform = new SudokuTransform(transposedFlags[0], rowMap, LINE_PERMUTATIONS[columnOrders[0]], digitMap);
+        releaseGrownArrays();
+        return transform;
+    }
+
+    /**
+     * Instances live as long as their thread, so arrays grown for a sparse puzzle are not kept around
+     */
+    void releaseGrownArrays()
+    {
+        if (columnOrders.length > INITIAL_CAPACITY)
+        {
+            columnOrders = new int[INITIAL_CAPACITY];
+            transposedFlags = new boolean[INITIAL_CAPACITY];
+            rows = new long[INITIAL_CAPACITY];
+            labels = new long[INITIAL_CAPACITY];
+        }
+        if (nextColumnOrders.length > INITIAL_CAPACITY)
+        {
+            nextColumnOrders = new int[INITIAL_CAPACITY];
+            nextTransposedFlags = new boolean[INITIAL_CAPACITY];
+            nextRows = new long[INITIAL_CAPACITY];
+            nextLabels = new long[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Places row level of the result for every state alive, keeping the ones that make the smallest row
+     */
+    void nextLevel(int level)
+    {
+        nextCount = 0;
+        Arrays.fill(best, Integer.MAX_VALUE);
+        for (int s = 0; s < count; s++)
+        {
+            long placed = rows[s];
+            int usedRows = 0;
+            for (int r = 0; r < level; r++) usedRows |= 1 << ((placed >>> (r * 4)) & 0xF);
+
+            // the first row of a band can come from any band not used yet, the other two from the band of the row before
+            int from;
+            int to;
+            if (level % 3 == 0)
+            {
+                from = 0;
+                to = 9;
+            }
+            else
+            {
+                int band = Topology.BAND_OF[(int) (placed >>> ((level - 1) * 4)) & 0xF];
+                from = band * 3;
+                to = from + 3;
+            }
+
+            for (int sourceRow = from; sourceRow < to; sourceRow++)
+            {
+                if ((usedRows & (1 << sourceRow)) != 0) continue;
+                if (level % 3 == 0 && (usedRows & (7 << (Topology.BAND_OF[sourceRow] * 3))) != 0) continue;
+
+                int comparison = compareRow(s, sourceRow);
+                if (comparison > 0) continue;
+                if (comparison < 0)
+                {
+                    nextCount = 0;
+                    System.arraycopy(row, 0, best, 0, 9);
+                }
+                ensureNextCapacity(nextCount + 1);
+                nextColumnOrders[nextCount] = columnOrders[s];
+                nextTransposedFlags[nextCount] = transposedFlags[s];
+                nextRows[nextCount] = placed | ((long) sourceRow << (level * 4));
+                long packed = 0;
+                for (int d = 1; d <= 9; d++) packed |= (long) rowLabels[d] << (d * 4);
+                nextLabels[nextCount] = packed;
+                nextCount++;
+            }
+        }
+        swap();
+    }
+
+    /**
+     * Computes the labeled row of state s if its next row is sourceRow into row and rowLabels
+     * @return negative if it is smaller than best, 0 if equal, positive if larger, in which case row may be incomplete
+     */
+    int compareRow(int s, int sourceRow)
+    {
+        byte[] grid = grids[transposedFlags[s] ? 1 : 0];
+        int[] columns = LINE_PERMUTATIONS[columnOrders[s]];
+        long packed = labels[s];
+        int next = 0;
+        for (int d = 1; d <= 9; d++)
+        {
+            rowLabels[d] = (int) (packed >>> (d * 4)) & 0xF;
+        }
+        if (packed != 0) next = maxLabel(packed);
+
+        int comparison = 0;
+        for (int c = 0; c < 9; c++)
+        {
+            int value = grid[sourceRow * 9 + columns[c]];
+            int label = 0;
+            if (value != 0)
+            {
+                label = rowLabels[value];
+                if (label == 0)
+                {
+                    label = ++next;
+                    rowLabels[value] = label;
+                }
+            }
+            row[c] = label;
+            if (comparison == 0)
+            {
+                if (label > best[c]) return 1;
+                if (label < best[c]) comparison = -1;
+            }
+        }
+        return comparison;
+    }
+
+    static int maxLabel(long packed)
+    {
+        int max = 0;
+        for (int d = 1; d <= 9; d++) max = Math.max(max, (int) (packed >>> (d * 4)) & 0xF);
+        return max;
+    }
+
+    void swap()
+    {
+        int[] orders = columnOrders;
+        columnOrders = nextColumnOrders;
+        nextColumnOrders = orders;
+        boolean[] flags = transposedFlags;
+        transposedFlags = nextTransposedFlags;
+        nextTransposedFlags = flags;
+        long[] r = rows;
+        rows = nextRows;
+        nextRows = r;
+        long[] l = labels;
+        labels = nextLabels;
+        nextLabels = l;
+        count = nextCount;
+    }
+
+    void ensureCapacity(int capacity)
+    {
+        if (capacity <= columnOrders.length) return;
+        int length = Math.max(capacity, columnOrders.length * 2);
+        columnOrders = Arrays.copyOf(columnOrders, length);
+        transposedFlags = Arrays.copyOf(transposedFlags, length);
+        rows = Arrays.copyOf(rows, length);
+        labels = Arrays.copyOf(labels, length);
+    }
+
+    void ensureNextCapacity(int capacity)
+    {
+        if (capacity <= nextColumnOrders.length) return;
+        int length = Math.max(capacity, nextColumnOrders.length * 2);
+        nextColumnOrders = Arrays.copyOf(nextColumnOrders, length);
+        nextTransposedFlags = Arrays.copyOf(nextTransposedFlags, length);
+        nextRows = Arrays.copyOf(nextRows, length);
+        nextLabels = Arrays.copyOf(nextLabels, length);
+    }
+
+    /**
+     * @return the canonical form of the puzzle, 81 values with 0 for empty cells
+     */
+    public byte[] canonicalForm(byte[] values)
+    {
+        return canonicalize(values).apply(values);
+    }
+
+    /**
+     * Only the givens are used, i.e. cells with one candidate
+     */
+    public byte[] canonicalForm(CompactSudoku sudoku)
+    {
+        return canonicalForm(sudoku.values);
+    }
+
+    /**
+     * @return a 64-bit fingerprint of the canonical form of the puzzle, the same for all equivalent puzzles.
+     * The value only depends on the canonical form and will stay the same between versions, so it can be stored.
+     */
+    public long fingerprint(byte[] values)
+    {
+        return fingerprintOfCanonicalForm(canonicalForm(values));
+    }
+
+    public long fingerprint(CompactSudoku sudoku)
+    {
+        return fingerprint(sudoku.values);
+    }
+
+    /**
+     * 64-bit FNV-1a of the 81 values, followed by the finalizer of MurmurHash3 to spread the bits
+     */
+    public static long fingerprintOfCanonicalForm(byte[] canonicalForm)
+    {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < 81; i++)
+        {
+            h ^= canonicalForm[i];
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -109,4 +109,41 @@ public class Checker
         }
         return counter;
     }
+
+    /**
+     * Bitmask version of checkIfPuzzleSolved, used by the backtracking solver
+     * @return true if all 81 cells are solved and no solved value repeats in a unit
+     */
+    public static boolean checkIfPuzzleSolved(CompactSudoku sudoku)
+    {
+        return sudoku.solvedCellCount() == 81 && checkValid(sudoku);
+    }
+
+    /**
+     * Bitmask version of checkValid(Sudoku, r, c)
+     */
+    public static boolean checkValid(CompactSudoku sudoku, int i)
+    {
+        if (sudoku.candidates[i] == 0) return false;
+        int value = sudoku.values[i];
+        if (value == 0) return true;
+
+        for (int p = i * Topology.PEER_COUNT, end = p + Topology.PEER_COUNT; p < end; p++)
+        {
+            if (sudoku.values[Topology.PEERS[p]] == value) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Bitmask version of checkValid(Sudoku)
+     */
+    public static boolean checkValid(CompactSudoku sudoku)
+    {
+        for (int i = 0; i < 81; i++)
+        {
+            if (!checkValid(sudoku, i)) return false;
+        }
+        return true;
+    }
 }
@@ -150,4 +150,37 @@ public class GridUtil
         }
         return sum > 1 ? sum * -1 : candidate;
     }
+
+    /**
+     * @return the 9-bit candidate mask of a cell, bit n - 1 is set if candidate n is possible
+     */
+    public static int getMaskForCell(int[] cell)
+    {
+        int mask = 0;
+        for (int i = 0; i < 9; i++)
+        {
+            if (cell[i] > 0) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    /**
+     * Sets the candidates of a cell to those in a 9-bit candidate mask
+     */
+    public static void setCellFromMask(int[] cell, int mask)
+    {
+        for (int i = 0; i < 9; i++)
+        {
+            cell[i] = (mask & (1 << i)) != 0 ? i + 1 : 0;
+        }
+    }
+
+    /**
+     * @return the status number for a 9-bit candidate mask, same as getStatusForCell(cell, false)
+     */
+    public static int getStatusForMask(int mask)
+    {
+        int count = Integer.bitCount(mask);
+        return count == 1 ? Integer.numberOfTrailingZeros(mask) + 1 : -count;
+    }
 }
@@ -28,6 +28,57 @@ public class IO
         return getString(sudoku, 0, "", "", false, false, false, false, 0, 0, 0, 0, 0, 0 ).toString();
     }
 
+    /**
+     * Same format as getCompact81CandidatesString with the default digits 0 ~ 9,
+     * but without reading DigitsAndIndexesPanel, so that it can be used without the GUI.
+     * Unsolved cells are written as 0.
+     */
+    public static String getCompact81String(CompactSudoku sudoku)
+    {
+        char[] chars = new char[81];
+        for (int i = 0; i < 81; i++)
+        {
+            chars[i] = (char) ('0' + sudoku.values[i]);
+        }
+        return new String(chars);
+    }
+
+    public static String getCompact81String(int[][] status)
+    {
+        char[] chars = new char[81];
+        for (int i = 0; i < 81; i++)
+        {
+            int value = status[i / 9][i % 9];
+            chars[i] = (char) ('0' + Math.max(value, 0));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Reads the format of getCompact81String without reading DigitsAndIndexesPanel.
+     * Digits 1 ~ 9 are givens, 0 or . are empty cells. Anything after the 81st character is ignored.
+     * @return null if the input is too short or contains other characters
+     */
+    public static CompactSudoku readCompact81String(CharSequence s)
+    {
+        if (s.length() < 81) return null;
+
+        CompactSudoku sudoku = new CompactSudoku();
+        for (int i = 0; i < 81; i++)
+        {
+            char ch = s.charAt(i);
+            if (ch >= '1' && ch <= '9')
+            {
+                sudoku.setValueAt(i, ch - '0');
+            }
+            else if (ch != '0' && ch != '.')
+            {
+                return null;
+            }
+        }
+        return sudoku;
+    }
+
     public static String getCompactAllCandidatesString(Sudoku sudoku)
     {
         return getString(sudoku, 0, "", "", false, false, true, false, 0, 0, 0, 0, 0, 0 ).toString();
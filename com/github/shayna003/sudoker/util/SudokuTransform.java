@@ -0,0 +1,341 @@
+package com.github.shayna003.sudoker.util;
+
+import com.github.shayna003.sudoker.CompactSudoku;
+import com.github.shayna003.sudoker.Sudoku;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * One of the transformations that map a valid sudoku to another valid sudoku:
+ * an optional transposition, then a permutation of the rows and of the columns that keeps bands and stacks together,
+ * then a relabeling of the digits.
+ * For a source grid src, the transformed grid is result[r][c] = digitMap[transposed ? src[columnMap[c]][rowMap[r]] : src[rowMap[r]][columnMap[c]]].
+ * Rotations and flips of Sudoku are special cases of these.
+ * Transformations are composed with then(), and map a puzzle to one that is solved with exactly the same steps,
+ * so applying a random one to a rated puzzle derives a puzzle of the same difficulty in microseconds.
+ * @since 10-17-2026
+ */
+public class SudokuTransform
+{
+    public final boolean transposed;
+
+    /**
+     * Row r of the result comes from row rowMap[r] of the (transposed) source
+     */
+    final int[] rowMap;
+
+    /**
+     * Column c of the result comes from column columnMap[c] of the (transposed) source
+     */
+    final int[] columnMap;
+
+    /**
+     * Digit d of the source becomes digitMap[d], digitMap[0] is 0 for empty cells
+     */
+    final int[] digitMap;
+
+    /**
+     * @param rowMap must keep the 3 rows of each band together, the same goes for columnMap and stacks
+     * @param digitMap 10 entries, a permutation of 1 ~ 9 after the 0 for empty cells
+     */
+    public SudokuTransform(boolean transposed, int[] rowMap, int[] columnMap, int[] digitMap)
+    {
+        if (!isLinePermutation(rowMap) || !isLinePermutation(columnMap)) throw new IllegalArgumentException("Rows and columns must be permuted within bands and stacks");
+        if (digitMap.length != 10 || digitMap[0] != 0 || !isPermutation(Arrays.copyOfRange(digitMap, 1, 10), 1)) throw new IllegalArgumentException("Not a digit permutation: " + Arrays.toString(digitMap));
+        this.transposed = transposed;
+        this.rowMap = rowMap.clone();
+        this.columnMap = columnMap.clone();
+        this.digitMap = digitMap.clone();
+    }
+
+    /**
+     * @return the transformation that changes nothing
+     */
+    public static SudokuTransform identity()
+    {
+        int[] lines = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+        return new SudokuTransform(false, lines, lines, new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+    }
+
+    /**
+     * @return the transformation that swaps rows and columns
+     */
+    public static SudokuTransform transposition()
+    {
+        SudokuTransform identity = identity();
+        return new SudokuTransform(true, identity.rowMap, identity.columnMap, identity.digitMap);
+    }
+
+    /**
+     * @param rowMap row r of the result comes from row rowMap[r], must keep the 3 rows of each band together
+     */
+    public static SudokuTransform permutingRows(int[] rowMap)
+    {
+        SudokuTransform identity = identity();
+        return new SudokuTransform(false, rowMap, identity.columnMap, identity.digitMap);
+    }
+
+    /**
+     * @param columnMap column c of the result comes from column columnMap[c], must keep the 3 columns of each stack together
+     */
+    public static SudokuTransform permutingColumns(int[] columnMap)
+    {
+        SudokuTransform identity = identity();
+        return new SudokuTransform(false, identity.rowMap, columnMap, identity.digitMap);
+    }
+
+    /**
+     * @param digitMap digit d becomes digitMap[d], 10 entries with 0 first
+     */
+    public static SudokuTransform relabeling(int[] digitMap)
+    {
+        SudokuTransform identity = identity();
+        return new SudokuTransform(false, identity.rowMap, identity.columnMap, digitMap);
+    }
+
+    /**
+     * @return a transformation picked uniformly from all of them
+     */
+    public static SudokuTransform random(Random random)
+    {
+        return new SudokuTransform(random.nextBoolean(), randomLinePermutation(random), randomLinePermutation(random), randomDigitMap(random));
+    }
+
+    /**
+     * @return a random relabeling of the digits, which keeps every clue where it is, e.g. for puzzles with required clue locations
+     */
+    public static SudokuTransform randomRelabeling(Random random)
+    {
+        return relabeling(randomDigitMap(random));
+    }
+
+    /**
+     * @return a random transformation that maps clue locations that are symmetric through the center of the board
+     * to clue locations that are too: a relabeling, an optional transposition,
+     * and line permutations where the line mirrored to a line moves to the mirror of where the line goes
+     */
+    public static SudokuTransform randomSymmetric(Random random)
+    {
+        return new SudokuTransform(random.nextBoolean(), randomSymmetricLinePermutation(random), randomSymmetricLinePermutation(random), randomDigitMap(random));
+    }
+
+    static int[] randomDigitMap(Random random)
+    {
+        int[] digitMap = new int[10];
+        int[] digits = randomPermutation(random, 9);
+        for (int d = 1; d <= 9; d++) digitMap[d] = digits[d - 1] + 1;
+        return digitMap;
+    }
+
+    /**
+     * @return a line permutation with lines[8 - i] == 8 - lines[i]
+     */
+    static int[] randomSymmetricLinePermutation(Random random)
+    {
+        int[] lines = new int[9];
+        int firstBand = random.nextBoolean() ? 0 : 2; // the middle band stays in the middle
+        int[] within = randomPermutation(random, 3);
+        for (int k = 0; k < 3; k++)
+        {
+            lines[k] = firstBand * 3 + within[k];
+            lines[8 - k] = 8 - lines[k];
+        }
+        boolean swapMiddle = random.nextBoolean(); // the middle line stays in the middle
+        lines[3] = swapMiddle ? 5 : 3;
+        lines[4] = 4;
+        lines[5] = swapMiddle ? 3 : 5;
+        return lines;
+    }
+
+    static int[] randomLinePermutation(Random random)
+    {
+        int[] bands = randomPermutation(random, 3);
+        int[] lines = new int[9];
+        for (int b = 0; b < 3; b++)
+        {
+            int[] within = randomPermutation(random, 3);
+            for (int k = 0; k < 3; k++) lines[b * 3 + k] = bands[b] * 3 + within[k];
+        }
+        return lines;
+    }
+
+    static int[] randomPermutation(Random random, int n)
+    {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) p[i] = i;
+        for (int i = n - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            int tmp = p[i];
+            p[i] = p[j];
+            p[j] = tmp;
+        }
+        return p;
+    }
+
+    static boolean isPermutation(int[] p, int first)
+    {
+        int seen = 0;
+        for (int x : p)
+        {
+            if (x < first || x >= first + p.length || (seen & (1 << (x - first))) != 0) return false;
+            seen |= 1 << (x - first);
+        }
+        return true;
+    }
+
+    static boolean isLinePermutation(int[] lines)
+    {
+        if (lines.length != 9 || !isPermutation(lines, 0)) return false;
+        for (int i = 0; i < 9; i++)
+        {
+            if (Topology.BAND_OF[lines[i]] != Topology.BAND_OF[lines[i - i % 3]]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the index of the cell of the source that cell i of the result comes from
+     */
+    public int sourceCell(int i)
+    {
+        int r = rowMap[Topology.ROW_OF[i]];
+        int c = columnMap[Topology.COLUMN_OF[i]];
+        return transposed ? c * 9 + r : r * 9 + c;
+    }
+
+    public int mapDigit(int d)
+    {
+        return digitMap[d];
+    }
+
+    /**
+     * @param values 81 values in row major order, 0 for empty cells
+     * @return the transformed values
+     */
+    public byte[] apply(byte[] values)
+    {
+        byte[] result = new byte[81];
+        for (int i = 0; i < 81; i++)
+        {
+            result[i] = (byte) digitMap[values[sourceCell(i)]];
+        }
+        return result;
+    }
+
+    /**
+     * @param status a solved status array, e.g. a solution, or givens with 0 for empty cells
+     */
+    public int[][] apply(int[][] status)
+    {
+        int[][] result = new int[9][9];
+        for (int i = 0; i < 81; i++)
+        {
+            int source = sourceCell(i);
+            result[Topology.ROW_OF[i]][Topology.COLUMN_OF[i]] = digitMap[Math.max(status[Topology.ROW_OF[source]][Topology.COLUMN_OF[source]], 0)];
+        }
+        return result;
+    }
+
+    /**
+     * Transforms the candidates of every cell as well as the values
+     */
+    public CompactSudoku apply(CompactSudoku sudoku)
+    {
+        CompactSudoku result = new CompactSudoku();
+        for (int i = 0; i < 81; i++)
+        {
+            int mask = 0;
+            for (int d : CompactSudoku.digits(sudoku.candidates[sourceCell(i)]))
+            {
+                mask |= CompactSudoku.bit(digitMap[d]);
+            }
+            result.setCandidates(i, mask);
+        }
+        return result;
+    }
+
+    /**
+     * Transforms the candidates and status of every cell of sudoku, in place.
+     * Candidate states other than on and off, e.g. of removed candidates, move with their candidates.
+     */
+    public void applyTo(Sudoku sudoku)
+    {
+        int[][][] grid = GridUtil.copyOf(sudoku.grid);
+        int[][] status = GridUtil.copyOf(sudoku.status);
+        for (int i = 0; i < 81; i++)
+        {
+            int source = sourceCell(i);
+            int[] sourceCell = grid[Topology.ROW_OF[source]][Topology.COLUMN_OF[source]];
+            int[] cell = sudoku.grid[Topology.ROW_OF[i]][Topology.COLUMN_OF[i]];
+            for (int d = 1; d <= 9; d++)
+            {
+                cell[digitMap[d] - 1] = sourceCell[d - 1];
+            }
+            int value = status[Topology.ROW_OF[source]][Topology.COLUMN_OF[source]];
+            sudoku.status[Topology.ROW_OF[i]][Topology.COLUMN_OF[i]] = value > 0 ? digitMap[value] : value;
+        }
+    }
+
+    /**
+     * @return the transformation that applies this one and then next
+     */
+    public SudokuTransform then(SudokuTransform next)
+    {
+        // cell i of the result comes from cell next.sourceCell(i) of this one's result, which comes from sourceCell() of that
+        int[] rows = new int[9];
+        int[] columns = new int[9];
+        for (int k = 0; k < 9; k++)
+        {
+            // a transposition in next swaps which of this one's maps its rows and columns go through
+            rows[k] = next.transposed ? columnMap[next.rowMap[k]] : rowMap[next.rowMap[k]];
+            columns[k] = next.transposed ? rowMap[next.columnMap[k]] : columnMap[next.columnMap[k]];
+        }
+        int[] digits = new int[10];
+        for (int d = 0; d <= 9; d++)
+        {
+            digits[d] = next.digitMap[digitMap[d]];
+        }
+        return new SudokuTransform(transposed != next.transposed, rows, columns, digits);
+    }
+
+    /**
+     * @return the transformation that undoes this one
+     */
+    public SudokuTransform inverse()
+    {
+        int[] inverseRows = invert(rowMap);
+        int[] inverseColumns = invert(columnMap);
+        int[] inverseDigits = invert(digitMap);
+        // a transposed source is permuted before transposing back, so the row and column maps swap
+        return transposed ? new SudokuTransform(true, inverseColumns, inverseRows, inverseDigits) : new SudokuTransform(false, inverseRows, inverseColumns, inverseDigits);
+    }
+
+    static int[] invert(int[] p)
+    {
+        int[] inverse = new int[p.length];
+        for (int i = 0; i < p.length; i++) inverse[p[i]] = i;
+        return inverse;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (!(o instanceof SudokuTransform)) return false;
+        SudokuTransform other = (SudokuTransform) o;
+        return transposed == other.transposed && Arrays.equals(rowMap, other.rowMap) && Arrays.equals(columnMap, other.columnMap) && Arrays.equals(digitMap, other.digitMap);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(rowMap) * 31 * 31 + Arrays.hashCode(columnMap) * 31 + Arrays.hashCode(digitMap) + (transposed ? 1 : 0);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SudokuTransform[transposed=" + transposed + ", rows=" + Arrays.toString(rowMap) + ", columns=" + Arrays.toString(columnMap) + ", digits=" + Arrays.toString(digitMap) + "]";
+    }
+}
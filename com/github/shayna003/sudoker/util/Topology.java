@@ -0,0 +1,121 @@
+package com.github.shayna003.sudoker.util;
+
+/**
+ * Precomputed index tables of the 9 * 9 grid, so that the solving code can iterate units and peers
+ * instead of recomputing rows, columns and box bounds with division and modulo on every call.
+ * Cells are indexed 0 ~ 80 as r * 9 + c, units are indexed 0 ~ 26: rows, then columns, then boxes.
+ * All tables are flat int arrays.
+ * @since 10-17-2026
+ */
+public class Topology
+{
+    public static final int UNIT_COUNT = 27;
+    public static final int PEER_COUNT = 20;
+
+    // index of the first unit of each kind
+    public static final int FIRST_ROW_UNIT = 0;
+    public static final int FIRST_COLUMN_UNIT = 9;
+    public static final int FIRST_BOX_UNIT = 18;
+
+    /**
+     * The 9 cells of each unit, unit u starts at index u * 9.
+     * Box cells are in row major order, so all units list their cells in increasing index order.
+     */
+    public static final int[] UNIT_CELLS = new int[UNIT_COUNT * 9];
+
+    /**
+     * The 20 peers of each cell, the peers of cell i start at index i * PEER_COUNT.
+     * These are the 8 other cells of its row, then the 8 of its column, then the 4 of its box not in either.
+     */
+    public static final int[] PEERS = new int[81 * PEER_COUNT];
+
+    /**
+     * The row, column and box unit of each cell, the units of cell i start at index i * 3
+     */
+    public static final int[] CELL_UNITS = new int[81 * 3];
+
+    public static final int[] ROW_OF = new int[81];
+    public static final int[] COLUMN_OF = new int[81];
+    public static final int[] BOX_OF = new int[81]; // 0 ~ 8, left to right then top to bottom
+    public static final int[] BOX_TOP_LEFT = new int[81]; // index of the top left cell of the box of each cell
+
+    /**
+     * The box row (band) or box column (stack) of a row or column index 0 ~ 8
+     */
+    public static final int[] BAND_OF = new int[9];
+
+    static
+    {
+        for (int i = 0; i < 81; i++)
+        {
+            int r = i / 9;
+            int c = i % 9;
+            ROW_OF[i] = r;
+            COLUMN_OF[i] = c;
+            BOX_OF[i] = (r / 3) * 3 + c / 3;
+            BOX_TOP_LEFT[i] = (r / 3) * 27 + (c / 3) * 3;
+            CELL_UNITS[i * 3] = FIRST_ROW_UNIT + r;
+            CELL_UNITS[i * 3 + 1] = FIRST_COLUMN_UNIT + c;
+            CELL_UNITS[i * 3 + 2] = FIRST_BOX_UNIT + BOX_OF[i];
+        }
+
+        for (int u = 0; u < 9; u++)
+        {
+            BAND_OF[u] = u / 3;
+            int topLeft = (u / 3) * 27 + (u % 3) * 3;
+            for (int k = 0; k < 9; k++)
+            {
+                UNIT_CELLS[(FIRST_ROW_UNIT + u) * 9 + k] = u * 9 + k;
+                UNIT_CELLS[(FIRST_COLUMN_UNIT + u) * 9 + k] = k * 9 + u;
+                UNIT_CELLS[(FIRST_BOX_UNIT + u) * 9 + k] = topLeft + (k / 3) * 9 + k % 3;
+            }
+        }
+
+        for (int i = 0; i < 81; i++)
+        {
+            int p = i * PEER_COUNT;
+            for (int k = 0; k < 9; k++)
+            {
+                int cell = ROW_OF[i] * 9 + k;
+                if (cell != i) PEERS[p++] = cell;
+            }
+            for (int k = 0; k < 9; k++)
+            {
+                int cell = k * 9 + COLUMN_OF[i];
+                if (cell != i) PEERS[p++] = cell;
+            }
+            for (int k = 0; k < 9; k++)
+            {
+                int cell = UNIT_CELLS[CELL_UNITS[i * 3 + 2] * 9 + k];
+                if (ROW_OF[cell] != ROW_OF[i] && COLUMN_OF[cell] != COLUMN_OF[i]) PEERS[p++] = cell;
+            }
+            assert p == (i + 1) * PEER_COUNT : p;
+        }
+    }
+
+    public static int rowUnit(int r)
+    {
+        return FIRST_ROW_UNIT + r;
+    }
+
+    public static int columnUnit(int c)
+    {
+        return FIRST_COLUMN_UNIT + c;
+    }
+
+    /**
+     * @return the unit of the box that contains r, c
+     */
+    public static int boxUnit(int r, int c)
+    {
+        return FIRST_BOX_UNIT + BOX_OF[r * 9 + c];
+    }
+
+    /**
+     * @return whether cells i and j are different cells that share a unit
+     */
+    public static boolean isPeer(int i, int j)
+    {
+        return i != j && (ROW_OF[i] == ROW_OF[j] || COLUMN_OF[i] == COLUMN_OF[j] || BOX_OF[i] == BOX_OF[j]);
+    }
+}
@@ -16,7 +16,7 @@ public class UnitCheck
      */
     public static boolean sameBox(int r, int c, int r2, int c2)
     {
-        return Math.floorDiv(r, 3) == Math.floorDiv(r2, 3) && Math.floorDiv(c, 3) == Math.floorDiv(c2, 3);
+        return Topology.BOX_OF[r * 9 + c] == Topology.BOX_OF[r2 * 9 + c2];
     }
 
     /**
@@ -24,12 +24,10 @@ public class UnitCheck
      */
     public static boolean sameBox(int[] rx, int[] cx)
     {
-        int boxr = Math.floorDiv(rx[0], 3);
-        int boxc = Math.floorDiv(cx[0], 3);
-
+        int box = Topology.BOX_OF[rx[0] * 9 + cx[0]];
         for (int i = 1; i < rx.length; i++)
         {
-            if (Math.floorDiv(rx[i], 3) != boxr || Math.floorDiv(cx[i], 3) != boxc) return false;
+            if (Topology.BOX_OF[rx[i] * 9 + cx[i]] != box) return false;
         }
         return true;
     }
@@ -39,11 +37,10 @@ public class UnitCheck
      */
     public static boolean sameBox(ArrayList<Integer> rx, ArrayList<Integer> cx)
     {
-        int boxr = Math.floorDiv(rx.get(0), 3);
-        int boxc = Math.floorDiv(cx.get(0), 3);
+        int box = Topology.BOX_OF[rx.get(0) * 9 + cx.get(0)];
         for (int i = 1; i < rx.size(); i++)
         {
-            if (Math.floorDiv(rx.get(i), 3) != boxr|| Math.floorDiv(cx.get(i), 3) != boxc) return false;
+            if (Topology.BOX_OF[rx.get(i) * 9 + cx.get(i)] != box) return false;
         }
         return true;
     }
@@ -53,11 +50,10 @@ public class UnitCheck
      */
     public static boolean sameBox(int[] rx, int[] cx, int[] selected)
     {
-        int boxr = Math.floorDiv(rx[selected[0]], 3);
-        int boxc = Math.floorDiv(cx[selected[0]], 3);
+        int box = Topology.BOX_OF[rx[selected[0]] * 9 + cx[selected[0]]];
         for (int i = 1; i < selected.length; i++)
         {
-            if (Math.floorDiv(rx[selected[i]], 3) != boxr|| Math.floorDiv(cx[selected[i]], 3) != boxc) return false;
+            if (Topology.BOX_OF[rx[selected[i]] * 9 + cx[selected[i]]] != box) return false;
         }
         return true;
     }
@@ -67,11 +63,10 @@ public class UnitCheck
      */
     public static boolean sameBox(ArrayList<Integer> rx, ArrayList<Integer> cx, int[] selected)
     {
-        int boxr = Math.floorDiv(rx.get(selected[0]), 3);
-        int boxc = Math.floorDiv(cx.get(selected[0]), 3);
+        int box = Topology.BOX_OF[rx.get(selected[0]) * 9 + cx.get(selected[0])];
         for (int i = 1; i < selected.length; i++)
         {
-            if (Math.floorDiv(rx.get(selected[i]), 3) != boxr|| Math.floorDiv(cx.get(selected[i]), 3) != boxc) return false;
+            if (Topology.BOX_OF[rx.get(selected[i]) * 9 + cx.get(selected[i])] != box) return false;
         }
         return true;
     }
@@ -113,7 +108,7 @@ public class UnitCheck
      */
     public static boolean sameBoxRow(int r, int r2)
     {
-        return Math.floorDiv(r, 3) == Math.floorDiv(r2, 3);
+        return Topology.BAND_OF[r] == Topology.BAND_OF[r2];
     }
 
     /**
@@ -122,7 +117,7 @@ public class UnitCheck
      */
     public static boolean sameBoxCol(int c, int c2)
     {
-        return Math.floorDiv(c, 3) == Math.floorDiv(c2, 3);
+        return Topology.BAND_OF[c] == Topology.BAND_OF[c2];
     }
 
     /**
@@ -250,21 +245,18 @@ public class UnitCheck
         }
 
         int[] record = new int[9]; //records the number of occurrences for each of the 9 candidates
-        int boxTopLeftCellR = Math.floorDiv(r, 3) * 3;
-        int boxTopLeftCellC = Math.floorDiv(c, 3) * 3;
-
-        for (int ri = 0; ri < 3; ri++)
+        for (int k = Topology.boxUnit(r, c) * 9, end = k + 9; k < end; k++)
         {
-            for (int ci = 0; ci < 3; ci++)
+            int cell = Topology.UNIT_CELLS[k];
+            int tmpRow = Topology.ROW_OF[cell];
+            int tmpCol = Topology.COLUMN_OF[cell];
+            for (int n = 0; n < 9; n++)
             {
-                for (int n = 0; n < 9; n++)
+                if (sudoku.grid[tmpRow][tmpCol][n] > 0)
                 {
-                    if (sudoku.grid[boxTopLeftCellR + ri][boxTopLeftCellC + ci][n] > 0)
-                    {
-                        record[n]++;
-                        ((ArrayList) (rx[n])).add(boxTopLeftCellR + ri);
-                        ((ArrayList) (cx[n])).add(boxTopLeftCellC + ci);
-                    }
+                    record[n]++;
+                    ((ArrayList) (rx[n])).add(tmpRow);
+                    ((ArrayList) (cx[n])).add(tmpCol);
                 }
             }
         }
@@ -331,29 +323,22 @@ public class UnitCheck
         ArrayList<Integer> results = new ArrayList<>();
         int[] record = new int[9];
 
-        int boxTopLeftCellR =  Math.floorDiv(r, 3) * 3;
-        int boxTopLeftCellC =  Math.floorDiv(c, 3) * 3;
-        int tmpRow;
-        int tmpCol;
-
-        for (int ri = 0; ri < 3; ri++)
+        for (int k = Topology.boxUnit(r, c) * 9, end = k + 9; k < end; k++)
         {
-            tmpRow = boxTopLeftCellR + ri;
-            for (int ci = 0; ci < 3; ci++)
+            int cell = Topology.UNIT_CELLS[k];
+            int tmpRow = Topology.ROW_OF[cell];
+            int tmpCol = Topology.COLUMN_OF[cell];
+            if (sudoku.status[tmpRow][tmpCol] > 0)
             {
-                tmpCol = boxTopLeftCellC + ci;
-                if (sudoku.status[tmpRow][tmpCol] > 0)
-                {
-                    record[sudoku.status[tmpRow][tmpCol] - 1]++;
-                }
-                else
+                record[sudoku.status[tmpRow][tmpCol] - 1]++;
+            }
+            else
+            {
+                for (int n = 0; n < 9; n++)
                 {
-                    for (int n = 0; n < 9; n++)
+                    if (sudoku.grid[tmpRow][tmpCol][n] > 0)
                     {
-                        if (sudoku.grid[tmpRow][tmpCol][n] > 0)
-                        {
-                            record[n]++;
-                        }
+                        record[n]++;
                     }
                 }
             }
@@ -452,18 +437,13 @@ public class UnitCheck
     public static int occurrenceCountInBox(Sudoku sudoku, int r, int c, boolean returnAfterFinding2)
     {
         int found = 0;
-        int boxTopLeftCellR = Math.floorDiv(r, 3) * 3;
-        int boxTopLeftCellC = Math.floorDiv(c, 3) * 3;
-
-        for (int ri = 0; ri < 3; ri++)
+        for (int k = Topology.boxUnit(r, c) * 9, end = k + 9; k < end; k++)
         {
-            for (int ci = 0; ci < 3; ci++)
+            int cell = Topology.UNIT_CELLS[k];
+            if (sudoku.status[Topology.ROW_OF[cell]][Topology.COLUMN_OF[cell]] == sudoku.status[r][c])
             {
-                if (sudoku.status[boxTopLeftCellR + ri][boxTopLeftCellC + ci] == sudoku.status[r][c])
-                {
-                    found++;
-                    if (returnAfterFinding2 && found == 2) return found;
-                }
+                found++;
+                if (returnAfterFinding2 && found == 2) return found;
             }
         }
         assert found < 2 || !returnAfterFinding2 : found;